@@ -0,0 +1,106 @@
+package kip.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kip.KipService;
+import kip.storage.Storage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures whole commands run through {@link KipService#processCommand(String)}.
+ *
+ * <p>The service works on a list of {@value #TASK_COUNT} tasks kept in a
+ * temporary file. Commands that change the list are measured in pairs that
+ * undo each other, adding a task then deleting it or marking a task then
+ * unmarking it, so every invocation sees the same list and the same file
+ * size. Their times include saving the file, as they do for the user.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see KipService
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KipServiceBenchmark {
+    static final int TASK_COUNT = 1_000;
+    private static final Map<String, String> READ_COMMANDS = Map.of(
+            "list", "list",
+            "textQuery", "list text:report",
+            "labelQuery", "list +work !high -done",
+            "periodQuery", "list /from 2025-10-01 /to 2025-10-31",
+            "explain", "explain type:D done:0 before:2025-12-01 sort:by limit:5",
+            "stats", "stats",
+            "help", "help",
+            "invalid", "deadline return book");
+
+    private File csvFile;
+    private KipService service;
+    private PrintStream console;
+
+    @Setup
+    public void setUp() throws IOException {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        csvFile = Files.createTempFile("kip-service-bench", ".csv").toFile();
+        Storage storage = new Storage(csvFile.getPath());
+        storage.save(StorageBenchmark.createTasks(TASK_COUNT));
+        service = new KipService(storage);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+        System.setOut(console);
+        csvFile.delete();
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadCommands {
+        @Param({"list", "textQuery", "labelQuery", "periodQuery", "explain", "stats", "help", "invalid"})
+        public String command;
+        public String userInput;
+
+        @Setup
+        public void setUp() {
+            userInput = READ_COMMANDS.get(command);
+        }
+    }
+
+    @Benchmark
+    public String read(ReadCommands commands) {
+        return service.processCommand(commands.userInput);
+    }
+
+    @Benchmark
+    public String addThenDelete() {
+        service.processCommand("todo benchmark task +bench !low");
+        return service.processCommand("delete " + (TASK_COUNT + 1));
+    }
+
+    @Benchmark
+    public String markThenUnmark() {
+        service.processCommand("mark 2");
+        return service.processCommand("unmark 2");
+    }
+}
@@ -0,0 +1,97 @@
+package kip.bench;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kip.command.Instruction;
+import kip.command.Parser;
+import kip.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing done for every command typed and every line of the task file.
+ *
+ * <p>Each input shape is a separate parameter value, named rather than
+ * spelled out so that the results of different runs line up, and a change
+ * that speeds up one shape but slows down another shows up in them.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Parser
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParserBenchmark {
+    private static final Map<String, String> USER_INPUTS = Map.of(
+            "list", "list",
+            "todo", "todo read book",
+            "todoWithLabels", "todo read book +school +reading !high",
+            "deadline", "deadline return book /by 2019-10-15 1800",
+            "event", "event project meeting /from 2019-10-15 1400 /to 2019-10-15 1600",
+            "recurringEvent", "event standup /from 2025-10-01 0900 /to 2025-10-01 0915 /every daily /count 30");
+    private static final Map<String, String> TASK_LINES = Map.of(
+            "todo", "T,0,read book,,,,,",
+            "deadline", "D,1,return book,2025-08-19 0000,,,library,high",
+            "event", "E,0,meeting,2025-08-19 0000,2025-08-20 0000,,work urgent,",
+            "recurring", "R,0,standup,2025-08-19 0900,2025-08-19 0915,DAILY;COUNT=30,work,");
+
+    @State(Scope.Benchmark)
+    public static class UserInputs {
+        @Param({"list", "todo", "todoWithLabels", "deadline", "event", "recurringEvent"})
+        public String shape;
+        public String userInput;
+
+        @Setup
+        public void setUp() {
+            userInput = USER_INPUTS.get(shape);
+        }
+    }
+
+    /** A date in each of the two accepted shapes */
+    @State(Scope.Benchmark)
+    public static class DateTimes {
+        @Param({"2019-10-15", "2019-10-15 1800"})
+        public String dateTime;
+    }
+
+    @State(Scope.Benchmark)
+    public static class TaskLines {
+        @Param({"todo", "deadline", "event", "recurring"})
+        public String type;
+        public String taskLine;
+
+        @Setup
+        public void setUp() {
+            taskLine = TASK_LINES.get(type);
+        }
+    }
+
+    @Benchmark
+    public Instruction parseUserInput(UserInputs inputs) throws Exception {
+        return Parser.parseUserInput(inputs.userInput);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime(DateTimes dates) throws Exception {
+        return Parser.parseDateTime(dates.dateTime, "by");
+    }
+
+    @Benchmark
+    public Task parseTaskLine(TaskLines lines) throws Exception {
+        return Parser.parseTaskLine(lines.taskLine);
+    }
+}
@@ -0,0 +1,133 @@
+package kip.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kip.storage.Storage;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and saving the task file at increasing list sizes.
+ *
+ * <p>The benchmark uses its own files in a temporary directory rather than
+ * the default task file, so it never touches the user's tasks. The list mixes
+ * every task type, with tags and priorities on some tasks, as a real list
+ * would. The storage messages printed on every load are discarded while the
+ * benchmark runs.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Storage
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    private File directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private List<Task> tasks;
+    private PrintStream console;
+
+    @Setup
+    public void setUp() throws IOException {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        directory = Files.createTempDirectory("kip-storage-bench").toFile();
+        tasks = createTasks(taskCount);
+        loadStorage = new Storage(new File(directory, "load.csv").getPath());
+        loadStorage.save(tasks);
+        saveStorage = new Storage(new File(directory, "save.csv").getPath());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(console);
+        new File(directory, "load.csv").delete();
+        new File(directory, "save.csv").delete();
+        directory.delete();
+    }
+
+    /**
+     * Builds a list with the same mix of task types and labels whatever its size.
+     */
+    static List<Task> createTasks(int count) {
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime time = start.plusHours(i % 5_000);
+            Task task;
+            switch (i % 10) {
+            case 0:
+            case 1:
+            case 2:
+            case 3:
+                task = new ToDo("read chapter " + i);
+                break;
+            case 4:
+            case 5:
+            case 6:
+                task = new Deadline("submit report " + i, time);
+                break;
+            case 7:
+            case 8:
+                task = new Event("meeting " + i, time, time.plusHours(1));
+                break;
+            default:
+                task = new RecurringTask("standup " + i, time, time.plusMinutes(15),
+                        new Recurrence(Recurrence.Frequency.DAILY, null, 30));
+                break;
+            }
+            if (i % 3 == 0) {
+                task.addTag(i % 2 == 0 ? "work" : "school");
+                task.setPriority(Priority.HIGH);
+            }
+            if (i % 4 == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Benchmark
+    public List<Task> load() {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() {
+        saveStorage.save(tasks);
+    }
+}
@@ -1,5 +1,8 @@
 package kip;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Scanner;
 import java.util.ArrayList;
 import kip.task.Task;
@@ -13,7 +16,10 @@ import kip.exception.UnknownCommandException;
 import kip.exception.IncompleteInstructionException;
 import kip.exception.InvalidDateException;
 import kip.storage.Storage;
+import kip.response.Response;
 import kip.KipService;
+import kip.replication.ChangeLog;
+import kip.replication.Follower;
 
 /**
  * Kip is a command-line task management application that allows users to manage
@@ -26,6 +32,7 @@ import kip.KipService;
  *   <li>Marking tasks as done/undone</li>
  *   <li>Deleting tasks</li>
  *   <li>Persistent storage using CSV format</li>
+ *   <li>Reminders shortly before deadlines are due and events start</li>
  * </ul>
  * 
  * <p>Tasks are automatically saved to a CSV file after each modification
@@ -36,6 +43,16 @@ import kip.KipService;
  * @since 2025
  */
 public class Kip {
+    /** Flag naming the CSV file holding the task list */
+    public static final String FILE_FLAG = "--file";
+    /** Flag naming a directory to publish the list's changes to, as a primary */
+    public static final String PRIMARY_FLAG = "--primary";
+    /** Flag naming a directory to follow a primary's changes from, as a read-only replica */
+    public static final String FOLLOW_FLAG = "--follow";
+    /** Exit code for unrecognised command line arguments */
+    private static final int EXIT_USAGE = 64;
+    private static final String USAGE = "Usage: kip [" + PipeMode.FLAG + "] [" + FILE_FLAG + " <csv file>] ["
+            + PRIMARY_FLAG + " <directory> | " + FOLLOW_FLAG + " <directory>]";
 
     /**
      * Displays formatted output with decorative borders for better user experience.
@@ -49,6 +66,31 @@ public class Kip {
         System.out.println(output);
     }
 
+    /**
+     * Loads the task list, makes its metrics readable over JMX and starts
+     * publishing or following its changes.
+     * 
+     * @param csvFile The CSV file holding the list
+     * @param primaryDirectory The directory to publish changes to, or null
+     * @param followDirectory The directory to follow changes from, or null
+     * @return The service
+     * @throws UncheckedIOException if publishing could not start
+     */
+    private static KipService createService(String csvFile, File primaryDirectory, File followDirectory) {
+        KipService kipService = new KipService(new Storage(csvFile));
+        kipService.getMetrics().register(csvFile);
+        if (primaryDirectory != null) {
+            try {
+                ChangeLog.start(primaryDirectory, kipService);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not publish changes to " + primaryDirectory, e);
+            }
+        } else if (followDirectory != null) {
+            Follower.start(followDirectory, kipService);
+        }
+        return kipService;
+    }
+
     /**
      * Main entry point for the Kip application.
      * 
@@ -66,11 +108,47 @@ public class Kip {
      *   <li><code>todo &lt;description&gt;</code> - Adds a ToDo task</li>
      *   <li><code>deadline &lt;description&gt; /by &lt;date&gt;</code> - Adds a Deadline task</li>
      *   <li><code>event &lt;description&gt; /from &lt;date&gt; /to &lt;date&gt;</code> - Adds an Event task</li>
+     *   <li><code>stats</code> - Shows task statistics</li>
      * </ul>
      * 
-     * @param args Command line arguments (not used)
+     * <p>Passing <code>--pipe</code> runs the commands on standard input
+     * without the interactive decorations instead; see {@link PipeMode}.
+     * <code>--file</code> keeps the tasks in another CSV file.
+     * <code>--primary</code> publishes every change to a shared directory and
+     * <code>--follow</code> keeps a read-only replica of the primary publishing
+     * there; see {@link ChangeLog} and {@link Follower}.</p>
+     * 
+     * @param args Command line arguments
      */
     public static void main(String[] args) {
+        boolean isPipeMode = false;
+        String csvFile = Storage.DEFAULT_FILE;
+        File primaryDirectory = null;
+        File followDirectory = null;
+        for (int i = 0; i < args.length; i++) {
+            boolean hasValue = i + 1 < args.length;
+            if (args[i].equals(PipeMode.FLAG)) {
+                isPipeMode = true;
+            } else if (args[i].equals(FILE_FLAG) && hasValue) {
+                csvFile = args[++i];
+            } else if (args[i].equals(PRIMARY_FLAG) && hasValue && followDirectory == null) {
+                primaryDirectory = new File(args[++i]);
+            } else if (args[i].equals(FOLLOW_FLAG) && hasValue && primaryDirectory == null) {
+                followDirectory = new File(args[++i]);
+            } else {
+                System.err.println(USAGE);
+                System.exit(EXIT_USAGE);
+            }
+        }
+        
+        String file = csvFile;
+        File primary = primaryDirectory;
+        File follow = followDirectory;
+        if (isPipeMode) {
+            System.exit(PipeMode.runOnStandardStreams(() -> createService(file, primary, follow)));
+        }
+        
+
         output("Hello! I'm Kip\nWhat can I do for you?\n\n"
                 + "Note: Task descriptions and dates cannot contain commas (,) "
                 + "as they break the CSV format.\n"
@@ -79,20 +157,30 @@ public class Kip {
         
         Scanner scanner = new Scanner(System.in);
         String userInput;
-        KipService kipService = new KipService();
+        KipService kipService;
+        try {
+            kipService = createService(file, primary, follow);
+        } catch (UncheckedIOException e) {
+            System.err.println("ERROR!!! " + e.getMessage());
+            System.exit(PipeMode.EXIT_IO_ERROR);
+            return;
+        }
+        kipService.getReminderScheduler().addReminderListener(reminder -> output(reminder.getMessage()));
+        kipService.getReminderScheduler().start();
         
         while (true) {
             try {
                 userInput = scanner.nextLine().trim();
-                String response = kipService.processCommand(userInput);
+                Response response = kipService.execute(userInput);
                 
-                if (response.equals("Bye. Hope to see you again soon!")) {
-                    output(response);
+                if (response.isExit()) {
+                    kipService.getReminderScheduler().stop();
+                    output(response.getText());
                     scanner.close();
                     return;
                 }
                 
-                output(response);
+                output(response.getText());
                 
             } catch (Exception e) {
                 output("ERROR!!! An unexpected error occurred: " + e.getMessage());
@@ -1,84 +1,391 @@
 package kip;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
 import kip.task.Task;
 import kip.command.Command;
 import kip.command.Instruction;
 import kip.command.Parser;
+import kip.command.ValidationResult;
+import kip.command.Validator;
+import kip.dedupe.DuplicateIndex;
+import kip.dedupe.DuplicatePolicy;
+import kip.dedupe.TaskKey;
+import kip.event.TaskAdded;
+import kip.event.TaskEventBus;
+import kip.event.TaskLabelsChanged;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.exception.DuplicateTaskException;
 import kip.exception.IncompleteInstructionException;
+import kip.exception.InvalidDateException;
+import kip.exception.InvalidQueryException;
 import kip.exception.UnknownCommandException;
+import kip.metrics.CommandMetrics;
+import kip.metrics.LatencyHistogram;
+import kip.metrics.Phase;
+import kip.query.Query;
+import kip.query.QueryMatch;
+import kip.query.QueryPlan;
+import kip.query.QueryPlanner;
+import kip.query.SortedViews;
+import kip.query.TaskIndex;
+import kip.reminder.ReminderScheduler;
+import kip.replication.ChangeEntry;
+import kip.response.ErrorCode;
+import kip.response.Response;
+import kip.response.ResponseKind;
+import kip.stats.TaskStatistics;
 import kip.storage.Storage;
+import kip.transfer.TaskReader;
+import kip.transfer.TaskWriter;
+import kip.transfer.TransferFormat;
 
 public class KipService {
+    /** System property naming the duplicate policy: reject, merge or allow (the default) */
+    public static final String DUPLICATE_POLICY_PROPERTY = "kip.duplicates";
+    /** System property giving the average number of commands per command timed by the metrics */
+    public static final String METRICS_SAMPLE_INTERVAL_PROPERTY = "kip.metrics.sampleInterval";
+    private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::getId);
+    /** Number of imported tasks appended to storage at a time */
+    static final int IMPORT_BATCH_SIZE = 10_000;
+    /** Commands that change the list, which a read-only replica rejects */
+    private static final Set<Command> MUTATING_COMMANDS = EnumSet.of(Command.MARK, Command.UNMARK, Command.DELETE,
+            Command.TODO, Command.DEADLINE, Command.EVENT, Command.DEDUPE, Command.IMPORT);
+    private static final String HELP_TEXT = "Here are the available commands:\n"
+            + "bye - Exits the application\n"
+            + "list - Displays all tasks\n"
+            + "mark <task_number> - Marks a task as done\n"
+            + "unmark <task_number> - Marks a task as undone\n"
+            + "delete <task_number> - Removes a task\n"
+            + "todo <description> - Adds a ToDo task\n"
+            + "  add +<tag> words and !low, !medium or !high to any new task to tag it "
+            + "and set its priority\n"
+            + "deadline <description> /by <date> - Adds a Deadline task\n"
+            + "event <description> /from <date> /to <date> - Adds an Event task\n"
+            + "  add /every daily|weekly|monthly [/until <date>] [/count <n>] to make "
+            + "a deadline or event repeat\n"
+            + "list /from <date> /to <date> - Displays tasks and occurrences in a period\n"
+            + "list <query> - Displays tasks matching a query, e.g. "
+            + "type:D done:0 before:2025-12-01 text:report sort:by limit:5 "
+            + "or +work !high -done\n"
+            + "explain <query> - Shows how a list query would be run\n"
+            + "stats - Shows task statistics\n"
+            + "metrics [command] - Shows how often each command ran and how long it took\n"
+            + "dedupe - Merges tasks with the same type, description and dates\n"
+            + "promote - Makes a read-only replica the primary\n"
+            + "import <file> - Adds the tasks in an .ics or .jsonl file\n"
+            + "export <file> [query] - Writes the tasks, or those matching a query, to an .ics or .jsonl file\n";
+    
+    private final Storage storage;
     private ArrayList<Task> tasks;
+    private final TaskEventBus eventBus = new TaskEventBus();
+    private final TaskStatistics statistics = new TaskStatistics();
+    private final ReminderScheduler reminders = new ReminderScheduler();
+    private final TaskIndex taskIndex = new TaskIndex();
+    private final DuplicateIndex duplicates = new DuplicateIndex();
+    private final CommandMetrics metrics = new CommandMetrics(Math.max(1,
+            Integer.getInteger(METRICS_SAMPLE_INTERVAL_PROPERTY, CommandMetrics.DEFAULT_SAMPLE_INTERVAL)));
+    private DuplicatePolicy duplicatePolicy;
+    /** Whether import and export may only use files inside the transfer directory */
+    private boolean isTransferConfined;
+    /** The directory import and export are confined to; null when they are refused */
+    private File transferDirectory;
+    private final SortedViews sortedViews;
+    private final QueryPlanner queryPlanner;
+    private int nextTaskId = 1;
+    /** Runs the commands submitted asynchronously, one at a time; created on first use */
+    private ExecutorService commandExecutor;
+    /** Promotes this service while it follows a primary as a read-only replica; null otherwise */
+    private Runnable promotion;
     
     public KipService() {
-        this.tasks = Storage.loadTasks();
+        this(Storage.getDefault());
+    }
+    
+    /**
+     * Constructs a service over the tasks kept by the given storage.
+     * 
+     * @param storage The storage the tasks are loaded from and saved to after every change
+     */
+    public KipService(Storage storage) {
+        assert storage != null : "Storage must not be null";
+        this.storage = storage;
+        eventBus.addListener(statistics);
+        eventBus.addListener(reminders);
+        eventBus.addListener(taskIndex);
+        eventBus.addListener(duplicates);
+        DuplicatePolicy policy = DuplicatePolicy.fromString(System.getProperty(DUPLICATE_POLICY_PROPERTY, "allow"));
+        this.duplicatePolicy = policy == null ? DuplicatePolicy.ALLOW : policy;
+        ArrayList<Task> loaded = storage.load();
         // Assert that tasks list is not null after loading
-        assert this.tasks != null : "Tasks list must not be null after loading from storage";
+        assert loaded != null : "Tasks list must not be null after loading from storage";
+        this.tasks = new ArrayList<>(loaded.size());
+        this.sortedViews = new SortedViews(tasks);
+        this.queryPlanner = new QueryPlanner(tasks, taskIndex, sortedViews);
+        eventBus.addListener(sortedViews);
+        for (Task task : loaded) {
+            addTask(task);
+        }
     }
     
+    /**
+     * Runs a command and returns its result as text.
+     * 
+     * @param userInput The command line typed by the user
+     * @return The chat text of the response
+     * @see #execute(String)
+     */
     public String processCommand(String userInput) {
+        return execute(userInput).getText();
+    }
+    
+    /**
+     * Runs a command and returns its result as a {@link Response}.
+     * 
+     * <p>The response's text is only built if the caller asks for it, so
+     * clients that only need the affected tasks or the error code skip
+     * formatting entirely. Failures are reported as error responses rather
+     * than thrown; common mistakes are caught by {@link Validator} before the
+     * command runs, without building an exception.</p>
+     * 
+     * <p>The command runs holding the service's lock, so it never overlaps a
+     * replica applying its primary's changes.</p>
+     * 
+     * <p>Every command is counted in {@link #getMetrics()}, and a sample of
+     * commands is timed phase by phase.</p>
+     * 
+     * @param userInput The command line typed by the user
+     * @return The response
+     */
+    public synchronized Response execute(String userInput) {
         // Assert that userInput is not null
         assert userInput != null : "User input must not be null";
         
+        boolean isSampled = metrics.isSampled();
+        long start = isSampled ? System.nanoTime() : 0;
+        long bytesBefore = storage.getBytesWritten();
+        long writeNanosBefore = isSampled ? storage.getWriteNanos() : 0;
+        Command cmd = null;
+        long parsed = -1;
+        long dispatched = -1;
+        Response response;
         try {
             Instruction instruction = Parser.parseUserInput(userInput);
             // Assert that instruction is not null
             assert instruction != null : "Instruction must not be null after parsing";
             
-            Command cmd = Command.fromString(instruction.getCommand());
+            cmd = Command.fromString(instruction.getCommand());
+            parsed = isSampled ? System.nanoTime() : 0;
             
-            if (cmd == null) {
-                throw new UnknownCommandException(instruction.getCommand());
+            // Reject the common mistakes without throwing
+            ValidationResult validation = Validator.validate(cmd, instruction, tasks.size());
+            if (!validation.isValid()) {
+                response = Response.error(validation.getErrorCode(), validation.getMessage(), tasks.size());
+            } else if (promotion != null && MUTATING_COMMANDS.contains(cmd)) {
+                response = Response.error(ErrorCode.READ_ONLY, 
+                        "This list is a read-only replica. Use promote to make it the primary.", tasks.size());
+            } else {
+                // Assert that cmd is not null after validation
+                assert cmd != null : "Command must not be null after validation";
+                dispatched = isSampled ? System.nanoTime() : 0;
+                response = executeCommand(cmd, instruction);
             }
             
-            // Assert that cmd is not null after validation
-            assert cmd != null : "Command must not be null after validation";
-            
-            return executeCommand(cmd, instruction);
-            
         } catch (Exception e) {
-            return "ERROR!!! " + e.getMessage();
+            if (parsed < 0) {
+                cmd = commandWordOf(userInput);
+            }
+            response = Response.error(errorCodeOf(e), e.getMessage(), tasks.size());
+        }
+        
+        metrics.record(cmd, response.getErrorCode(), storage.getBytesWritten() - bytesBefore);
+        if (isSampled) {
+            recordLatencies(cmd, start, parsed, dispatched, storage.getWriteNanos() - writeNanosBefore);
+        }
+        return response;
+    }
+    
+    /**
+     * Splits the time a sampled command took between its phases, each phase
+     * ending when the next began or, for the last phase reached, now.
+     */
+    private void recordLatencies(Command cmd, long start, long parsed, long dispatched, long persistNanos) {
+        long end = System.nanoTime();
+        if (parsed < 0) {
+            metrics.recordLatencies(cmd, end - start, -1, -1, -1);
+        } else if (dispatched < 0) {
+            metrics.recordLatencies(cmd, parsed - start, end - parsed, -1, -1);
+        } else {
+            metrics.recordLatencies(cmd, parsed - start, dispatched - parsed, end - dispatched - persistNanos,
+                    persistNanos > 0 ? persistNanos : -1);
         }
     }
     
-    private String executeCommand(Command cmd, Instruction instruction) throws Exception {
+    /**
+     * Returns the command named by the first word of input that could not be parsed, if any.
+     */
+    private static Command commandWordOf(String userInput) {
+        String word = userInput.trim().split("\\s+", 2)[0];
+        return word.isEmpty() ? null : Command.fromString(word);
+    }
+    
+    /**
+     * Runs a command on this session's command thread and renders its text
+     * there too, before the next command can change the tasks it shows.
+     * 
+     * <p>Commands submitted asynchronously run one at a time in the order they
+     * were submitted, so their effects and responses are strictly sequential.
+     * The response's text is rendered while the service is still locked, so
+     * it shows the tasks as this command left them even if later commands
+     * have run by the time the future is read. Chat clients such as the GUI
+     * can then show the text without formatting anything on their own thread.</p>
+     * 
+     * <p>Commands, whether run here or through {@link #execute(String)}, and
+     * replication through {@link #replaceTasks(List)} and
+     * {@link #applyChanges(List)} all hold the service's lock, so they may be
+     * mixed from any thread. {@link #getTasks()} and {@link #getStatistics()}
+     * do not, and are not safe to read from other threads while commands run.</p>
+     * 
+     * @param userInput The command line typed by the user
+     * @return A future completed with the rendered response once the command has run
+     */
+    public CompletableFuture<Response> processCommandAsync(String userInput) {
+        assert userInput != null : "User input must not be null";
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (this) {
+                Response response = execute(userInput);
+                response.getText();
+                return response;
+            }
+        }, getCommandExecutor());
+    }
+    
+    /**
+     * Runs the commands already submitted asynchronously, stops the command
+     * thread and saves the tasks.
+     * 
+     * <p>The service should not be used after it has been closed.</p>
+     */
+    public void close() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = commandExecutor;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        reminders.stop();
+        metrics.unregister();
+        storage.save(tasks);
+    }
+    
+    /**
+     * Returns the single daemon thread executor running asynchronous commands.
+     */
+    private synchronized ExecutorService getCommandExecutor() {
+        if (commandExecutor == null) {
+            commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kip-commands");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return commandExecutor;
+    }
+    
+    /**
+     * Classifies an exception thrown while running a command.
+     */
+    private static ErrorCode errorCodeOf(Exception e) {
+        if (e instanceof UnknownCommandException) {
+            return ErrorCode.UNKNOWN_COMMAND;
+        } else if (e instanceof IncompleteInstructionException) {
+            return ErrorCode.INCOMPLETE_INSTRUCTION;
+        } else if (e instanceof InvalidDateException) {
+            return ErrorCode.INVALID_DATE;
+        } else if (e instanceof InvalidQueryException) {
+            return ErrorCode.INVALID_QUERY;
+        } else if (e instanceof DuplicateTaskException) {
+            return ErrorCode.DUPLICATE_TASK;
+        } else if (e instanceof NumberFormatException) {
+            return ErrorCode.INVALID_TASK_NUMBER;
+        } else if (e instanceof IllegalArgumentException) {
+            return ErrorCode.INVALID_INPUT;
+        } else if (e instanceof IOException) {
+            return ErrorCode.FILE_ERROR;
+        }
+        return ErrorCode.INTERNAL;
+    }
+    
+    private Response executeCommand(Command cmd, Instruction instruction) throws Exception {
         // Assert that parameters are not null
         assert cmd != null : "Command must not be null";
         assert instruction != null : "Instruction must not be null";
         assert tasks != null : "Tasks list must not be null";
         
         int taskIndex;
-        String out;
+        int listSize;
         
         switch (cmd) {
         // as each case has a return, break is not needed
         case BYE:
-            return "Bye. Hope to see you again soon!";
+            return Response.of(ResponseKind.GOODBYE, tasks.size(), "Bye. Hope to see you again soon!");
             
         case LIST:
-            out = "Here are the tasks in your list:\n";
-            for (int i = 0; i < tasks.size(); i++) {
-                out += (i + 1) + ". " + tasks.get(i) + "\n";
+            Query listQuery = parseListQuery(instruction);
+            if (!listQuery.isEmpty()) {
+                return listMatching(listQuery);
             }
-            out += "Now you have " + tasks.size() + " tasks in the list.";
-            return out;
+            List<Task> listed = List.copyOf(tasks);
+            return new Response(ResponseKind.TASK_LIST, listed, listed.size(), 
+                    () -> renderNumbered("Here are the tasks in your list:\n", listed,
+                            "Now you have " + listed.size() + " tasks in the list."));
+            
+        case EXPLAIN:
+            QueryPlan plan = queryPlanner.plan(parseListQuery(instruction));
+            return new Response(ResponseKind.PLAN, List.of(), tasks.size(), 
+                    () -> "Here is how I would run this query:\n" + plan.describe());
             
         case MARK:
             taskIndex = Integer.parseInt(instruction.getTask()) - 1;
             // Assert that taskIndex is within valid range
             assert taskIndex >= 0 && taskIndex < tasks.size() : "Task index must be within valid range";
             if (taskIndex >= 0 && taskIndex < tasks.size()) {
-                Task taskToMark = tasks.get(taskIndex);
+                Task taskToMark = setTaskDone(taskIndex, true);
                 // Assert that task exists
                 assert taskToMark != null : "Task to mark must not be null";
-                taskToMark.markAsDone();
                 // Assert that task is marked as done
                 assert taskToMark.isDone() : "Task should be marked as done";
-                out = "Nice! I've marked this task as done:\n" + taskToMark;
-                Storage.saveTasks(tasks);
-                return out;
+                storage.save(tasks);
+                return new Response(ResponseKind.TASK_MARKED, List.of(taskToMark), tasks.size(), 
+                        () -> "Nice! I've marked this task as done:\n" + taskToMark);
             } else {
                 throw new NumberFormatException("Invalid task number!");
             }
@@ -88,16 +395,15 @@ public class KipService {
             // Assert that taskIndex is within valid range
             assert taskIndex >= 0 && taskIndex < tasks.size() : "Task index must be within valid range";
             if (taskIndex >= 0 && taskIndex < tasks.size()) {
-                Task taskToUnmark = tasks.get(taskIndex);
+                Task taskToUnmark = setTaskDone(taskIndex, false);
                 // Assert that task exists
                 assert taskToUnmark != null : "Task to unmark must not be null";
-                taskToUnmark.unmarkAsDone();
                 // Assert that task is unmarked
                 assert !taskToUnmark.isDone() : "Task should be unmarked";
-                out = "OK, I've marked this task as not done yet:\n" + taskToUnmark;
-                out += "\n" + taskToUnmark;
-                Storage.saveTasks(tasks);
-                return out;
+                storage.save(tasks);
+                return new Response(ResponseKind.TASK_UNMARKED, List.of(taskToUnmark), tasks.size(), 
+                        () -> "OK, I've marked this task as not done yet:\n" + taskToUnmark 
+                                + "\n" + taskToUnmark);
             } else {
                 throw new NumberFormatException("Invalid task number!");
             }
@@ -108,14 +414,15 @@ public class KipService {
             assert taskIndex >= 0 && taskIndex < tasks.size() : "Task index must be within valid range";
             if (taskIndex >= 0 && taskIndex < tasks.size()) {
                 int originalSize = tasks.size();
-                Task removedTask = tasks.remove(taskIndex);
+                Task removedTask = removeTask(taskIndex);
                 // Assert that task was removed and size decreased
                 assert removedTask != null : "Removed task must not be null";
                 assert tasks.size() == originalSize - 1 : "Task list size should decrease by 1 after removal";
-                out = "Noted. I've removed this task:\n" + removedTask 
-                        + "\nNow you have " + tasks.size() + " tasks in the list.";
-                Storage.saveTasks(tasks);
-                return out;
+                storage.save(tasks);
+                listSize = tasks.size();
+                return new Response(ResponseKind.TASK_DELETED, List.of(removedTask), listSize, 
+                        () -> "Noted. I've removed this task:\n" + removedTask 
+                                + "\nNow you have " + listSize + " tasks in the list.");
             } else {
                 throw new NumberFormatException("Invalid task number!");
             }
@@ -129,26 +436,36 @@ public class KipService {
                 }
             }
             
-            if (matchingTasks.isEmpty()) {
-                return "No matching tasks found.";
-            } else {
-                out = "Here are the matching tasks in your list:\n";
-                for (int i = 0; i < matchingTasks.size(); i++) {
-                    out += (i + 1) + ". " + matchingTasks.get(i) + "\n";
-                }
-                return out;
-            }
+            return new Response(ResponseKind.MATCHES, matchingTasks, tasks.size(), 
+                    () -> matchingTasks.isEmpty()
+                            ? "No matching tasks found."
+                            : renderNumbered("Here are the matching tasks in your list:\n", matchingTasks, ""));
 
         case HELP:
-            return "Here are the available commands:\n"
-                    + "bye - Exits the application\n"
-                    + "list - Displays all tasks\n"
-                    + "mark <task_number> - Marks a task as done\n"
-                    + "unmark <task_number> - Marks a task as undone\n"
-                    + "delete <task_number> - Removes a task\n"
-                    + "todo <description> - Adds a ToDo task\n"
-                    + "deadline <description> /by <date> - Adds a Deadline task\n"
-                    + "event <description> /from <date> /to <date> - Adds an Event task\n";
+            return Response.of(ResponseKind.HELP, tasks.size(), HELP_TEXT);
+
+        case DEDUPE:
+            return dedupe();
+
+        case PROMOTE:
+            if (promotion == null) {
+                throw new IllegalArgumentException("This list is not a replica, so it cannot be promoted.");
+            }
+            promotion.run();
+            promotion = null;
+            return Response.of(ResponseKind.PROMOTED, tasks.size(), "This list is now the primary.");
+
+        case STATS:
+            return new Response(ResponseKind.STATS, List.of(), tasks.size(), this::renderStatistics);
+            
+        case METRICS:
+            return metrics(instruction.getArguments());
+
+        case IMPORT:
+            return importTasks(instruction.getArguments());
+
+        case EXPORT:
+            return exportTasks(instruction.getArguments());
             
         case TODO:
             if (instruction.getTask().isEmpty()) {
@@ -159,15 +476,18 @@ public class KipService {
             
             int originalSize = tasks.size();
             Task newTodo = new kip.task.ToDo(instruction.getTask());
+            applyLabels(newTodo, instruction);
+            Response duplicateOut = handleDuplicate(newTodo);
+            if (duplicateOut != null) {
+                return duplicateOut;
+            }
             // Assert that new task is not null
             assert newTodo != null : "New todo task must not be null";
-            tasks.add(newTodo);
+            addTask(newTodo);
             // Assert that task was added and size increased
             assert tasks.size() == originalSize + 1 : "Task list size should increase by 1 after adding todo";
-            out = "Got it. I've added this task:\n" + tasks.get(tasks.size() - 1) 
-                    + "\nNow you have " + tasks.size() + " tasks in the list.";
-            Storage.saveTasks(tasks);
-            return out;
+            storage.save(tasks);
+            return added(newTodo);
             
         case DEADLINE:
             if (instruction.getTask().isEmpty()) {
@@ -181,16 +501,23 @@ public class KipService {
             assert instruction.getDatetimes().length > 0 : "Deadline must have at least one datetime";
             
             int originalSizeDeadline = tasks.size();
-            Task newDeadline = new kip.task.Deadline(instruction.getTask(), instruction.getDatetimes()[0]);
+            Recurrence deadlineRecurrence = Parser.parseRecurrence(instruction.getDatetimes());
+            Task newDeadline = deadlineRecurrence == null
+                    ? new kip.task.Deadline(instruction.getTask(), instruction.getDatetimes()[0])
+                    : new RecurringTask(instruction.getTask(), 
+                            Parser.parseDateTime(instruction.getDatetimes()[0], "by"), deadlineRecurrence);
+            applyLabels(newDeadline, instruction);
+            Response duplicateOutDeadline = handleDuplicate(newDeadline);
+            if (duplicateOutDeadline != null) {
+                return duplicateOutDeadline;
+            }
             // Assert that new deadline is not null
             assert newDeadline != null : "New deadline task must not be null";
-            tasks.add(newDeadline);
+            addTask(newDeadline);
             // Assert that task was added and size increased
             assert tasks.size() == originalSizeDeadline + 1 : "Task list size should increase by 1 after adding deadline";
-            out = "Got it. I've added this task:\n" + tasks.get(tasks.size() - 1) 
-                    + "\nNow you have " + tasks.size() + " tasks in the list.";
-            Storage.saveTasks(tasks);
-            return out;
+            storage.save(tasks);
+            return added(newDeadline);
             
         case EVENT:
             if (instruction.getTask().isEmpty()) {
@@ -204,22 +531,650 @@ public class KipService {
             assert instruction.getDatetimes().length >= 2 : "Event must have at least two datetimes";
             
             int originalSizeEvent = tasks.size();
-            Task newEvent = new kip.task.Event(instruction.getTask(), instruction.getDatetimes()[0], instruction.getDatetimes()[1]);
+            Recurrence eventRecurrence = Parser.parseRecurrence(instruction.getDatetimes());
+            Task newEvent = eventRecurrence == null
+                    ? new kip.task.Event(instruction.getTask(), instruction.getDatetimes()[0], instruction.getDatetimes()[1])
+                    : new RecurringTask(instruction.getTask(), 
+                            Parser.parseDateTime(instruction.getDatetimes()[0], "from"),
+                            Parser.parseDateTime(instruction.getDatetimes()[1], "to"), eventRecurrence);
+            applyLabels(newEvent, instruction);
+            Response duplicateOutEvent = handleDuplicate(newEvent);
+            if (duplicateOutEvent != null) {
+                return duplicateOutEvent;
+            }
             // Assert that new event is not null
             assert newEvent != null : "New event task must not be null";
-            tasks.add(newEvent);
+            addTask(newEvent);
             // Assert that task was added and size increased
             assert tasks.size() == originalSizeEvent + 1 : "Task list size should increase by 1 after adding event";
-            out = "Got it. I've added this task:\n" + tasks.get(tasks.size() - 1) 
-                    + "\nNow you have " + tasks.size() + " tasks in the list.";
-            Storage.saveTasks(tasks);
-            return out;
+            storage.save(tasks);
+            return added(newEvent);
             
         default:
             throw new UnknownCommandException(instruction.getCommand());
         }
     }
     
+    /**
+     * Builds the response for a task that was just appended to the list.
+     */
+    private Response added(Task task) {
+        int listSize = tasks.size();
+        return new Response(ResponseKind.TASK_ADDED, List.of(task), listSize, 
+                () -> "Got it. I've added this task:\n" + task 
+                        + "\nNow you have " + listSize + " tasks in the list.");
+    }
+    
+    /**
+     * Adds the tasks in a file to the list.
+     * 
+     * <p>The file is read one task at a time and the new tasks are appended to
+     * storage in batches of {@value #IMPORT_BATCH_SIZE}, so the import holds
+     * at most one batch beyond the list itself however large the file is, and
+     * the batches already committed are kept if it fails part way. A task that
+     * duplicates one in the list is merged into it, or left out when
+     * duplicates are rejected; merges rewrite the whole file once at the end.</p>
+     */
+    private Response importTasks(String fileName) throws IOException {
+        File file = transferFileOf(fileName);
+        TransferFormat format = formatOf(fileName);
+        int addedCount = 0;
+        int mergedCount = 0;
+        int rejectedCount = 0;
+        int skippedCount;
+        int firstUnsaved = tasks.size();
+        try (TaskReader reader = format.openReader(file)) {
+            Task task;
+            while ((task = reader.read()) != null) {
+                Task existing = duplicatePolicy == DuplicatePolicy.ALLOW ? null : duplicates.findDuplicate(task);
+                if (existing == null) {
+                    addTask(task);
+                    addedCount++;
+                    if (tasks.size() - firstUnsaved == IMPORT_BATCH_SIZE) {
+                        storage.append(tasks.subList(firstUnsaved, tasks.size()));
+                        firstUnsaved = tasks.size();
+                    }
+                } else if (duplicatePolicy == DuplicatePolicy.REJECT) {
+                    rejectedCount++;
+                } else {
+                    int index = Collections.binarySearch(tasks, existing, BY_ID);
+                    assert index >= 0 : "Indexed task must be in the list";
+                    mergeLabels(existing, task, index);
+                    mergedCount++;
+                }
+            }
+            skippedCount = reader.getSkippedCount();
+        } catch (IOException e) {
+            throw new IOException("Could not import " + fileName + ": " + e.getMessage(), e);
+        } finally {
+            if (mergedCount > 0) {
+                storage.save(tasks);
+            } else if (firstUnsaved < tasks.size()) {
+                storage.append(tasks.subList(firstUnsaved, tasks.size()));
+            }
+        }
+        
+        StringBuilder out = new StringBuilder("Imported ").append(addedCount).append(" tasks from ")
+                .append(fileName).append(".");
+        if (mergedCount > 0) {
+            out.append("\nMerged ").append(mergedCount).append(" tasks into the tasks already in your list.");
+        }
+        if (rejectedCount > 0) {
+            out.append("\nLeft out ").append(rejectedCount).append(" tasks already in your list.");
+        }
+        if (skippedCount > 0) {
+            out.append("\nSkipped ").append(skippedCount).append(" entries that could not be read as tasks.");
+        }
+        out.append("\nNow you have ").append(tasks.size()).append(" tasks in the list.");
+        return Response.of(ResponseKind.IMPORTED, tasks.size(), out.toString());
+    }
+    
+    /**
+     * Writes the tasks matching an optional query to a file, one at a time.
+     * 
+     * <p>The arguments are the file name followed by the query, in the same
+     * form as for list. A recurring task with several matching occurrences is
+     * written once.</p>
+     */
+    private Response exportTasks(String arguments) throws Exception {
+        String[] parts = arguments.split("\\s+", 2);
+        String fileName = parts[0];
+        File file = transferFileOf(fileName);
+        TransferFormat format = formatOf(fileName);
+        Query query = Parser.parseQuery(parts.length > 1 ? parts[1] : "");
+        int exportedCount = 0;
+        if (isTransferConfined) {
+            transferDirectory.mkdirs();
+        }
+        try (TaskWriter writer = format.openWriter(file)) {
+            if (query.isEmpty()) {
+                for (Task task : tasks) {
+                    writer.write(task);
+                    exportedCount++;
+                }
+            } else {
+                BitSet written = new BitSet(tasks.size() + 1);
+                Iterator<QueryMatch> matches = queryPlanner.plan(query).execute();
+                while (matches.hasNext()) {
+                    QueryMatch match = matches.next();
+                    if (!written.get(match.getPosition())) {
+                        written.set(match.getPosition());
+                        writer.write(match.getTask());
+                        exportedCount++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IOException("Could not export to " + fileName + ": " + e.getMessage(), e);
+        }
+        return Response.of(ResponseKind.EXPORTED, tasks.size(), 
+                "Exported " + exportedCount + " tasks to " + fileName + ".");
+    }
+    
+    /**
+     * Finds the file an import or export names, keeping it inside the transfer
+     * directory when transfers are confined.
+     * 
+     * @throws IllegalArgumentException if transfers are refused, or the name is
+     *     absolute or steps out of the transfer directory
+     */
+    private File transferFileOf(String fileName) {
+        if (!isTransferConfined) {
+            return new File(fileName);
+        }
+        if (transferDirectory == null) {
+            throw new IllegalArgumentException("Import and export are not available here");
+        }
+        Path path = Paths.get(fileName);
+        boolean isOutside = path.getRoot() != null;
+        for (Path part : path) {
+            isOutside |= part.toString().equals("..");
+        }
+        if (isOutside) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName 
+                    + ". Please give a file name without a directory above it, e.g. tasks.ics");
+        }
+        return new File(transferDirectory, fileName);
+    }
+    
+    /**
+     * Finds the import and export format of a file from its extension.
+     * 
+     * @throws IllegalArgumentException if the extension is not a known one
+     */
+    private static TransferFormat formatOf(String fileName) {
+        TransferFormat format = TransferFormat.fromFileName(fileName);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown file type: " + fileName 
+                    + ". Please use a .ics or .jsonl file");
+        }
+        return format;
+    }
+    
+    /**
+     * Renders the task statistics.
+     */
+    private String renderStatistics() {
+        return "Here are your task statistics:\n"
+                + "Total: " + statistics.getTotalCount() + " (" + statistics.getOpenCount() + " open, "
+                + statistics.getDoneCount() + " done)\n"
+                + "ToDos: " + statistics.getCount('T') + " (" + statistics.getOpenCount('T') + " open)\n"
+                + "Deadlines: " + statistics.getCount('D') + " (" + statistics.getOpenCount('D') + " open)\n"
+                + "Events: " + statistics.getCount('E') + " (" + statistics.getOpenCount('E') + " open)\n"
+                + "Overdue: " + statistics.getOverdueCount() + "\n"
+                + "Due today: " + statistics.getDueTodayCount();
+    }
+    
+    /**
+     * Shows the metrics of every command run, or the phases of one command.
+     * 
+     * @param arguments A command word or <code>unknown</code>, or nothing for every command
+     */
+    private Response metrics(String arguments) {
+        if (arguments.isEmpty()) {
+            return new Response(ResponseKind.METRICS, List.of(), tasks.size(), this::renderMetrics);
+        }
+        boolean isUnknown = CommandMetrics.UNKNOWN.equalsIgnoreCase(arguments);
+        Command command = isUnknown ? null : Command.fromString(arguments);
+        if (command == null && !isUnknown) {
+            throw new IllegalArgumentException("Unknown command: " + arguments
+                    + ". Please use a command word such as list, or unknown");
+        }
+        return new Response(ResponseKind.METRICS, List.of(), tasks.size(), () -> renderMetrics(command));
+    }
+    
+    private String renderMetrics() {
+        StringBuilder out = new StringBuilder("Here are the command metrics:\n")
+                .append("Commands: ").append(metrics.getCommandCount())
+                .append(" (").append(metrics.getErrorCount()).append(" failed), ")
+                .append(metrics.getBytesWritten()).append(" bytes written to the task file\n");
+        for (Map.Entry<String, Long> errorCount : metrics.getErrorCodeCounts().entrySet()) {
+            out.append("Failed with ").append(errorCount.getKey()).append(": ").append(errorCount.getValue())
+                    .append('\n');
+        }
+        out.append("Latencies are timed on 1 in ").append(metrics.getSampleInterval()).append(" commands.");
+        List<Command> rows = new ArrayList<>(List.of(Command.values()));
+        rows.add(null);
+        for (Command command : rows) {
+            long count = metrics.getCount(command);
+            if (count == 0) {
+                continue;
+            }
+            out.append('\n').append(CommandMetrics.nameOf(command)).append(": ").append(count).append(" runs, ")
+                    .append(metrics.getErrorCount(command)).append(" failed, ")
+                    .append(describeLatencies(metrics.getLatencies(command, null)));
+        }
+        return out.toString();
+    }
+    
+    private String renderMetrics(Command command) {
+        StringBuilder out = new StringBuilder("Here are the metrics of ")
+                .append(CommandMetrics.nameOf(command)).append(":\n")
+                .append("Runs: ").append(metrics.getCount(command))
+                .append(" (").append(metrics.getErrorCount(command)).append(" failed), ")
+                .append(metrics.getBytesWritten(command)).append(" bytes written to the task file");
+        for (Phase phase : Phase.values()) {
+            out.append('\n').append(phase.getPhaseString()).append(": ")
+                    .append(describeLatencies(metrics.getLatencies(command, phase)));
+        }
+        return out.append('\n').append(CommandMetrics.TOTAL).append(": ")
+                .append(describeLatencies(metrics.getLatencies(command, null))).toString();
+    }
+    
+    private static String describeLatencies(LatencyHistogram latencies) {
+        if (latencies == null || latencies.getCount() == 0) {
+            return "not timed yet";
+        }
+        return String.format(Locale.ROOT, "p50 %.1fus, p99 %.1fus, p999 %.1fus (%d timed)",
+                latencies.getValueAtPercentile(50) / 1e3, latencies.getValueAtPercentile(99) / 1e3,
+                latencies.getValueAtPercentile(99.9) / 1e3, latencies.getCount());
+    }
+    
+    /**
+     * Builds the query for a list or explain instruction.
+     * 
+     * <p>The query terms come from the instruction text and its tags and
+     * priority, and the optional
+     * <code>/from &lt;date&gt; /to &lt;date&gt;</code> segments are shorthands
+     * for <code>after:</code> and <code>before:</code>.</p>
+     */
+    private static Query parseListQuery(Instruction instruction) throws Exception {
+        Query query = Parser.parseQuery(instruction.getTask());
+        for (String tag : instruction.getTags()) {
+            query.requireTag(tag);
+        }
+        if (instruction.getPriority() != Priority.NONE) {
+            query.setPriority(instruction.getPriority());
+        }
+        for (String segment : instruction.getDatetimes()) {
+            if (segment.trim().startsWith("from")) {
+                query.setAfter(Parser.parseDateTime(segment.trim(), "from"));
+            } else if (segment.trim().startsWith("to")) {
+                query.setBefore(Parser.parseDateTime(segment.trim(), "to"));
+            }
+        }
+        return query;
+    }
+    
+    /**
+     * Gives a new task the tags and priority written in the instruction.
+     */
+    private static void applyLabels(Task task, Instruction instruction) {
+        for (String tag : instruction.getTags()) {
+            task.addTag(tag);
+        }
+        task.setPriority(instruction.getPriority());
+    }
+    
+    /**
+     * Applies the duplicate policy to a task about to be added.
+     * 
+     * @return The response if the task duplicates one in the list and was
+     *         merged into it, or null if the task should be added
+     * @throws DuplicateTaskException if the task is a duplicate and the policy is to reject it
+     */
+    private Response handleDuplicate(Task candidate) throws DuplicateTaskException {
+        if (duplicatePolicy == DuplicatePolicy.ALLOW) {
+            return null;
+        }
+        Task existing = duplicates.findDuplicate(candidate);
+        if (existing == null) {
+            return null;
+        }
+        int index = Collections.binarySearch(tasks, existing, BY_ID);
+        assert index >= 0 : "Indexed task must be in the list";
+        if (duplicatePolicy == DuplicatePolicy.REJECT) {
+            throw new DuplicateTaskException(index + 1, existing.toString());
+        }
+        if (mergeLabels(existing, candidate, index)) {
+            storage.save(tasks);
+        }
+        int position = index + 1;
+        int listSize = tasks.size();
+        return new Response(ResponseKind.TASK_MERGED, List.of(existing), listSize, 
+                () -> "This task is already in your list, so I've merged them:\n" + position + ". " + existing
+                        + "\nNow you have " + listSize + " tasks in the list.");
+    }
+    
+    /**
+     * Collapses every group of duplicate tasks into its earliest task in one
+     * pass over the list, merging the later tasks' tags and priorities into it.
+     * 
+     * <p>The list is compacted in place. A {@link TaskRemoved} event is
+     * published for each duplicate with the index it has once the earlier
+     * duplicates are gone, as if they had been deleted one at a time.</p>
+     */
+    private Response dedupe() {
+        Map<TaskKey, Integer> survivors = new HashMap<>();
+        List<Task> removed = new ArrayList<>();
+        int write = 0;
+        for (int read = 0; read < tasks.size(); read++) {
+            Task task = tasks.get(read);
+            Integer survivor = survivors.putIfAbsent(TaskKey.of(task), write);
+            if (survivor == null) {
+                tasks.set(write++, task);
+                continue;
+            }
+            mergeLabels(tasks.get(survivor), task, survivor);
+            eventBus.publish(new TaskRemoved(eventBus.nextSequence(), task, write));
+            removed.add(task);
+        }
+        tasks.subList(write, tasks.size()).clear();
+        
+        int listSize = tasks.size();
+        if (removed.isEmpty()) {
+            return Response.of(ResponseKind.DEDUPED, listSize, "No duplicate tasks found.");
+        }
+        storage.save(tasks);
+        return new Response(ResponseKind.DEDUPED, removed, listSize, () -> {
+            StringBuilder out = new StringBuilder("Noted. I've removed ").append(removed.size())
+                    .append(" duplicate tasks:");
+            for (Task task : removed) {
+                out.append("\n").append(task);
+            }
+            return out.append("\nNow you have ").append(listSize).append(" tasks in the list.").toString();
+        });
+    }
+    
+    /**
+     * Gives a task the tags of its duplicate and the higher of their two
+     * priorities, publishing a {@link TaskLabelsChanged} event if anything changed.
+     * The completion status of the task is kept.
+     * 
+     * @return true if the task's labels changed
+     */
+    private boolean mergeLabels(Task task, Task duplicate, int taskIndex) {
+        Set<String> previousTags = Set.copyOf(task.getTags());
+        Priority previousPriority = task.getPriority();
+        for (String tag : duplicate.getTags()) {
+            task.addTag(tag);
+        }
+        if (duplicate.getPriority().compareTo(previousPriority) > 0) {
+            task.setPriority(duplicate.getPriority());
+        }
+        if (task.getTags().size() == previousTags.size() && task.getPriority() == previousPriority) {
+            return false;
+        }
+        eventBus.publish(new TaskLabelsChanged(eventBus.nextSequence(), task, taskIndex,
+                previousTags, previousPriority));
+        return true;
+    }
+    
+    /**
+     * Renders a numbered list of tasks between a header and a footer.
+     * 
+     * <p>The tasks' display lines are cached by the tasks themselves, so this
+     * only sizes the output once and copies the lines into it.</p>
+     */
+    private static String renderNumbered(String header, List<Task> taskList, String footer) {
+        int length = header.length() + footer.length();
+        for (Task task : taskList) {
+            length += task.toString().length() + 12;
+        }
+        StringBuilder out = new StringBuilder(length).append(header);
+        for (int i = 0; i < taskList.size(); i++) {
+            out.append(i + 1).append(". ").append(taskList.get(i)).append('\n');
+        }
+        return out.append(footer).toString();
+    }
+    
+    /**
+     * Lists the tasks matching a query, using the plan chosen by the query planner.
+     */
+    private Response listMatching(Query query) {
+        Iterator<QueryMatch> iterator = queryPlanner.plan(query).execute();
+        List<QueryMatch> matches = new ArrayList<>();
+        List<Task> matchedTasks = new ArrayList<>();
+        while (iterator.hasNext()) {
+            QueryMatch match = iterator.next();
+            matches.add(match);
+            matchedTasks.add(match.getTask());
+        }
+        return new Response(ResponseKind.MATCHES, matchedTasks, tasks.size(), () -> {
+            StringBuilder out = new StringBuilder("Here are the matching tasks in your list:\n");
+            for (QueryMatch match : matches) {
+                out.append(match).append("\n");
+            }
+            return out.append("Found ").append(matches.size()).append(" matching tasks.").toString();
+        });
+    }
+    
+    /**
+     * Appends a task to the list, assigns its ID and publishes a {@link TaskAdded} event.
+     */
+    private void addTask(Task task) {
+        task.setId(nextTaskId++);
+        tasks.add(task);
+        eventBus.publish(new TaskAdded(eventBus.nextSequence(), task, tasks.size() - 1));
+    }
+    
+    /**
+     * Removes the task at the given position and publishes a {@link TaskRemoved} event.
+     */
+    private Task removeTask(int taskIndex) {
+        Task removed = tasks.remove(taskIndex);
+        eventBus.publish(new TaskRemoved(eventBus.nextSequence(), removed, taskIndex));
+        return removed;
+    }
+    
+    /**
+     * Marks the task at the given position as done or undone and publishes a
+     * {@link TaskStatusChanged} event if its status actually changed.
+     */
+    private Task setTaskDone(int taskIndex, boolean isDone) {
+        Task task = tasks.get(taskIndex);
+        if (task.isDone() == isDone) {
+            return task;
+        }
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.unmarkAsDone();
+        }
+        eventBus.publish(new TaskStatusChanged(eventBus.nextSequence(), task, taskIndex));
+        return task;
+    }
+    
+    /**
+     * Makes the service a read-only replica: commands that would change the
+     * list are rejected until the <code>promote</code> command is run.
+     * 
+     * @param promotion Run by the promote command, holding the service's lock,
+     *        to stop following the primary; if it throws, the service stays a replica
+     * @see kip.replication.Follower
+     */
+    public synchronized void follow(Runnable promotion) {
+        assert promotion != null : "Promotion must not be null";
+        this.promotion = promotion;
+    }
+    
+    /** Returns whether the service is a read-only replica */
+    public synchronized boolean isReadOnly() {
+        return promotion != null;
+    }
+    
+    /**
+     * Replaces every task in the list, as a replica does when it loads its
+     * primary's snapshot, and saves the list.
+     * 
+     * @param replacement The new tasks, in list order
+     */
+    public synchronized void replaceTasks(List<Task> replacement) {
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            removeTask(i);
+        }
+        for (Task task : replacement) {
+            addTask(task);
+        }
+        storage.save(tasks);
+    }
+    
+    /**
+     * Applies changes made to the primary's list, in order, and saves the list.
+     * 
+     * <p>Each change publishes the same event it did on the primary, so the
+     * indexes, statistics and listeners of the replica stay in step.</p>
+     * 
+     * @param changes The changes, in the order they were made
+     * @throws IndexOutOfBoundsException if a change refers to a position the list does not have
+     */
+    public synchronized void applyChanges(List<ChangeEntry> changes) {
+        for (ChangeEntry change : changes) {
+            int index = change.getIndex();
+            switch (change.getType()) {
+            case ADD:
+                if (index != tasks.size()) {
+                    throw new IndexOutOfBoundsException("Replicated task " + index + " is not appended");
+                }
+                addTask(change.getTask());
+                break;
+            case REMOVE:
+                removeTask(index);
+                break;
+            case STATUS:
+                setTaskDone(index, change.getTask().isDone());
+                break;
+            default:
+                mergeLabels(tasks.get(index), change.getTask(), index);
+                break;
+            }
+        }
+        storage.save(tasks);
+    }
+    
+    /**
+     * Registers a listener for task mutations.
+     * 
+     * <p>The listener first receives a {@link TaskAdded} event for every task
+     * already in the list, carrying the current sequence number, so that it can
+     * build its initial state. It then receives every subsequent mutation.
+     * Registration holds the same lock as {@link #execute(String)}, so no
+     * mutation can slip in between the snapshot and the subscription.</p>
+     * 
+     * @param listener The listener to register
+     */
+    public synchronized void addTaskListener(TaskListener listener) {
+        assert listener != null : "Listener must not be null";
+        long sequence = eventBus.getLastSequence();
+        for (int i = 0; i < tasks.size(); i++) {
+            listener.onTaskAdded(new TaskAdded(sequence, tasks.get(i), i));
+        }
+        eventBus.addListener(listener);
+    }
+    
+    /**
+     * Unregisters a previously registered listener.
+     * 
+     * @param listener The listener to remove
+     */
+    public synchronized void removeTaskListener(TaskListener listener) {
+        eventBus.removeListener(listener);
+    }
+    
+    /**
+     * Returns the incrementally maintained task statistics.
+     * 
+     * @return The task statistics
+     */
+    public TaskStatistics getStatistics() {
+        return statistics;
+    }
+    
+    /**
+     * Returns the counters and latencies of the commands run by this service.
+     * 
+     * <p>Call {@link CommandMetrics#register(String)} to make them readable
+     * over JMX; they are unregistered when the service is closed.</p>
+     * 
+     * @return The command metrics
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Returns the scheduler raising reminders for upcoming deadlines and events.
+     * 
+     * <p>The scheduler is kept up to date with the task list but only raises
+     * reminders once a client has called {@link ReminderScheduler#start()}.</p>
+     * 
+     * @return The reminder scheduler
+     */
+    public ReminderScheduler getReminderScheduler() {
+        return reminders;
+    }
+    
+    /**
+     * Returns the policy applied when a new task duplicates one in the list.
+     * 
+     * @return The duplicate policy
+     */
+    public DuplicatePolicy getDuplicatePolicy() {
+        return duplicatePolicy;
+    }
+    
+    /**
+     * Sets the policy applied when a new task duplicates one in the list.
+     * 
+     * @param duplicatePolicy The new policy
+     */
+    public void setDuplicatePolicy(DuplicatePolicy duplicatePolicy) {
+        assert duplicatePolicy != null : "Duplicate policy must not be null";
+        this.duplicatePolicy = duplicatePolicy;
+    }
+    
+    /**
+     * Confines import and export to files inside a directory, for services
+     * taking commands from clients that must not name arbitrary files, such
+     * as those of {@link kip.server.KipServer}. File names must then be
+     * relative and must not contain <code>..</code>.
+     * 
+     * @param directory The directory, created on the first export if it does
+     *     not exist, or null to refuse import and export altogether
+     */
+    public synchronized void confineTransfers(File directory) {
+        this.isTransferConfined = true;
+        this.transferDirectory = directory;
+    }
+    
+    /**
+     * Returns whether import and export are confined to a directory, or refused.
+     * 
+     * @return true once {@link #confineTransfers(File)} has been called
+     */
+    public synchronized boolean isTransferConfined() {
+        return isTransferConfined;
+    }
+    
+    /**
+     * Returns the event bus on which task mutations are published.
+     * 
+     * @return The event bus
+     */
+    public TaskEventBus getEventBus() {
+        return eventBus;
+    }
+    
     public ArrayList<Task> getTasks() {
         // Assert that tasks list is not null
         assert tasks != null : "Tasks list must not be null when getting tasks";
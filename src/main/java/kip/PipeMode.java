@@ -0,0 +1,117 @@
+package kip;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Supplier;
+import kip.response.Response;
+
+/**
+ * Runs Kip non-interactively over a stream of commands, for scripts.
+ *
+ * <p>Commands are read one per line through a large buffer and each response
+ * is written as its bare text followed by a newline, without the greeting or
+ * the borders of the interactive mode. Output is buffered and only flushed
+ * when the input ends, after <code>bye</code>, or when the input contains a
+ * blank line, which lets a script driving Kip as a co-process ask for the
+ * responses so far. Reminders are not raised.</p>
+ *
+ * <p>The exit code tells the script how the run went:</p>
+ * <ul>
+ *   <li>{@link #EXIT_OK} if every command succeeded</li>
+ *   <li>{@link #EXIT_COMMAND_FAILED} if at least one command was rejected;
+ *       the remaining commands still run</li>
+ *   <li>{@link #EXIT_IO_ERROR} if the commands could not be read or the
+ *       responses could not be written</li>
+ * </ul>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public class PipeMode {
+    /** Command-line flag selecting pipe mode */
+    public static final String FLAG = "--pipe";
+    /** Every command succeeded */
+    public static final int EXIT_OK = 0;
+    /** At least one command returned an error response */
+    public static final int EXIT_COMMAND_FAILED = 1;
+    /** Reading the commands or writing the responses failed */
+    public static final int EXIT_IO_ERROR = 2;
+    /** Size of the input and output buffers, in chars */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private PipeMode() {
+    }
+
+    /**
+     * Runs the commands on standard input and writes the responses to standard output.
+     *
+     * <p>Anything else Kip prints, such as storage messages, is sent to
+     * standard error so that standard output only holds responses.</p>
+     *
+     * @param serviceFactory Creates the service running the commands, once standard output is redirected
+     * @return The exit code
+     */
+    public static int runOnStandardStreams(Supplier<KipService> serviceFactory) {
+        Writer out = new OutputStreamWriter(new FileOutputStream(FileDescriptor.out));
+        PrintStream console = System.out;
+        System.setOut(System.err);
+        try {
+            KipService kipService;
+            try {
+                kipService = serviceFactory.get();
+            } catch (UncheckedIOException e) {
+                System.err.println("ERROR!!! " + e.getMessage());
+                return EXIT_IO_ERROR;
+            }
+            return run(kipService, new InputStreamReader(System.in), out);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Runs every command read from <code>in</code> until the input ends or a
+     * <code>bye</code> command, writing the responses to <code>out</code>.
+     *
+     * @param kipService The service running the commands
+     * @param in The commands, one per line
+     * @param out Receives the text of each response followed by a newline
+     * @return The exit code
+     */
+    public static int run(KipService kipService, Reader in, Writer out) {
+        assert kipService != null : "Kip service must not be null";
+        boolean hasFailed = false;
+        try (BufferedReader reader = new BufferedReader(in, BUFFER_SIZE);
+                BufferedWriter writer = new BufferedWriter(out, BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String userInput = line.trim();
+                if (userInput.isEmpty()) {
+                    writer.flush();
+                    continue;
+                }
+                Response response = kipService.execute(userInput);
+                writer.write(response.getText());
+                writer.newLine();
+                hasFailed |= response.isError();
+                if (response.isExit()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR!!! Pipe mode failed: " + e.getMessage());
+            return EXIT_IO_ERROR;
+        }
+        return hasFailed ? EXIT_COMMAND_FAILED : EXIT_OK;
+    }
+}
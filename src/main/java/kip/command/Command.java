@@ -19,6 +19,13 @@ package kip.command;
  *   <li><strong>DELETE</strong> - Removes a task</li>
  *   <li><strong>FIND</strong> - Finds a task</li>
  *   <li><strong>HELP</strong> - Displays all commands</li>
+ *   <li><strong>STATS</strong> - Displays task statistics</li>
+ *   <li><strong>EXPLAIN</strong> - Shows how a list query would be run</li>
+ *   <li><strong>DEDUPE</strong> - Collapses duplicate tasks</li>
+ *   <li><strong>PROMOTE</strong> - Turns a read-only replica into the primary</li>
+ *   <li><strong>IMPORT</strong> - Adds the tasks in an iCalendar or JSON Lines file</li>
+ *   <li><strong>EXPORT</strong> - Writes tasks to an iCalendar or JSON Lines file</li>
+ *   <li><strong>METRICS</strong> - Shows how often each command ran and how long it took</li>
  * </ul>
  * 
  * <p>Commands are case-insensitive when parsing user input, providing a
@@ -47,7 +54,21 @@ public enum Command {
     EVENT("event"),
     DELETE("delete"),
     FIND("find"),
-    HELP("help");
+    HELP("help"),
+    /** Command to show task statistics */
+    STATS("stats"),
+    /** Command to show the execution plan of a list query */
+    EXPLAIN("explain"),
+    /** Command to collapse duplicate tasks */
+    DEDUPE("dedupe"),
+    /** Command to turn a read-only replica into the primary */
+    PROMOTE("promote"),
+    /** Command to add the tasks in a file */
+    IMPORT("import"),
+    /** Command to write tasks to a file */
+    EXPORT("export"),
+    /** Command to show how often each command ran and how long it took */
+    METRICS("metrics");
 
     /** The string representation of the command */
     private final String commandString;
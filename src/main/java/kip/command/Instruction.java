@@ -1,19 +1,41 @@
 package kip.command;
 
+import java.util.Collections;
+import java.util.List;
+import kip.task.Priority;
+
 public class Instruction {
     private String command;
     private String task;
     private String[] datetimes;
+    private List<String> tags;
+    private Priority priority;
+    private String arguments;
 
     public Instruction(String command, String task, String[] datetimes) {
+        this(command, task, datetimes, Collections.emptyList(), Priority.NONE);
+    }
+
+    public Instruction(String command, String task, String[] datetimes, List<String> tags, Priority priority) {
+        this(command, task, datetimes, tags, priority, task);
+    }
+
+    public Instruction(String command, String task, String[] datetimes, List<String> tags, Priority priority,
+            String arguments) {
         // Assert that parameters are not null
         assert command != null : "Command must not be null";
         assert task != null : "Task must not be null";
         assert datetimes != null : "Datetimes array must not be null";
+        assert tags != null : "Tags must not be null";
+        assert priority != null : "Priority must not be null";
+        assert arguments != null : "Arguments must not be null";
         
         this.command = command;
         this.task = task;
         this.datetimes = datetimes;
+        this.tags = tags;
+        this.priority = priority;
+        this.arguments = arguments;
         
         // Assert that object is in valid state after construction
         assert this.command != null : "Command must not be null after construction";
@@ -38,4 +60,19 @@ public class Instruction {
         assert datetimes != null : "Datetimes array must not be null when getting";
         return datetimes;
     }
+
+    /** Returns the tags given as +tag words, without the leading + */
+    public List<String> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+
+    /** Returns the priority given as a !priority word, or {@link Priority#NONE} */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /** Returns everything typed after the command word, trimmed, with slashes, tags and priorities left in */
+    public String getArguments() {
+        return arguments;
+    }
 }
@@ -4,11 +4,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import kip.exception.InvalidDateException;
+import kip.exception.InvalidQueryException;
+import kip.query.Query;
+import kip.query.SortKey;
+import kip.task.Priority;
 import kip.task.Task;
 import kip.task.ToDo;
 import kip.task.Deadline;
 import kip.task.Event;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
 
 /**
  * Utility class for parsing user input and CSV data in the Kip task management system.
@@ -18,6 +26,7 @@ import kip.task.Event;
  *   <li>User command input parsing</li>
  *   <li>Date and time string parsing</li>
  *   <li>CSV line parsing for task reconstruction</li>
+ *   <li>Query parsing for filtered listing</li>
  *   <li>Input validation and error handling</li>
  * </ul>
  * 
@@ -42,6 +51,10 @@ public class Parser {
         DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    /** Shape of {@link #DATE_FORMATTER} input, with 9 standing for a digit */
+    private static final String DATE_SHAPE = "9999-99-99";
+    /** Shape of {@link #DATETIME_FORMATTER} input, with 9 standing for a digit */
+    private static final String DATETIME_SHAPE = "9999-99-99 9999";
     
     /**
      * Validates that a string doesn't contain commas to prevent CSV parsing issues.
@@ -60,18 +73,16 @@ public class Parser {
         assert fieldName != null : "Field name must not be null for validation";
         
         if (input.contains(",")) {
-            throw new InvalidDateException("Invalid " + fieldName 
-                    + ": Cannot contain commas (,) as they break the CSV format. "
-                    + "Please use a different character.");
+            throw new InvalidDateException(commaMessage(fieldName));
         }
     }
     
     /**
      * Parses a date string in yyyy-MM-dd or yyyy-MM-dd HHmm format to LocalDateTime.
      * 
-     * <p>This method attempts to parse the input string using multiple formats.
-     * If the datetime format fails, it falls back to the date-only format and
-     * sets the time to 00:00 (midnight).</p>
+     * <p>This method picks the format from the shape of the input, so that a
+     * date without a time does not first fail to parse as a date and time.
+     * A date-only input is set to 00:00 (midnight).</p>
      * 
      * <p>The method also validates that the input doesn't contain commas to
      * prevent CSV parsing issues.</p>
@@ -88,35 +99,120 @@ public class Parser {
         assert fieldName != null : "Field name must not be null";
         assert !dateString.trim().isEmpty() : "Date string must not be empty";
         
+        // Validate no commas
+        validateNoCommas(dateString, fieldName);
+        
+        String cleanDate = stripFieldName(dateString, fieldName);
         try {
-            // Validate no commas
-            validateNoCommas(dateString, fieldName);
-            
-            // Remove any prefix if present (e.g., "by", "from", "to")
-            String cleanDate = dateString.replaceFirst("^" + fieldName + "\\s*", "").trim();
-            
-            // Assert that cleanDate is not empty after processing
-            assert !cleanDate.isEmpty() : "Clean date string must not be empty after processing";
-            
-            // Try to parse as datetime first (yyyy-MM-dd HHmm)
-            try {
-                LocalDateTime result = LocalDateTime.parse(cleanDate, DATETIME_FORMATTER);
-                // Assert that result is not null
-                assert result != null : "Parsed LocalDateTime must not be null";
-                return result;
-            } catch (DateTimeParseException e) {
-                // If datetime parsing fails, try date only (yyyy-MM-dd)
-                LocalDate date = LocalDate.parse(cleanDate, DATE_FORMATTER);
-                LocalDateTime result = date.atStartOfDay(); // Convert to LocalDateTime at 00:00
-                // Assert that result is not null
-                assert result != null : "Converted LocalDateTime must not be null";
-                return result;
+            if (hasShape(cleanDate, DATETIME_SHAPE)) {
+                return LocalDateTime.parse(cleanDate, DATETIME_FORMATTER);
+            } else if (hasShape(cleanDate, DATE_SHAPE)) {
+                // Convert to LocalDateTime at 00:00
+                return LocalDate.parse(cleanDate, DATE_FORMATTER).atStartOfDay();
             }
         } catch (DateTimeParseException e) {
-            throw new InvalidDateException("Invalid " + fieldName 
-                    + " format. Please use yyyy-MM-dd (e.g., 2019-10-15) "
-                    + "or yyyy-MM-dd HHmm (e.g., 2019-10-15 1800)", e);
+            // The shape was right but a field is out of range, e.g. month 13
+            throw new InvalidDateException(invalidFormatMessage(fieldName), e);
+        }
+        throw new InvalidDateException(invalidFormatMessage(fieldName));
+    }
+    
+    /**
+     * Checks a date string without throwing for the common mistakes.
+     * 
+     * <p>Commas, inputs that are not shaped like yyyy-MM-dd or
+     * yyyy-MM-dd HHmm and fields out of range, such as month 13, are rejected
+     * without building an exception. As when parsing, a day past the end of
+     * its month is accepted and moved back to the last day of the month. Only
+     * an hour of 24, which is accepted as midnight at the end of the day when
+     * the minutes allow it, is left to the parser.</p>
+     * 
+     * @param dateString The date string to check
+     * @param fieldName The name of the field for error messages
+     * @return null if the date is valid, or the message {@link #parseDateTime(String, String)}
+     *         would throw
+     */
+    public static String checkDateTime(String dateString, String fieldName) {
+        assert dateString != null : "Date string must not be null";
+        assert fieldName != null : "Field name must not be null";
+        if (dateString.contains(",")) {
+            return commaMessage(fieldName);
+        }
+        String cleanDate = stripFieldName(dateString, fieldName);
+        boolean hasTime = hasShape(cleanDate, DATETIME_SHAPE);
+        if (!hasTime && !hasShape(cleanDate, DATE_SHAPE)) {
+            return invalidFormatMessage(fieldName);
+        }
+        int year = digitsAt(cleanDate, 0, 4);
+        int month = digitsAt(cleanDate, 5, 7);
+        int day = digitsAt(cleanDate, 8, 10);
+        int hour = hasTime ? digitsAt(cleanDate, 11, 13) : 0;
+        int minute = hasTime ? digitsAt(cleanDate, 13, 15) : 0;
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || hour > 24 || minute > 59) {
+            return invalidFormatMessage(fieldName);
+        }
+        if (hour < 24) {
+            return null;
+        }
+        try {
+            parseDateTime(dateString, fieldName);
+            return null;
+        } catch (InvalidDateException e) {
+            return e.getMessage();
+        }
+    }
+    
+    /**
+     * Removes the field name the user typed before a date, e.g. "by" in "by 2019-10-15".
+     */
+    private static String stripFieldName(String dateString, String fieldName) {
+        String cleanDate = dateString.trim();
+        if (cleanDate.startsWith(fieldName)) {
+            cleanDate = cleanDate.substring(fieldName.length()).trim();
+        }
+        return cleanDate;
+    }
+    
+    /**
+     * Returns whether text has the shape of a format, where 9 stands for any
+     * digit and every other character must match exactly.
+     */
+    private static boolean hasShape(String text, String shape) {
+        if (text.length() != shape.length()) {
+            return false;
+        }
+        for (int i = 0; i < shape.length(); i++) {
+            char c = text.charAt(i);
+            boolean isMatch = shape.charAt(i) == '9' ? c >= '0' && c <= '9' : c == shape.charAt(i);
+            if (!isMatch) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Reads the decimal number in text from start (inclusive) to end (exclusive),
+     * which must all be digits.
+     */
+    private static int digitsAt(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
         }
+        return value;
+    }
+    
+    private static String invalidFormatMessage(String fieldName) {
+        return "Invalid " + fieldName 
+                + " format. Please use yyyy-MM-dd (e.g., 2019-10-15) "
+                + "or yyyy-MM-dd HHmm (e.g., 2019-10-15 1800)";
+    }
+    
+    private static String commaMessage(String fieldName) {
+        return "Invalid " + fieldName 
+                + ": Cannot contain commas (,) as they break the CSV format. "
+                + "Please use a different character.";
     }
     
     /**
@@ -125,13 +221,16 @@ public class Parser {
      * <p>This method reconstructs Task objects from CSV data stored in the
      * storage file. It handles all three task types: ToDo, Deadline, and Event.</p>
      * 
-     * <p>The expected CSV format is: type,done,description,datetime1,datetime2</p>
+     * <p>The expected CSV format is: type,done,description,datetime1,datetime2,recurrence,tags,priority</p>
      * <ul>
-     *   <li>type: T (ToDo), D (Deadline), or E (Event)</li>
+     *   <li>type: T (ToDo), D (Deadline), E (Event) or R (Recurring)</li>
      *   <li>done: 0 (false) or 1 (true)</li>
      *   <li>description: Task description</li>
      *   <li>datetime1: First datetime (deadline date or event start)</li>
      *   <li>datetime2: Second datetime (event end, unused for ToDo/Deadline)</li>
+     *   <li>recurrence: Recurrence rule (only used for Recurring)</li>
+     *   <li>tags: Space-separated tags (optional)</li>
+     *   <li>priority: low, medium or high (optional)</li>
      * </ul>
      * 
      * @param line CSV line to parse
@@ -180,6 +279,15 @@ public class Parser {
                 task = new Event(description, startDateTime, endDateTime);
             }
             break;
+        case "R": // RECURRING
+            if (parts.length >= 6 && !parts[3].trim().isEmpty() && !parts[5].trim().isEmpty()) {
+                LocalDateTime startDateTime = parseDateTime(parts[3].trim(), "start");
+                LocalDateTime endDateTime = parts[4].trim().isEmpty() 
+                        ? null : parseDateTime(parts[4].trim(), "end");
+                task = new RecurringTask(description, startDateTime, endDateTime, 
+                        Recurrence.fromRule(parts[5]));
+            }
+            break;
         }
         
         if (task != null && isDone) {
@@ -187,6 +295,19 @@ public class Parser {
             // Assert that task is marked as done
             assert task.isDone() : "Task should be marked as done";
         }
+        if (task != null && parts.length >= 7) {
+            for (String tag : parts[6].trim().split(" ")) {
+                if (!tag.isEmpty()) {
+                    task.addTag(tag);
+                }
+            }
+        }
+        if (task != null && parts.length >= 8 && !parts[7].trim().isEmpty()) {
+            Priority priority = Priority.fromString(parts[7].trim());
+            if (priority != null) {
+                task.setPriority(priority);
+            }
+        }
         
         return task;
     }
@@ -198,9 +319,14 @@ public class Parser {
      * task description, and datetime parameters. It handles the slash-based
      * syntax used by the application.</p>
      * 
+     * <p>Words of the task part written as <code>+tag</code> or
+     * <code>!low|!medium|!high</code> are taken out of the task and returned
+     * as the instruction's tags and priority.</p>
+     * 
      * <p>Input format examples:</p>
      * <ul>
      *   <li><code>todo read book</code> → command: "todo", task: "read book"</li>
+     *   <li><code>todo read book +school !high</code> → command: "todo", task: "read book", tags: ["school"], priority: HIGH</li>
      *   <li><code>deadline return book /by 2019-10-15</code> → command: "deadline", task: "return book", datetime: "by 2019-10-15"</li>
      *   <li><code>event meeting /from 2019-10-15 /to 2019-10-16</code> → command: "event", task: "meeting", datetimes: ["from 2019-10-15", "to 2019-10-16"]</li>
      * </ul>
@@ -237,18 +363,214 @@ public class Parser {
         if (instructionParts.length > 1) {
             task = instructionParts[1].trim(); // task
         }
+        
+        // Take +tag and !priority words out of the task
+        List<String> tags = new ArrayList<>();
+        Priority priority = Priority.NONE;
+        List<String> words = new ArrayList<>();
+        for (String word : task.split("\\s+")) {
+            if (isTagWord(word)) {
+                tags.add(word.substring(1));
+            } else if (isPriorityWord(word)) {
+                priority = Priority.fromString(word.substring(1));
+            } else {
+                words.add(word);
+            }
+        }
+        if (!tags.isEmpty() || priority != Priority.NONE) {
+            task = String.join(" ", words);
+        }
 
         String[] dateTimes = new String[0];
         if (parts.length > 1) {
             dateTimes = parts[1].split("/"); // [datetime, datetime2, etc]
         }
         
+        // Keep the raw text after the command word for commands that take a file path
+        String arguments = userInput.trim();
+        arguments = arguments.startsWith(command) ? arguments.substring(command.length()).trim() : "";
+        
         // Assert that the resulting instruction components are valid
         assert command != null : "Command must not be null";
         assert task != null : "Task must not be null";
         assert dateTimes != null : "DateTimes array must not be null";
         
-        return new Instruction(command, task, dateTimes);
+        return new Instruction(command, task, dateTimes, tags, priority, arguments);
+    }
+    
+    /**
+     * Returns whether a word is a tag such as <code>+work</code>. The reserved
+     * <code>+done</code> counts as a tag here so that list queries can use it.
+     */
+    private static boolean isTagWord(String word) {
+        if (word.length() < 2 || word.charAt(0) != '+') {
+            return false;
+        }
+        String tag = word.substring(1);
+        return Task.isValidTag(tag) || tag.equalsIgnoreCase("done");
+    }
+    
+    /**
+     * Returns whether a word is a priority such as <code>!high</code>.
+     */
+    private static boolean isPriorityWord(String word) {
+        if (word.length() < 2 || word.charAt(0) != '!') {
+            return false;
+        }
+        Priority priority = Priority.fromString(word.substring(1));
+        return priority != null && priority != Priority.NONE;
+    }
+    
+    /**
+     * Parses the optional recurrence segments of a deadline or event instruction.
+     * 
+     * <p>The segments are recognised by their prefix, in any order:</p>
+     * <ul>
+     *   <li><code>every daily|weekly|monthly</code> - how often the task repeats (required)</li>
+     *   <li><code>until &lt;date&gt;</code> - last date an occurrence may start</li>
+     *   <li><code>count &lt;n&gt;</code> - maximum number of occurrences</li>
+     * </ul>
+     * 
+     * @param datetimes The slash-separated segments of the instruction
+     * @return The recurrence, or null if there is no <code>every</code> segment
+     * @throws InvalidDateException if a segment is malformed
+     */
+    public static Recurrence parseRecurrence(String[] datetimes) throws InvalidDateException {
+        assert datetimes != null : "Datetimes array must not be null";
+        
+        Recurrence.Frequency frequency = null;
+        LocalDateTime until = null;
+        int count = 0;
+        for (String segment : datetimes) {
+            String trimmed = segment.trim();
+            if (trimmed.startsWith("every ")) {
+                frequency = Recurrence.parseFrequency(trimmed.substring("every ".length()));
+            } else if (trimmed.startsWith("until ")) {
+                until = parseDateTime(trimmed, "until");
+            } else if (trimmed.startsWith("count ")) {
+                count = Recurrence.parseCount(trimmed.substring("count ".length()));
+            }
+        }
+        
+        if (frequency == null) {
+            if (until != null || count > 0) {
+                throw new InvalidDateException("Please say how often the task repeats, "
+                        + "e.g. /every weekly");
+            }
+            return null;
+        }
+        return new Recurrence(frequency, until, count);
+    }
+    
+    /**
+     * Parses a query for filtered listing.
+     * 
+     * <p>A query is a space-separated list of terms, all of which must match:</p>
+     * <ul>
+     *   <li><code>type:T|D|E|R</code> - task type</li>
+     *   <li><code>done:0|1</code> - completion status</li>
+     *   <li><code>after:&lt;date&gt;</code> - dated on or after the date</li>
+     *   <li><code>before:&lt;date&gt;</code> - dated before the date</li>
+     *   <li><code>text:&lt;word&gt;</code> or a bare word - description contains the word</li>
+     *   <li><code>+&lt;tag&gt;</code> / <code>-&lt;tag&gt;</code> - carries / does not carry the tag;
+     *       <code>+done</code> and <code>-done</code> match completed and open tasks</li>
+     *   <li><code>!low|!medium|!high</code> - priority</li>
+     *   <li><code>sort:by|from|description|done</code> - result order</li>
+     *   <li><code>limit:&lt;n&gt;</code> - maximum number of results</li>
+     * </ul>
+     * 
+     * @param text The query text, e.g. <code>type:D done:0 before:2025-12-01 text:report</code>
+     * @return The parsed query, empty if the text is blank
+     * @throws InvalidQueryException if a term is malformed
+     * @throws InvalidDateException if a date is malformed
+     */
+    public static Query parseQuery(String text) throws InvalidQueryException, InvalidDateException {
+        assert text != null : "Query text must not be null";
+        
+        Query query = new Query();
+        for (String term : text.trim().split("\\s+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            char first = term.charAt(0);
+            if ((first == '+' || first == '-') && term.length() > 1) {
+                String tag = term.substring(1);
+                if (!Task.isValidTag(tag) && !tag.equalsIgnoreCase("done")) {
+                    throw new InvalidQueryException("Invalid tag: " + tag 
+                            + ". Tags may only contain letters, digits, - and _");
+                }
+                if (first == '+') {
+                    query.requireTag(tag);
+                } else {
+                    query.excludeTag(tag);
+                }
+                continue;
+            }
+            if (first == '!' && term.length() > 1) {
+                Priority priority = Priority.fromString(term.substring(1));
+                if (priority == null || priority == Priority.NONE) {
+                    throw new InvalidQueryException("Invalid priority: " + term.substring(1) 
+                            + ". Please use low, medium or high");
+                }
+                query.setPriority(priority);
+                continue;
+            }
+            int colon = term.indexOf(':');
+            if (colon < 0) {
+                query.addWord(term);
+                continue;
+            }
+            String key = term.substring(0, colon).toLowerCase();
+            String value = term.substring(colon + 1);
+            if (value.isEmpty()) {
+                throw new InvalidQueryException("Missing value for query term '" + key + "'");
+            }
+            
+            switch (key) {
+            case "type":
+                if (value.length() != 1 || "TDER".indexOf(Character.toUpperCase(value.charAt(0))) < 0) {
+                    throw new InvalidQueryException("Invalid type: " + value + ". Please use T, D, E or R");
+                }
+                query.setType(value.charAt(0));
+                break;
+            case "done":
+                if (!value.equals("0") && !value.equals("1")) {
+                    throw new InvalidQueryException("Invalid done: " + value + ". Please use 0 or 1");
+                }
+                query.setDone(value.equals("1"));
+                break;
+            case "after":
+                query.setAfter(parseDateTime(value, "after"));
+                break;
+            case "before":
+                query.setBefore(parseDateTime(value, "before"));
+                break;
+            case "text":
+                query.addWord(value);
+                break;
+            case "sort":
+                SortKey sortKey = SortKey.fromString(value);
+                if (sortKey == null) {
+                    throw new InvalidQueryException("Invalid sort: " + value 
+                            + ". Please use by, from, description or done");
+                }
+                query.setSortKey(sortKey);
+                break;
+            case "limit":
+                try {
+                    query.setLimit(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    query.setLimit(-1);
+                }
+                if (query.getLimit() <= 0) {
+                    throw new InvalidQueryException("Invalid limit: " + value + ". Please use a positive number");
+                }
+                break;
+            default:
+                throw new InvalidQueryException("Unknown query term: " + key);
+            }
+        }
+        return query;
     }
     
     /**
@@ -0,0 +1,55 @@
+package kip.command;
+
+import kip.response.ErrorCode;
+
+/**
+ * The outcome of checking an instruction before it is run: either valid, or
+ * an error code and the message to show the user.
+ *
+ * <p>Expected user errors are reported through this result rather than an
+ * exception, so a script full of mistyped lines costs no stack traces.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Validator
+ */
+public final class ValidationResult {
+    /** The shared result of every valid instruction */
+    public static final ValidationResult VALID = new ValidationResult(null, null);
+
+    private final ErrorCode errorCode;
+    private final String message;
+
+    private ValidationResult(ErrorCode errorCode, String message) {
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+
+    /**
+     * Creates the result of an invalid instruction.
+     *
+     * @param errorCode Why the instruction is invalid
+     * @param message The message shown to the user
+     * @return The result
+     */
+    public static ValidationResult invalid(ErrorCode errorCode, String message) {
+        assert errorCode != null : "Error code must not be null";
+        assert message != null : "Error message must not be null";
+        return new ValidationResult(errorCode, message);
+    }
+
+    public boolean isValid() {
+        return errorCode == null;
+    }
+
+    /** Returns why the instruction is invalid, or null if it is valid */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /** Returns the message shown to the user, or null if the instruction is valid */
+    public String getMessage() {
+        return message;
+    }
+}
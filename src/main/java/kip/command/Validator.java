@@ -0,0 +1,121 @@
+package kip.command;
+
+import kip.exception.IncompleteInstructionException;
+import kip.exception.UnknownCommandException;
+import kip.response.ErrorCode;
+
+/**
+ * Checks an instruction for the mistakes users commonly make before it is run.
+ *
+ * <p>The checks cover unknown commands, missing descriptions and dates, task
+ * numbers that are not numbers or are out of range, and malformed dates. They
+ * return a {@link ValidationResult} instead of throwing, so invalid input is
+ * rejected without building an exception. Rarer mistakes, such as an invalid
+ * recurrence or query, are still reported by the exceptions in
+ * {@link kip.exception}.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see ValidationResult
+ */
+public class Validator {
+    /** Longest task number checked digit by digit; longer numbers are always out of range */
+    private static final int MAX_POSITION_DIGITS = 9;
+
+    /**
+     * Checks an instruction against the current size of the task list.
+     *
+     * @param cmd The command of the instruction, or null if the command word is unknown
+     * @param instruction The parsed instruction
+     * @param listSize The number of tasks in the list
+     * @return {@link ValidationResult#VALID}, or the first problem found
+     */
+    public static ValidationResult validate(Command cmd, Instruction instruction, int listSize) {
+        assert instruction != null : "Instruction must not be null";
+        if (cmd == null) {
+            return ValidationResult.invalid(ErrorCode.UNKNOWN_COMMAND,
+                    UnknownCommandException.messageFor(instruction.getCommand()));
+        }
+
+        switch (cmd) {
+        case MARK:
+        case UNMARK:
+        case DELETE:
+            int position = parsePosition(instruction.getTask());
+            if (position < 1 || position > listSize) {
+                return ValidationResult.invalid(ErrorCode.INVALID_TASK_NUMBER, "Invalid task number!");
+            }
+            return ValidationResult.VALID;
+
+        case TODO:
+            return requireDescription(instruction, "todo");
+
+        case DEADLINE:
+            ValidationResult deadlineResult = requireDescription(instruction, "deadline");
+            if (!deadlineResult.isValid()) {
+                return deadlineResult;
+            }
+            if (instruction.getDatetimes().length == 0) {
+                return incomplete("deadline", "date and time");
+            }
+            return checkDate(instruction.getDatetimes()[0], "by");
+
+        case EVENT:
+            ValidationResult eventResult = requireDescription(instruction, "event");
+            if (!eventResult.isValid()) {
+                return eventResult;
+            }
+            if (instruction.getDatetimes().length < 2) {
+                return incomplete("event", "date and time");
+            }
+            ValidationResult fromResult = checkDate(instruction.getDatetimes()[0], "from");
+            return fromResult.isValid() ? checkDate(instruction.getDatetimes()[1], "to") : fromResult;
+
+        case IMPORT:
+        case EXPORT:
+            return instruction.getArguments().isEmpty()
+                    ? incomplete(cmd.getCommandString(), "file")
+                    : ValidationResult.VALID;
+
+        default:
+            return ValidationResult.VALID;
+        }
+    }
+
+    /**
+     * Reads a 1-based task number without throwing.
+     *
+     * @param text The text typed after the command
+     * @return The task number, or -1 if the text is not a positive decimal number
+     *         small enough to be a position in the list
+     */
+    public static int parsePosition(String text) {
+        if (text == null || text.isEmpty() || text.length() > MAX_POSITION_DIGITS) {
+            return -1;
+        }
+        int position = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            position = position * 10 + (c - '0');
+        }
+        return position;
+    }
+
+    private static ValidationResult requireDescription(Instruction instruction, String command) {
+        return instruction.getTask().isEmpty() ? incomplete(command, "task description") : ValidationResult.VALID;
+    }
+
+    private static ValidationResult incomplete(String command, String missingField) {
+        return ValidationResult.invalid(ErrorCode.INCOMPLETE_INSTRUCTION,
+                IncompleteInstructionException.messageFor(command, missingField));
+    }
+
+    private static ValidationResult checkDate(String dateString, String fieldName) {
+        String message = Parser.checkDateTime(dateString, fieldName);
+        return message == null ? ValidationResult.VALID : ValidationResult.invalid(ErrorCode.INVALID_DATE, message);
+    }
+}
@@ -0,0 +1,65 @@
+package kip.dedupe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.task.Task;
+
+/**
+ * Hash index from task content to the tasks with that content, kept up to
+ * date from mutation events so that a new task can be checked for
+ * duplicates in constant time.
+ *
+ * <p>Several tasks can share a key when duplicates were allowed in or
+ * loaded from storage; they are kept in the order they were added.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TaskKey
+ * @see DuplicatePolicy
+ */
+public class DuplicateIndex implements TaskListener {
+    private final Map<TaskKey, List<Task>> tasksByKey = new HashMap<>();
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        tasksByKey.computeIfAbsent(TaskKey.of(event.getTask()), k -> new ArrayList<>(1)).add(event.getTask());
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        TaskKey key = TaskKey.of(event.getTask());
+        List<Task> tasks = tasksByKey.get(key);
+        if (tasks != null) {
+            tasks.remove(event.getTask());
+            if (tasks.isEmpty()) {
+                tasksByKey.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finds a task in the list with the same content as the candidate.
+     *
+     * @param candidate The task about to be added
+     * @return The earliest added task with the same content, or null if there is none
+     */
+    public Task findDuplicate(Task candidate) {
+        List<Task> tasks = tasksByKey.get(TaskKey.of(candidate));
+        return tasks == null ? null : tasks.get(0);
+    }
+
+    /**
+     * Returns the number of distinct task contents in the list.
+     *
+     * @return The number of keys
+     */
+    public int getKeyCount() {
+        return tasksByKey.size();
+    }
+}
@@ -0,0 +1,44 @@
+package kip.dedupe;
+
+/**
+ * What {@link kip.KipService} does when a new task duplicates one already in the list.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see DuplicateIndex
+ */
+public enum DuplicatePolicy {
+    /** Refuse to add the task and report an error */
+    REJECT("reject"),
+    /** Keep the existing task and give it the new task's tags and priority */
+    MERGE("merge"),
+    /** Add the task anyway */
+    ALLOW("allow");
+
+    /** The string representation of the policy */
+    private final String policyString;
+
+    DuplicatePolicy(String policyString) {
+        this.policyString = policyString;
+    }
+
+    public String getPolicyString() {
+        return policyString;
+    }
+
+    /**
+     * Converts a string to its corresponding policy, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The policy, or null if no match is found
+     */
+    public static DuplicatePolicy fromString(String text) {
+        for (DuplicatePolicy policy : values()) {
+            if (policy.policyString.equalsIgnoreCase(text)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package kip.dedupe;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * The content of a task that decides whether two tasks are duplicates: its
+ * type, its normalised description and its dates.
+ *
+ * <p>Descriptions are compared ignoring case and runs of whitespace. Tags,
+ * priority and completion status are not part of the key, so a re-sent task
+ * that only differs in those is still a duplicate. The hash code is computed
+ * once, making a key cheap to look up in a hash index.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see DuplicateIndex
+ */
+public final class TaskKey {
+    private final Class<? extends Task> type;
+    private final String description;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final String recurrence;
+    private final int hash;
+
+    private TaskKey(Class<? extends Task> type, String description, LocalDateTime start, LocalDateTime end,
+            String recurrence) {
+        this.type = type;
+        this.description = description;
+        this.start = start;
+        this.end = end;
+        this.recurrence = recurrence;
+        this.hash = Objects.hash(type, description, start, end, recurrence);
+    }
+
+    /**
+     * Builds the key of a task.
+     *
+     * @param task The task
+     * @return The key
+     */
+    public static TaskKey of(Task task) {
+        assert task != null : "Task must not be null";
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        String recurrence = null;
+        if (task instanceof Deadline) {
+            start = ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            start = ((Event) task).getFrom();
+            end = ((Event) task).getTo();
+        } else if (task instanceof RecurringTask) {
+            RecurringTask recurring = (RecurringTask) task;
+            start = recurring.getStart();
+            end = recurring.isEvent() ? recurring.getEnd() : null;
+            recurrence = recurring.getRecurrence().toRule();
+        }
+        return new TaskKey(task.getClass(), normalize(task.getDescription()), start, end, recurrence);
+    }
+
+    /**
+     * Normalises a description for comparison: lower case, trimmed and with
+     * every run of whitespace replaced by a single space.
+     *
+     * @param description The description
+     * @return The normalised description
+     */
+    static String normalize(String description) {
+        return description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaskKey)) {
+            return false;
+        }
+        TaskKey key = (TaskKey) other;
+        return hash == key.hash && type == key.type && description.equals(key.description)
+                && Objects.equals(start, key.start) && Objects.equals(end, key.end)
+                && Objects.equals(recurrence, key.recurrence);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
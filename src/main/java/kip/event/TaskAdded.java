@@ -0,0 +1,17 @@
+package kip.event;
+
+import kip.task.Task;
+
+/**
+ * Published when a task is added to the list, including tasks loaded from storage.
+ */
+public class TaskAdded extends TaskEvent {
+    public TaskAdded(long sequence, Task task, int index) {
+        super(sequence, task, index);
+    }
+
+    @Override
+    public void dispatchTo(TaskListener listener) {
+        listener.onTaskAdded(this);
+    }
+}
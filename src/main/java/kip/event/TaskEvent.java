@@ -0,0 +1,98 @@
+package kip.event;
+
+import kip.task.Task;
+
+/**
+ * Base class for all mutation events published by {@link kip.KipService}.
+ * 
+ * <p>Every event carries a global sequence number that increases by one for
+ * each published mutation, the ID of the affected task, the task's own version
+ * after the change and the position of the task in the list at the time of
+ * the change. Subscribers can use these to keep derived state (indexes,
+ * counters, views) up to date without rescanning the task list.</p>
+ * 
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TaskListener
+ * @see TaskEventBus
+ */
+public abstract class TaskEvent {
+    /** Global sequence number of this event */
+    private final long sequence;
+    /** The task affected by this event */
+    private final Task task;
+    /** Position of the task in the list when the event happened (0-based) */
+    private final int index;
+    /** Version of the task after the change */
+    private final int taskVersion;
+
+    /**
+     * Constructs a new event for the specified task.
+     * 
+     * @param sequence The global sequence number of the event
+     * @param task The affected task
+     * @param index The 0-based position of the task in the list
+     */
+    protected TaskEvent(long sequence, Task task, int index) {
+        // Assert that the event refers to a real task
+        assert task != null : "Event task must not be null";
+        assert index >= 0 : "Event index must not be negative";
+        this.sequence = sequence;
+        this.task = task;
+        this.index = index;
+        this.taskVersion = task.getVersion();
+    }
+
+    /**
+     * Returns the global sequence number of this event.
+     * 
+     * @return The sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the affected task.
+     * 
+     * @return The task
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the ID of the affected task.
+     * 
+     * @return The task ID
+     */
+    public int getTaskId() {
+        return task.getId();
+    }
+
+    /**
+     * Returns the 0-based position of the task in the list when the event happened.
+     * 
+     * @return The task position
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the version of the task after the change.
+     * 
+     * @return The task version
+     */
+    public int getTaskVersion() {
+        return taskVersion;
+    }
+
+    /**
+     * Calls the listener method matching the concrete type of this event.
+     * 
+     * @param listener The listener to notify
+     */
+    public abstract void dispatchTo(TaskListener listener);
+}
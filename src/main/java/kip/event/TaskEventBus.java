@@ -0,0 +1,150 @@
+package kip.event;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Publishes task mutation events through a fixed-size, lock-free ring buffer.
+ *
+ * <p>Each published event is stored in the ring at the slot given by its
+ * sequence number and then handed synchronously to every registered
+ * {@link TaskListener}. Consumers that prefer to pull events at their own
+ * pace (for example a background replicator) can instead remember the last
+ * sequence they have seen and call {@link #drainTo(long, TaskListener)}.</p>
+ *
+ * <p>The ring never blocks the publisher: once it is full the oldest events
+ * are overwritten. A pulling consumer that falls more than {@link #getCapacity()}
+ * events behind is told so and has to rebuild its state from the task list.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TaskEvent
+ * @see TaskListener
+ */
+public class TaskEventBus {
+    /** Default number of events kept in the ring */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final AtomicReferenceArray<TaskEvent> ring;
+    private final int mask;
+    /** Sequence number of the last published event, 0 if none */
+    private final AtomicLong cursor = new AtomicLong(0);
+    private final CopyOnWriteArrayList<TaskListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs an event bus with the default ring capacity.
+     */
+    public TaskEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an event bus whose ring holds at least the specified number of events.
+     *
+     * @param capacity The minimum ring capacity, rounded up to a power of two
+     */
+    public TaskEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the sequence number the next published event must carry.
+     *
+     * <p>Nothing is reserved: the number only moves on once the event is
+     * published, so a second caller asking before then gets the same number.
+     * Callers must therefore build and publish each event under one lock, as
+     * {@link kip.KipService} does.</p>
+     *
+     * @return The sequence number of the next event
+     */
+    public long nextSequence() {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * Stores the event in the ring and notifies all registered listeners.
+     *
+     * <p>Events must be published in sequence order, which {@link kip.KipService}
+     * guarantees by performing all mutations on one thread at a time.</p>
+     *
+     * @param event The event to publish
+     */
+    public void publish(TaskEvent event) {
+        // Assert that events are published strictly in order
+        assert event.getSequence() == cursor.get() + 1 : "Events must be published in sequence order";
+        ring.set((int) (event.getSequence() & mask), event);
+        cursor.lazySet(event.getSequence());
+        for (TaskListener listener : listeners) {
+            event.dispatchTo(listener);
+        }
+    }
+
+    /**
+     * Registers a listener that is called for every subsequently published event.
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(TaskListener listener) {
+        assert listener != null : "Listener must not be null";
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Hands every event published after the given sequence number to the listener.
+     *
+     * @param lastSeen The sequence number of the last event the caller has processed
+     * @param listener The listener to receive the missed events
+     * @return The sequence number of the last event handed over
+     * @throws IllegalStateException if some of the requested events have already
+     *         been overwritten in the ring
+     */
+    public long drainTo(long lastSeen, TaskListener listener) {
+        long last = cursor.get();
+        for (long seq = lastSeen + 1; seq <= last; seq++) {
+            TaskEvent event = ring.get((int) (seq & mask));
+            if (event == null || event.getSequence() != seq) {
+                throw new IllegalStateException("Event " + seq + " is no longer in the ring; "
+                        + "subscriber must rebuild its state");
+            }
+            event.dispatchTo(listener);
+        }
+        return last;
+    }
+
+    /**
+     * Returns the sequence number of the last published event.
+     *
+     * @return The last sequence number, 0 if nothing has been published yet
+     */
+    public long getLastSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * Returns the number of events the ring can hold.
+     *
+     * @return The ring capacity
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,45 @@
+package kip.event;
+
+import java.util.Set;
+import kip.task.Priority;
+import kip.task.Task;
+
+/**
+ * Published when the tags or priority of a task in the list change.
+ */
+public class TaskLabelsChanged extends TaskEvent {
+    /** Tags of the task before the change */
+    private final Set<String> previousTags;
+    /** Priority of the task before the change */
+    private final Priority previousPriority;
+
+    public TaskLabelsChanged(long sequence, Task task, int index, Set<String> previousTags,
+            Priority previousPriority) {
+        super(sequence, task, index);
+        this.previousTags = Set.copyOf(previousTags);
+        this.previousPriority = previousPriority;
+    }
+
+    /**
+     * Returns the tags of the task before the change.
+     * 
+     * @return The previous tags
+     */
+    public Set<String> getPreviousTags() {
+        return previousTags;
+    }
+
+    /**
+     * Returns the priority of the task before the change.
+     * 
+     * @return The previous priority
+     */
+    public Priority getPreviousPriority() {
+        return previousPriority;
+    }
+
+    @Override
+    public void dispatchTo(TaskListener listener) {
+        listener.onTaskLabelsChanged(this);
+    }
+}
@@ -0,0 +1,47 @@
+package kip.event;
+
+/**
+ * Receives mutation events from {@link kip.KipService}.
+ * 
+ * <p>All methods have empty default implementations so that subscribers only
+ * need to override the events they care about. Listeners are called on the
+ * thread that performed the mutation and should return quickly.</p>
+ * 
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TaskEvent
+ */
+public interface TaskListener {
+    /**
+     * Called after a task has been added to the list.
+     * 
+     * @param event The event describing the added task
+     */
+    default void onTaskAdded(TaskAdded event) {
+    }
+
+    /**
+     * Called after a task has been removed from the list.
+     * 
+     * @param event The event describing the removed task
+     */
+    default void onTaskRemoved(TaskRemoved event) {
+    }
+
+    /**
+     * Called after a task has been marked as done or undone.
+     * 
+     * @param event The event describing the status change
+     */
+    default void onTaskStatusChanged(TaskStatusChanged event) {
+    }
+
+    /**
+     * Called after the tags or priority of a task have changed.
+     * 
+     * @param event The event describing the change
+     */
+    default void onTaskLabelsChanged(TaskLabelsChanged event) {
+    }
+}
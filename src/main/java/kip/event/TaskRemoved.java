@@ -0,0 +1,17 @@
+package kip.event;
+
+import kip.task.Task;
+
+/**
+ * Published when a task is removed from the list.
+ */
+public class TaskRemoved extends TaskEvent {
+    public TaskRemoved(long sequence, Task task, int index) {
+        super(sequence, task, index);
+    }
+
+    @Override
+    public void dispatchTo(TaskListener listener) {
+        listener.onTaskRemoved(this);
+    }
+}
@@ -0,0 +1,30 @@
+package kip.event;
+
+import kip.task.Task;
+
+/**
+ * Published when a task is marked as done or undone.
+ */
+public class TaskStatusChanged extends TaskEvent {
+    /** Completion status of the task after the change */
+    private final boolean isDone;
+
+    public TaskStatusChanged(long sequence, Task task, int index) {
+        super(sequence, task, index);
+        this.isDone = task.isDone();
+    }
+
+    /**
+     * Returns the completion status of the task after the change.
+     * 
+     * @return true if the task is now done, false otherwise
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    @Override
+    public void dispatchTo(TaskListener listener) {
+        listener.onTaskStatusChanged(this);
+    }
+}
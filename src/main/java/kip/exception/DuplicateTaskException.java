@@ -0,0 +1,21 @@
+package kip.exception;
+
+public class DuplicateTaskException extends Exception {
+    private final int position;
+    
+    /**
+     * Constructs a new DuplicateTaskException for a task that is already in the list.
+     * 
+     * @param position The 1-based position of the existing task
+     * @param existing The existing task, as displayed
+     */
+    public DuplicateTaskException(int position, String existing) {
+        // Rejecting a duplicate is expected behaviour, not a bug, so skip the stack trace
+        super("This task is already in your list:\n" + position + ". " + existing, null, false, false);
+        this.position = position;
+    }
+    
+    public int getPosition() {
+        return position;
+    }
+}
@@ -4,12 +4,30 @@ public class IncompleteInstructionException extends Exception {
     private final String command;
     private final String missingField;
     
+    /**
+     * Constructs a new IncompleteInstructionException. Like the other user
+     * errors, it records no stack trace.
+     * 
+     * @param command The command word
+     * @param missingField What the instruction is missing
+     */
     public IncompleteInstructionException(String command, String missingField) {
-        super("Incomplete instruction for command '" + command + "': missing " + missingField);
+        super(messageFor(command, missingField), null, false, false);
         this.command = command;
         this.missingField = missingField;
     }
     
+    /**
+     * Returns the message reported for an instruction missing a field.
+     * 
+     * @param command The command word
+     * @param missingField What the instruction is missing
+     * @return The message
+     */
+    public static String messageFor(String command, String missingField) {
+        return "Incomplete instruction for command '" + command + "': missing " + missingField;
+    }
+    
     public String getCommand() {
         return command;
     }
@@ -5,10 +5,12 @@ public class InvalidDateException extends Exception {
     /**
      * Constructs a new InvalidDateException with the specified detail message.
      * 
+     * <p>Invalid dates are everyday user mistakes, so no stack trace is recorded.</p>
+     * 
      * @param message The detail message explaining the date parsing error
      */
     public InvalidDateException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     /**
@@ -18,6 +20,6 @@ public class InvalidDateException extends Exception {
      * @param cause The cause of the exception (typically a DateTimeParseException)
      */
     public InvalidDateException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -0,0 +1,15 @@
+package kip.exception;
+
+public class InvalidQueryException extends Exception {
+    
+    /**
+     * Constructs a new InvalidQueryException with the specified detail message.
+     * 
+     * <p>The exception only reports a mistyped query, so it records no stack trace.</p>
+     * 
+     * @param message The detail message explaining what is wrong with the query
+     */
+    public InvalidQueryException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -3,8 +3,24 @@ package kip.exception;
 public class UnknownCommandException extends Exception {
     private final String command;
 
+    /**
+     * Constructs a new UnknownCommandException. No stack trace is recorded,
+     * since the exception reports a typing mistake rather than a bug.
+     * 
+     * @param command The command word that was not recognised
+     */
     public UnknownCommandException(String command) {
-        super(command + " is not a valid command.");
+        super(messageFor(command), null, false, false);
         this.command = command;
     }
+
+    /**
+     * Returns the message reported for an unrecognised command word.
+     * 
+     * @param command The command word
+     * @return The message
+     */
+    public static String messageFor(String command) {
+        return command + " is not a valid command.";
+    }
 }
@@ -0,0 +1,396 @@
+package kip.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import kip.command.Command;
+import kip.response.ErrorCode;
+
+/**
+ * Counters and latency histograms of the commands run by one
+ * {@link kip.KipService}, per {@link Command} and per {@link Phase}.
+ *
+ * <p>Every command is counted, with its errors and the bytes it wrote to the
+ * task file. Timing a command costs more than the cheapest commands take to
+ * run, so only a sample of commands is timed: one in
+ * {@value #DEFAULT_SAMPLE_INTERVAL} on average, at random gaps so that the
+ * sample does not follow a repeating pattern in the input. Sampled latencies go
+ * into a {@link LatencyHistogram} per command and phase, created the first
+ * time the command is sampled.</p>
+ *
+ * <p>Commands are recorded by one thread at a time, which is how
+ * {@link kip.KipService#execute(String)} runs them, so counters are updated
+ * without atomic read-modify-write instructions. Any number of threads, such
+ * as a JMX client's, can read the metrics at the same time without taking a
+ * lock.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see CommandMetricsMXBean
+ */
+public class CommandMetrics implements CommandMetricsMXBean {
+    /** Average number of commands per timed command */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+    /** Name given to the row of input that does not start with a command word */
+    public static final String UNKNOWN = "unknown";
+    /** Name accepted in place of a phase for the whole command */
+    public static final String TOTAL = "total";
+
+    private static final Command[] COMMANDS = Command.values();
+    private static final Phase[] PHASES = Phase.values();
+    /** Row of input that does not start with a command word */
+    private static final int UNKNOWN_ROW = COMMANDS.length;
+    /** Position of the whole command's latencies after the phases' */
+    private static final int TOTAL_COLUMN = PHASES.length;
+
+    private final int sampleInterval;
+    /** Per row, the histograms of each phase and then of the whole command; null until first sampled */
+    private final AtomicReferenceArray<LatencyHistogram[]> latencies = new AtomicReferenceArray<>(COMMANDS.length + 1);
+    private final AtomicLongArray counts = new AtomicLongArray(COMMANDS.length + 1);
+    private final AtomicLongArray errors = new AtomicLongArray(COMMANDS.length + 1);
+    private final AtomicLongArray bytesWritten = new AtomicLongArray(COMMANDS.length + 1);
+    private final AtomicLongArray errorCodeCounts = new AtomicLongArray(ErrorCode.values().length);
+    /** State of the xorshift generator choosing the gaps between samples */
+    private long random = 0x9E3779B97F4A7C15L;
+    /** Number of commands left until the next sampled one, the next included */
+    private int untilSample = 1;
+    private ObjectName objectName;
+
+    /**
+     * Constructs metrics that time one command in {@value #DEFAULT_SAMPLE_INTERVAL} on average.
+     */
+    public CommandMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Constructs metrics that time one command in the given number on average.
+     *
+     * @param sampleInterval The average number of commands per timed command; 1 times every command
+     */
+    public CommandMetrics(int sampleInterval) {
+        assert sampleInterval >= 1 : "Sample interval must be at least 1";
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Returns the average number of commands per timed command.
+     *
+     * @return The sample interval
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Returns whether the command about to run should be timed.
+     *
+     * <p>Called by the recording thread once before every command.</p>
+     *
+     * @return true if the command should be timed and passed to
+     *         {@link #recordLatencies(Command, long, long, long, long)}
+     */
+    public boolean isSampled() {
+        if (--untilSample > 0) {
+            return false;
+        }
+        if (sampleInterval == 1) {
+            untilSample = 1;
+        } else {
+            random ^= random << 13;
+            random ^= random >>> 7;
+            random ^= random << 17;
+            // Uniform between 1 and twice the interval, less one, so the mean is the interval
+            untilSample = 1 + (int) Long.remainderUnsigned(random, 2L * sampleInterval - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Counts a command that has run.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @param errorCode Why the command failed, or null if it succeeded
+     * @param bytes The bytes the command wrote to the task file
+     */
+    public void record(Command command, ErrorCode errorCode, long bytes) {
+        int row = rowOf(command);
+        increment(counts, row, 1);
+        if (errorCode != null) {
+            increment(errors, row, 1);
+            increment(errorCodeCounts, errorCode.ordinal(), 1);
+        }
+        if (bytes > 0) {
+            increment(bytesWritten, row, bytes);
+        }
+    }
+
+    /**
+     * Records the time a sampled command spent in each phase.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @param parseNanos The time spent parsing, in nanoseconds
+     * @param dispatchNanos The time spent dispatching, or a negative number if the command was not parsed
+     * @param executeNanos The time spent executing, or a negative number if the command did not run
+     * @param persistNanos The time spent writing the task file, or a negative number if it was not written
+     */
+    public void recordLatencies(Command command, long parseNanos, long dispatchNanos, long executeNanos,
+            long persistNanos) {
+        LatencyHistogram[] row = rowHistograms(rowOf(command));
+        long total = 0;
+        long[] phaseNanos = {parseNanos, dispatchNanos, executeNanos, persistNanos};
+        for (int i = 0; i < phaseNanos.length; i++) {
+            if (phaseNanos[i] >= 0) {
+                row[i].record(phaseNanos[i]);
+                total += phaseNanos[i];
+            }
+        }
+        row[TOTAL_COLUMN].record(total);
+    }
+
+    /**
+     * Returns the number of times a command has run.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @return The number of runs
+     */
+    public long getCount(Command command) {
+        return counts.get(rowOf(command));
+    }
+
+    /**
+     * Returns the number of times a command has failed.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @return The number of failures
+     */
+    public long getErrorCount(Command command) {
+        return errors.get(rowOf(command));
+    }
+
+    /**
+     * Returns the number of commands that failed for a reason.
+     *
+     * @param errorCode The reason
+     * @return The number of failures
+     */
+    public long getErrorCount(ErrorCode errorCode) {
+        return errorCodeCounts.get(errorCode.ordinal());
+    }
+
+    /**
+     * Returns the number of bytes a command has written to the task file.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @return The bytes written
+     */
+    public long getBytesWritten(Command command) {
+        return bytesWritten.get(rowOf(command));
+    }
+
+    /**
+     * Returns the sampled latencies of one phase of a command.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @param phase The phase, or null for the whole command
+     * @return The latencies in nanoseconds, or null if the command was never sampled
+     */
+    public LatencyHistogram getLatencies(Command command, Phase phase) {
+        LatencyHistogram[] row = latencies.get(rowOf(command));
+        return row == null ? null : row[phase == null ? TOTAL_COLUMN : phase.ordinal()];
+    }
+
+    @Override
+    public long getCommandCount() {
+        return sum(counts);
+    }
+
+    @Override
+    public long getErrorCount() {
+        return sum(errors);
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return sum(bytesWritten);
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        return byCommand(counts);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        return byCommand(errors);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCodeCounts() {
+        Map<String, Long> byCode = new LinkedHashMap<>();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            long count = errorCodeCounts.get(errorCode.ordinal());
+            if (count > 0) {
+                byCode.put(errorCode.getCodeString(), count);
+            }
+        }
+        return byCode;
+    }
+
+    @Override
+    public Map<String, Long> getBytesWrittenByCommand() {
+        return byCommand(bytesWritten);
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return percentileByCommand(50);
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return percentileByCommand(99);
+    }
+
+    @Override
+    public Map<String, Double> getP999Micros() {
+        return percentileByCommand(99.9);
+    }
+
+    @Override
+    public double getLatencyMicros(String command, String phase, double percentile) {
+        Command knownCommand = UNKNOWN.equalsIgnoreCase(command) ? null : Command.fromString(command);
+        Phase knownPhase = TOTAL.equalsIgnoreCase(phase) ? null : Phase.fromString(phase);
+        if ((knownCommand == null && !UNKNOWN.equalsIgnoreCase(command))
+                || (knownPhase == null && !TOTAL.equalsIgnoreCase(phase))) {
+            throw new IllegalArgumentException("Unknown command or phase: " + command + ", " + phase);
+        }
+        LatencyHistogram histogram = getLatencies(knownCommand, knownPhase);
+        return histogram == null ? 0 : histogram.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    /**
+     * Forgets everything recorded.
+     *
+     * <p>Commands recorded while the reset runs may be partly forgotten.</p>
+     */
+    @Override
+    public void reset() {
+        for (int row = 0; row <= UNKNOWN_ROW; row++) {
+            counts.set(row, 0);
+            errors.set(row, 0);
+            bytesWritten.set(row, 0);
+            latencies.set(row, null);
+        }
+        for (int i = 0; i < errorCodeCounts.length(); i++) {
+            errorCodeCounts.set(i, 0);
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, so JMX clients can read them.
+     *
+     * @param name Identifies the task list among those in the same process, e.g. its file
+     * @return true if the metrics were registered, false if other metrics
+     *         already have the name or the server refused them
+     */
+    public synchronized boolean register(String name) {
+        assert objectName == null : "Metrics must only be registered once";
+        try {
+            ObjectName newName = new ObjectName("kip:type=Metrics,list=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if they were registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Already gone, which is all that was asked
+        }
+        objectName = null;
+    }
+
+    /**
+     * Returns the name of a row, as used in the maps given to JMX clients.
+     *
+     * @param command The command, or null for input that does not start with a command word
+     * @return The command word, or {@value #UNKNOWN}
+     */
+    public static String nameOf(Command command) {
+        return command == null ? UNKNOWN : command.getCommandString();
+    }
+
+    private static int rowOf(Command command) {
+        return command == null ? UNKNOWN_ROW : command.ordinal();
+    }
+
+    private static Command commandOf(int row) {
+        return row == UNKNOWN_ROW ? null : COMMANDS[row];
+    }
+
+    private LatencyHistogram[] rowHistograms(int row) {
+        LatencyHistogram[] histograms = latencies.get(row);
+        if (histograms == null) {
+            histograms = new LatencyHistogram[PHASES.length + 1];
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+            latencies.set(row, histograms);
+        }
+        return histograms;
+    }
+
+    /**
+     * Adds to a counter that only the recording thread writes.
+     */
+    private static void increment(AtomicLongArray counters, int index, long amount) {
+        counters.lazySet(index, counters.get(index) + amount);
+    }
+
+    private static long sum(AtomicLongArray counters) {
+        long total = 0;
+        for (int i = 0; i < counters.length(); i++) {
+            total += counters.get(i);
+        }
+        return total;
+    }
+
+    private Map<String, Long> byCommand(AtomicLongArray counters) {
+        Map<String, Long> byCommand = new LinkedHashMap<>();
+        for (int row = 0; row <= UNKNOWN_ROW; row++) {
+            if (counts.get(row) > 0) {
+                byCommand.put(nameOf(commandOf(row)), counters.get(row));
+            }
+        }
+        return byCommand;
+    }
+
+    private Map<String, Double> percentileByCommand(double percentile) {
+        Map<String, Double> byCommand = new LinkedHashMap<>();
+        for (int row = 0; row <= UNKNOWN_ROW; row++) {
+            LatencyHistogram[] histograms = latencies.get(row);
+            if (histograms != null) {
+                byCommand.put(nameOf(commandOf(row)), histograms[TOTAL_COLUMN].getValueAtPercentile(percentile) / 1e3);
+            }
+        }
+        return byCommand;
+    }
+}
@@ -0,0 +1,60 @@
+package kip.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link CommandMetrics}, shown in JConsole and
+ * other JMX clients under <code>kip:type=Metrics</code>.
+ *
+ * <p>Maps are keyed by command word, with <code>unknown</code> for input
+ * that does not start with one, and only hold the commands that have run.
+ * Latencies are in microseconds and come from the sampled commands.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public interface CommandMetricsMXBean {
+    /** Returns the number of commands run */
+    long getCommandCount();
+
+    /** Returns the number of commands that failed */
+    long getErrorCount();
+
+    /** Returns the number of bytes written to the task file by commands */
+    long getBytesWritten();
+
+    /** Returns the number of commands run, per command */
+    Map<String, Long> getCommandCounts();
+
+    /** Returns the number of commands that failed, per command */
+    Map<String, Long> getErrorCounts();
+
+    /** Returns the number of commands that failed, per error code */
+    Map<String, Long> getErrorCodeCounts();
+
+    /** Returns the number of bytes written to the task file, per command */
+    Map<String, Long> getBytesWrittenByCommand();
+
+    /** Returns the median latency, per command */
+    Map<String, Double> getP50Micros();
+
+    /** Returns the 99th percentile latency, per command */
+    Map<String, Double> getP99Micros();
+
+    /** Returns the 99.9th percentile latency, per command */
+    Map<String, Double> getP999Micros();
+
+    /**
+     * Returns a percentile of one phase of one command.
+     *
+     * @param command The command word, or <code>unknown</code>
+     * @param phase The phase, or <code>total</code> for the whole command
+     * @param percentile The percentage, from 0 to 100
+     * @return The latency in microseconds, or 0 if none was sampled
+     */
+    double getLatencyMicros(String command, String phase, double percentile);
+
+    /** Forgets everything recorded */
+    void reset();
+}
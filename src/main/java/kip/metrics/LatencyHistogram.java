@@ -0,0 +1,136 @@
+package kip.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets whose width grows with the value, so that any
+ * percentile can be read back to within about 3% in constant memory.
+ *
+ * <p>Values below {@value #SUB_BUCKET_COUNT} fall in buckets of width one.
+ * Above that, every power of two is split into {@value #SUB_BUCKET_COUNT}
+ * equal buckets, which covers the whole range of a <code>long</code> in under
+ * 2,000 counters, about 15 KB, however many values are recorded. A percentile
+ * is reported as the highest value of the bucket it falls in, so it is never
+ * lower than the exact answer.</p>
+ *
+ * <p>Recording is lock-free and may happen on several threads while another
+ * thread reads percentiles; a reader then sees each recorded value either
+ * fully or not at all in the counts, though the counts and the total may be
+ * read a few values apart.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public class LatencyHistogram {
+    /** Number of bits of a value kept exactly within its power of two */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value.
+     *
+     * @param value The latency, in any unit; negative values are recorded as zero
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(recorded));
+        count.incrementAndGet();
+        total.addAndGet(recorded);
+        max.accumulateAndGet(recorded, Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return The number of values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the exact mean of the values recorded.
+     *
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) total.get() / recorded;
+    }
+
+    /**
+     * Returns the exact largest value recorded.
+     *
+     * @return The largest value, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a value that the given percentage of recorded values do not exceed.
+     *
+     * @param percentile The percentage, from 0 to 100, e.g. 99.9
+     * @return The highest value of the bucket holding that percentile, capped
+     *         at the largest value recorded, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile must be between 0 and 100";
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            recorded += counts.get(i);
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every value recorded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
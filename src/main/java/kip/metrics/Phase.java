@@ -0,0 +1,46 @@
+package kip.metrics;
+
+/**
+ * The stages a command goes through in {@link kip.KipService#execute(String)}.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see CommandMetrics
+ */
+public enum Phase {
+    /** Splitting the input into an instruction and finding its command */
+    PARSE("parse"),
+    /** Validating the instruction and deciding whether the command may run */
+    DISPATCH("dispatch"),
+    /** Running the command, apart from writing the task file */
+    EXECUTE("execute"),
+    /** Writing the task file */
+    PERSIST("persist");
+
+    /** The string representation of the phase */
+    private final String phaseString;
+
+    Phase(String phaseString) {
+        this.phaseString = phaseString;
+    }
+
+    public String getPhaseString() {
+        return phaseString;
+    }
+
+    /**
+     * Converts a string to its corresponding phase, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The phase, or null if no match is found
+     */
+    public static Phase fromString(String text) {
+        for (Phase phase : values()) {
+            if (phase.phaseString.equalsIgnoreCase(text)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+}
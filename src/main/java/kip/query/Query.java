@@ -0,0 +1,283 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+
+/**
+ * Filter criteria for listing tasks, as parsed from a query such as
+ * {@code type:D done:0 before:2025-12-01 text:report sort:by limit:5} or
+ * {@code +work +urgent -done}.
+ *
+ * <p>All criteria are optional and combined with AND. A query only describes
+ * what to find; {@link QueryPlanner} decides how to find it.</p>
+ *
+ * <p>Date criteria apply to the due time of deadlines, the time span of
+ * events and the occurrences of recurring tasks. To-dos never match a query
+ * with a date criterion.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see QueryPlanner
+ * @see kip.command.Parser#parseQuery(String)
+ */
+public class Query {
+    /** Earliest date used when a query has no lower date bound */
+    static final LocalDateTime MIN_DATE = LocalDateTime.of(0, 1, 1, 0, 0);
+    /** Latest date used when a query has no upper date bound */
+    static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private Character type;
+    private Boolean done;
+    private LocalDateTime after;
+    private LocalDateTime before;
+    private final List<String> words = new ArrayList<>();
+    private final List<String> requiredTags = new ArrayList<>();
+    private final List<String> excludedTags = new ArrayList<>();
+    private Priority priority;
+    private SortKey sortKey;
+    private int limit;
+
+    /** Returns the type code to match (T, D, E or R), or null to match any type */
+    public Character getType() {
+        return type;
+    }
+
+    public void setType(Character type) {
+        this.type = type == null ? null : Character.toUpperCase(type);
+    }
+
+    /** Returns the completion status to match, or null to match both */
+    public Boolean getDone() {
+        return done;
+    }
+
+    public void setDone(Boolean done) {
+        this.done = done;
+    }
+
+    /** Returns the inclusive lower date bound, or null if there is none */
+    public LocalDateTime getAfter() {
+        return after;
+    }
+
+    public void setAfter(LocalDateTime after) {
+        this.after = after;
+    }
+
+    /** Returns the exclusive upper date bound, or null if there is none */
+    public LocalDateTime getBefore() {
+        return before;
+    }
+
+    public void setBefore(LocalDateTime before) {
+        this.before = before;
+    }
+
+    /** Returns the lower-case words that must all appear in the description */
+    public List<String> getWords() {
+        return Collections.unmodifiableList(words);
+    }
+
+    public void addWord(String word) {
+        words.addAll(tokenize(word));
+    }
+
+    /** Returns the lower-case tags every matching task must carry */
+    public List<String> getRequiredTags() {
+        return Collections.unmodifiableList(requiredTags);
+    }
+
+    /**
+     * Requires matching tasks to carry a tag. The reserved name
+     * <code>done</code> instead requires tasks to be completed.
+     *
+     * @param tag The tag, without the leading +
+     */
+    public void requireTag(String tag) {
+        if (tag.equalsIgnoreCase("done")) {
+            setDone(true);
+        } else {
+            requiredTags.add(tag.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** Returns the lower-case tags no matching task may carry */
+    public List<String> getExcludedTags() {
+        return Collections.unmodifiableList(excludedTags);
+    }
+
+    /**
+     * Excludes tasks carrying a tag. The reserved name <code>done</code>
+     * instead excludes completed tasks.
+     *
+     * @param tag The tag, without the leading -
+     */
+    public void excludeTag(String tag) {
+        if (tag.equalsIgnoreCase("done")) {
+            setDone(false);
+        } else {
+            excludedTags.add(tag.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** Returns the priority to match, or null to match any priority */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    /** Returns the key to sort results by, or null to keep the access path's order */
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public void setSortKey(SortKey sortKey) {
+        this.sortKey = sortKey;
+    }
+
+    /** Returns the maximum number of results, or 0 for no limit */
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns whether the query has a date criterion.
+     *
+     * @return true if an after or before bound is set
+     */
+    public boolean hasDateBounds() {
+        return after != null || before != null;
+    }
+
+    /**
+     * Returns whether the query has a criterion answered by the bitmap indexes:
+     * a tag, a priority or the completion status.
+     *
+     * @return true if the query has a label criterion
+     */
+    public boolean hasLabelCriteria() {
+        return !requiredTags.isEmpty() || !excludedTags.isEmpty() || priority != null || done != null;
+    }
+
+    /**
+     * Returns whether recurring tasks should be listed once per occurrence.
+     *
+     * <p>Occurrences are only expanded when both date bounds are set, so an
+     * open-ended query never produces an unbounded number of results.</p>
+     *
+     * @return true if both date bounds are set
+     */
+    public boolean expandsOccurrences() {
+        return after != null && before != null;
+    }
+
+    /**
+     * Returns whether the query has no criteria at all.
+     *
+     * @return true if every task matches and no sort or limit is applied
+     */
+    public boolean isEmpty() {
+        return type == null && !hasLabelCriteria() && !hasDateBounds() && words.isEmpty()
+                && sortKey == null && limit == 0;
+    }
+
+    /**
+     * Returns whether a task satisfies every criterion of the query.
+     *
+     * @param task The task to check
+     * @return true if the task matches
+     */
+    public boolean matches(Task task) {
+        if (type != null && type != typeOf(task)) {
+            return false;
+        }
+        if (done != null && done != task.isDone()) {
+            return false;
+        }
+        if (priority != null && priority != task.getPriority()) {
+            return false;
+        }
+        if (!task.getTags().containsAll(requiredTags)) {
+            return false;
+        }
+        for (String tag : excludedTags) {
+            if (task.getTags().contains(tag)) {
+                return false;
+            }
+        }
+        if (!words.isEmpty() && !tokenize(task.getDescription()).containsAll(words)) {
+            return false;
+        }
+        return !hasDateBounds() || matchesDates(task);
+    }
+
+    private boolean matchesDates(Task task) {
+        LocalDateTime from = after == null ? MIN_DATE : after;
+        LocalDateTime to = before == null ? MAX_DATE : before;
+        if (task instanceof Deadline) {
+            LocalDateTime by = ((Deadline) task).getBy();
+            return !by.isBefore(from) && by.isBefore(to);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            return event.getFrom().isBefore(to) && !event.getTo().isBefore(from);
+        } else if (task instanceof RecurringTask) {
+            return ((RecurringTask) task).occurrencesBetween(from, to).hasNext();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the type code of a task as used in queries and the CSV file.
+     *
+     * @param task The task
+     * @return T, D, E or R
+     */
+    public static char typeOf(Task task) {
+        if (task instanceof ToDo) {
+            return 'T';
+        } else if (task instanceof Deadline) {
+            return 'D';
+        } else if (task instanceof Event) {
+            return 'E';
+        }
+        return 'R';
+    }
+
+    /**
+     * Splits text into lower-case words made of letters and digits.
+     *
+     * @param text The text to split
+     * @return The words in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
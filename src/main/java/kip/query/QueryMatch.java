@@ -0,0 +1,50 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * A single result of a query: a task, its position in the list and, for an
+ * expanded recurring task, the occurrence that matched.
+ */
+public class QueryMatch {
+    private final Task task;
+    private final int position;
+    private final LocalDateTime occurrence;
+
+    public QueryMatch(Task task, int position, LocalDateTime occurrence) {
+        assert task != null : "Matched task must not be null";
+        assert position >= 1 : "Task position must be 1-based";
+        this.task = task;
+        this.position = position;
+        this.occurrence = occurrence;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /** Returns the 1-based position of the task, as used by mark, unmark and delete */
+    public int getPosition() {
+        return position;
+    }
+
+    /** Returns the matching occurrence of a recurring task, or null */
+    public LocalDateTime getOccurrence() {
+        return occurrence;
+    }
+
+    /**
+     * Returns the display line of the match, e.g. {@code 3. [D][ ] report (by: ...)}.
+     *
+     * @return The display line
+     */
+    @Override
+    public String toString() {
+        String line = occurrence == null
+                ? task.toString()
+                : ((RecurringTask) task).occurrenceToString(occurrence);
+        return position + ". " + line;
+    }
+}
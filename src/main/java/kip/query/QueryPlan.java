@@ -0,0 +1,249 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * An executable plan for a {@link Query}, produced by {@link QueryPlanner}.
+ *
+ * <p>A plan reads candidate tasks from one access path, filters them with the
+ * full query, optionally sorts them, expands recurring tasks into occurrences
+ * and stops as soon as the limit is reached. When the candidates come from a
+ * {@link SortedTaskView} they are already in order; otherwise sorting collects
+ * the (few) filtered candidates first. Every other stage is lazy, so a query
+ * with a limit only examines as many candidates as it needs.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see QueryPlanner
+ */
+public class QueryPlan {
+    private static final DateTimeFormatter DISPLAY_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
+    /** The ways a plan can read its candidate tasks */
+    public enum AccessPath {
+        FULL_SCAN("full scan"),
+        KEYWORD("keyword index"),
+        DATE_RANGE("date range index"),
+        TAG_INDEX("tag index"),
+        SORTED_VIEW("sorted index");
+
+        private final String description;
+
+        AccessPath(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final Query query;
+    private final AccessPath accessPath;
+    private final String accessDetail;
+    private final int estimatedCandidates;
+    private final int totalTasks;
+    private final Supplier<Iterator<Task>> candidates;
+    private final boolean isSortedBySource;
+    private final ToIntFunction<Task> positions;
+
+    /**
+     * Constructs a plan.
+     *
+     * @param query The query being executed
+     * @param accessPath The access path reading the candidates
+     * @param accessDetail A short description of the access path's argument, or null
+     * @param estimatedCandidates The estimated number of candidates the access path yields
+     * @param totalTasks The number of tasks in the list
+     * @param candidates Supplies the candidate tasks
+     * @param isSortedBySource Whether the candidates already come in the query's sort order
+     * @param positions Maps a task to its 1-based position in the list
+     */
+    public QueryPlan(Query query, AccessPath accessPath, String accessDetail, int estimatedCandidates,
+            int totalTasks, Supplier<Iterator<Task>> candidates, boolean isSortedBySource,
+            ToIntFunction<Task> positions) {
+        this.query = query;
+        this.accessPath = accessPath;
+        this.accessDetail = accessDetail;
+        this.estimatedCandidates = estimatedCandidates;
+        this.totalTasks = totalTasks;
+        this.candidates = candidates;
+        this.isSortedBySource = isSortedBySource;
+        this.positions = positions;
+    }
+
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    public int getEstimatedCandidates() {
+        return estimatedCandidates;
+    }
+
+    /**
+     * Runs the plan.
+     *
+     * @return A lazy iterator over the matches
+     */
+    public Iterator<QueryMatch> execute() {
+        Iterator<Task> tasks = new FilteringIterator(candidates.get());
+        if (query.getSortKey() != null && !isSortedBySource) {
+            tasks = sorted(tasks);
+        }
+        return new MatchIterator(tasks);
+    }
+
+    /**
+     * Runs the plan and collects all matches.
+     *
+     * @return The matches
+     */
+    public List<QueryMatch> executeToList() {
+        List<QueryMatch> matches = new ArrayList<>();
+        execute().forEachRemaining(matches::add);
+        return matches;
+    }
+
+    /**
+     * Orders the filtered tasks by the query's sort key.
+     */
+    private Iterator<Task> sorted(Iterator<Task> tasks) {
+        List<Task> list = new ArrayList<>();
+        tasks.forEachRemaining(list::add);
+        Collections.sort(list, query.getSortKey().comparator());
+        return list.iterator();
+    }
+
+    /**
+     * Describes the plan in the form shown by the explain command.
+     *
+     * @return A multi-line description
+     */
+    public String describe() {
+        StringBuilder out = new StringBuilder();
+        out.append("Access path: ").append(accessPath.getDescription());
+        if (accessDetail != null) {
+            out.append(" (").append(accessDetail).append(")");
+        }
+        out.append("\nEstimated candidates: ").append(estimatedCandidates).append(" of ").append(totalTasks);
+        List<String> filters = new ArrayList<>();
+        if (query.getType() != null) {
+            filters.add("type = " + query.getType());
+        }
+        if (query.getDone() != null) {
+            filters.add(query.getDone() ? "done" : "not done");
+        }
+        if (query.getPriority() != null) {
+            filters.add("priority " + query.getPriority().getPriorityString());
+        }
+        for (String tag : query.getRequiredTags()) {
+            filters.add("tagged +" + tag);
+        }
+        for (String tag : query.getExcludedTags()) {
+            filters.add("not tagged +" + tag);
+        }
+        if (!query.getWords().isEmpty()) {
+            filters.add("text contains " + String.join(", ", query.getWords()));
+        }
+        if (query.getAfter() != null) {
+            filters.add("on or after " + query.getAfter().format(DISPLAY_FORMATTER));
+        }
+        if (query.getBefore() != null) {
+            filters.add("before " + query.getBefore().format(DISPLAY_FORMATTER));
+        }
+        out.append("\nFilter: ").append(filters.isEmpty() ? "none" : String.join(", ", filters));
+        if (query.expandsOccurrences()) {
+            out.append("\nRecurring tasks: expanded to occurrences in the window");
+        }
+        out.append("\nSort: ");
+        if (query.getSortKey() == null) {
+            out.append("none (list order)");
+        } else {
+            out.append(query.getSortKey().getKeyString())
+                    .append(isSortedBySource ? " (read in order)" : " (sorting the matches)");
+        }
+        out.append("\nLimit: ").append(query.getLimit() == 0 ? "none" : String.valueOf(query.getLimit()));
+        return out.toString();
+    }
+
+    /** Skips candidates that do not satisfy the query */
+    private class FilteringIterator implements Iterator<Task> {
+        private final Iterator<Task> source;
+        private Task next;
+
+        FilteringIterator(Iterator<Task> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                Task candidate = source.next();
+                if (query.matches(candidate)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /** Turns tasks into matches, expanding occurrences and applying the limit */
+    private class MatchIterator implements Iterator<QueryMatch> {
+        private final Iterator<Task> tasks;
+        private Task current;
+        private Iterator<LocalDateTime> occurrences = Collections.emptyIterator();
+        private int returned;
+
+        MatchIterator(Iterator<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (query.getLimit() > 0 && returned >= query.getLimit()) {
+                return false;
+            }
+            return occurrences.hasNext() || tasks.hasNext();
+        }
+
+        @Override
+        public QueryMatch next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            returned++;
+            if (occurrences.hasNext()) {
+                return new QueryMatch(current, positions.applyAsInt(current), occurrences.next());
+            }
+            current = tasks.next();
+            if (current instanceof RecurringTask && query.expandsOccurrences()) {
+                occurrences = ((RecurringTask) current).occurrencesBetween(query.getAfter(), query.getBefore());
+                // The filter guarantees at least one occurrence in the window
+                return new QueryMatch(current, positions.applyAsInt(current), occurrences.next());
+            }
+            return new QueryMatch(current, positions.applyAsInt(current), null);
+        }
+    }
+}
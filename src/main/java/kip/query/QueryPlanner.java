@@ -0,0 +1,212 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import kip.task.Task;
+
+/**
+ * Chooses how to execute a {@link Query}.
+ *
+ * <p>The planner estimates how many candidates each available access path
+ * would yield and picks the smallest:</p>
+ * <ul>
+ *   <li><strong>Full scan</strong> - every task in the list</li>
+ *   <li><strong>Keyword index</strong> - the tasks containing the query's rarest word</li>
+ *   <li><strong>Date range index</strong> - the deadlines and events near the query's
+ *       date window, plus all recurring tasks</li>
+ *   <li><strong>Tag index</strong> - the tasks satisfying the query's tag, priority
+ *       and completion criteria, found by combining bitmaps</li>
+ * </ul>
+ * <p>Estimates are exact counts for the keyword and tag indexes; for the date
+ * range the count stops as soon as it can no longer beat the best path found
+ * so far. The tag index is evaluated while planning, since its bitmaps are
+ * cheap to combine and the result is both the estimate and the candidates.
+ * Every path hands its candidates over in list order, so the matches, and
+ * which of them a limit keeps, do not depend on the path chosen.</p>
+ * 
+ * <p>When the query is sorted, the planner sorts the candidates of the chosen
+ * path only if there are few of them. Otherwise it reads the cached
+ * {@link SortedTaskView} for the sort key in order, which avoids sorting and
+ * lets a limit stop the scan early.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see QueryPlan
+ * @see TaskIndex
+ */
+public class QueryPlanner {
+    /** A sorted query sorts its candidates only if they are at most this fraction of the list */
+    private static final int SORT_CANDIDATES_DIVISOR = 16;
+
+    private final List<Task> tasks;
+    private final TaskIndex index;
+    private final SortedViews sortedViews;
+
+    /**
+     * Constructs a planner.
+     *
+     * @param tasks The task list, ordered by task ID
+     * @param index The indexes over the task list
+     * @param sortedViews The cache of sorted views over the task list
+     */
+    public QueryPlanner(List<Task> tasks, TaskIndex index, SortedViews sortedViews) {
+        assert tasks != null : "Task list must not be null";
+        assert index != null : "Task index must not be null";
+        assert sortedViews != null : "Sorted views must not be null";
+        this.tasks = tasks;
+        this.index = index;
+        this.sortedViews = sortedViews;
+    }
+
+    /**
+     * Produces the cheapest plan for a query.
+     *
+     * @param query The query to plan
+     * @return The plan
+     */
+    public QueryPlan plan(Query query) {
+        assert query != null : "Query must not be null";
+        int total = tasks.size();
+
+        String rarestWord = null;
+        int wordCount = Integer.MAX_VALUE;
+        for (String word : query.getWords()) {
+            int count = index.countWithWord(word);
+            if (count < wordCount) {
+                rarestWord = word;
+                wordCount = count;
+            }
+        }
+
+        int best = Math.min(total, wordCount);
+        RoaringBitmap labelled = null;
+        if (query.hasLabelCriteria()) {
+            labelled = index.selectByLabels(query);
+            best = Math.min(best, labelled.getCardinality());
+        }
+        int dateCount = Integer.MAX_VALUE;
+        if (query.hasDateBounds()) {
+            dateCount = index.countCandidatesBetween(from(query), to(query), best);
+        }
+
+        SortKey sortKey = query.getSortKey();
+        if (sortKey != null && Math.min(best, dateCount) > total / SORT_CANDIDATES_DIVISOR) {
+            SortedTaskView view = sortedViews.get(sortKey);
+            return new QueryPlan(query, QueryPlan.AccessPath.SORTED_VIEW, sortKey.getKeyString(), total, total,
+                    view::iterator, true, this::positionOf);
+        }
+        if (dateCount < best) {
+            return new QueryPlan(query, QueryPlan.AccessPath.DATE_RANGE, null, dateCount, total,
+                    () -> inListOrder(index.candidatesBetween(from(query), to(query))), false, this::positionOf);
+        }
+        if (labelled != null && labelled.getCardinality() <= wordCount) {
+            RoaringBitmap ids = labelled;
+            return new QueryPlan(query, QueryPlan.AccessPath.TAG_INDEX, labelsOf(query), ids.getCardinality(),
+                    total, () -> tasksWithIds(ids.iterator()), false, this::positionOf);
+        }
+        if (rarestWord != null && wordCount < total) {
+            String word = rarestWord;
+            return new QueryPlan(query, QueryPlan.AccessPath.KEYWORD, "'" + word + "'", wordCount, total,
+                    () -> index.withWord(word).iterator(), false, this::positionOf);
+        }
+        return new QueryPlan(query, QueryPlan.AccessPath.FULL_SCAN, null, total, total,
+                tasks::iterator, false, this::positionOf);
+    }
+
+    /**
+     * Returns the 1-based position of a task, relying on the list being ordered by ID.
+     */
+    private int positionOf(Task task) {
+        int index = indexOfId(task.getId());
+        assert index >= 0 : "Matched task must be in the list";
+        return index + 1;
+    }
+
+    /**
+     * Binary search for the list index of a task ID, returning a negative
+     * number if no task has that ID.
+     */
+    private int indexOfId(int id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = tasks.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Maps ascending task IDs to their tasks, which come out in list order.
+     */
+    private Iterator<Task> tasksWithIds(PrimitiveIterator.OfInt ids) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = indexOfId(ids.nextInt());
+                assert index >= 0 : "Indexed task must be in the list";
+                return tasks.get(index);
+            }
+        };
+    }
+
+    /**
+     * Puts candidates back in list order, which is cheap as the date range
+     * path is only chosen when it yields fewer candidates than any other.
+     */
+    private static Iterator<Task> inListOrder(Iterator<Task> candidates) {
+        List<Task> list = new ArrayList<>();
+        candidates.forEachRemaining(list::add);
+        list.sort(Comparator.comparingInt(Task::getId));
+        return list.iterator();
+    }
+
+    /**
+     * Describes the label criteria of a query in query syntax, e.g. +work !high -done.
+     */
+    private static String labelsOf(Query query) {
+        List<String> labels = new ArrayList<>();
+        for (String tag : query.getRequiredTags()) {
+            labels.add("+" + tag);
+        }
+        if (query.getPriority() != null) {
+            labels.add("!" + query.getPriority().getPriorityString());
+        }
+        for (String tag : query.getExcludedTags()) {
+            labels.add("-" + tag);
+        }
+        if (query.getDone() != null) {
+            labels.add(query.getDone() ? "+done" : "-done");
+        }
+        return String.join(" ", labels);
+    }
+
+    private static LocalDateTime from(Query query) {
+        return query.getAfter() == null ? Query.MIN_DATE : query.getAfter();
+    }
+
+    private static LocalDateTime to(Query query) {
+        return query.getBefore() == null ? Query.MAX_DATE : query.getBefore();
+    }
+}
@@ -0,0 +1,126 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * Keys by which query results can be sorted.
+ *
+ * <p>Every key orders tasks totally: ties, and tasks that lack the key (such
+ * as a to-do when sorting by due time), are ordered by task ID, which matches
+ * their order in the list. Tasks without the key come last.</p>
+ */
+public enum SortKey {
+    /** Due time of deadlines and recurring deadlines */
+    BY("by"),
+    /** Start time of events and recurring events */
+    FROM("from"),
+    /** Description, ignoring case */
+    DESCRIPTION("description"),
+    /** Open tasks first, then completed ones */
+    DONE("done");
+
+    /** Orders key values, with missing (null) values last */
+    private static final Comparator<Comparable<Object>> KEY_ORDER =
+            Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final String keyString;
+    private final Comparator<Task> comparator;
+
+    SortKey(String keyString) {
+        this.keyString = keyString;
+        this.comparator = (task1, task2) -> compare(keyOf(task1), task1.getId(), keyOf(task2), task2.getId());
+    }
+
+    public String getKeyString() {
+        return keyString;
+    }
+
+    /**
+     * Returns the comparator ordering tasks by this key.
+     *
+     * @return A comparator that is consistent with task identity
+     */
+    public Comparator<Task> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Extracts the value this key sorts a task by.
+     *
+     * @param task The task
+     * @return The key value, or null if the task does not have one
+     */
+    @SuppressWarnings("unchecked")
+    public Comparable<Object> keyOf(Task task) {
+        Comparable<?> key;
+        switch (this) {
+        case BY:
+            key = dueTimeOf(task);
+            break;
+        case FROM:
+            key = startTimeOf(task);
+            break;
+        case DESCRIPTION:
+            key = task.getDescription().toLowerCase(Locale.ROOT);
+            break;
+        default:
+            key = task.isDone();
+            break;
+        }
+        return (Comparable<Object>) key;
+    }
+
+    /**
+     * Compares two entries by key value, then by task ID.
+     *
+     * @param key1 The key value of the first entry
+     * @param id1 The task ID of the first entry
+     * @param key2 The key value of the second entry
+     * @param id2 The task ID of the second entry
+     * @return A negative number, zero or a positive number as the first entry
+     *         sorts before, equal to or after the second
+     */
+    public static int compare(Comparable<Object> key1, int id1, Comparable<Object> key2, int id2) {
+        int result = KEY_ORDER.compare(key1, key2);
+        return result != 0 ? result : Integer.compare(id1, id2);
+    }
+
+    /**
+     * Converts a string to its corresponding sort key, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The sort key, or null if no match is found
+     */
+    public static SortKey fromString(String text) {
+        for (SortKey key : values()) {
+            if (key.keyString.equalsIgnoreCase(text)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime dueTimeOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        } else if (task instanceof RecurringTask && !((RecurringTask) task).isEvent()) {
+            return ((RecurringTask) task).getStart();
+        }
+        return null;
+    }
+
+    private static LocalDateTime startTimeOf(Task task) {
+        if (task instanceof Event) {
+            return ((Event) task).getFrom();
+        } else if (task instanceof RecurringTask && ((RecurringTask) task).isEvent()) {
+            return ((RecurringTask) task).getStart();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,192 @@
+package kip.query;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Task;
+
+/**
+ * The task list ordered by one {@link SortKey}, maintained incrementally.
+ *
+ * <p>The view keeps the tasks and their key values in two parallel arrays
+ * sorted by key value and task ID. It is built once with a full sort (a
+ * parallel sort for large lists) and afterwards updated by binary-search
+ * insertion and removal as mutation events arrive, so listing in sorted order
+ * never re-sorts the list.</p>
+ *
+ * <p>Key values are snapshotted when a task is inserted. The only key that can
+ * change while a task is in the list is its completion status, which is
+ * handled by moving the task when its status changes.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see SortedViews
+ */
+public class SortedTaskView implements TaskListener {
+    /** List size from which the initial sort runs in parallel */
+    static final int PARALLEL_SORT_THRESHOLD = 1 << 14;
+
+    private final SortKey sortKey;
+    private Task[] tasks;
+    private Comparable<Object>[] keys;
+    private int size;
+    private int modCount;
+
+    /**
+     * Builds a view over the given tasks.
+     *
+     * @param sortKey The key to order by
+     * @param initial The tasks currently in the list
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SortedTaskView(SortKey sortKey, Collection<Task> initial) {
+        assert sortKey != null : "Sort key must not be null";
+        this.sortKey = sortKey;
+        Entry[] entries = new Entry[initial.size()];
+        int i = 0;
+        for (Task task : initial) {
+            entries[i++] = new Entry(sortKey.keyOf(task), task);
+        }
+        if (entries.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(entries);
+        } else {
+            Arrays.sort(entries);
+        }
+
+        this.size = entries.length;
+        this.tasks = new Task[Math.max(16, size + size / 2)];
+        this.keys = new Comparable[tasks.length];
+        for (i = 0; i < size; i++) {
+            tasks[i] = entries[i].task;
+            keys[i] = entries[i].key;
+        }
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        insert(event.getTask(), sortKey.keyOf(event.getTask()));
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        remove(sortKey.keyOf(event.getTask()), event.getTaskId());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        if (sortKey != SortKey.DONE) {
+            return;
+        }
+        Comparable<Object> oldKey = (Comparable<Object>) (Comparable<?>) !event.isDone();
+        remove(oldKey, event.getTaskId());
+        insert(event.getTask(), sortKey.keyOf(event.getTask()));
+    }
+
+    /**
+     * Returns an iterator over the tasks in sorted order.
+     *
+     * @return The iterator, which fails if the view changes during iteration
+     */
+    public Iterator<Task> iterator() {
+        int expectedModCount = modCount;
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return tasks[next++];
+            }
+        };
+    }
+
+    private void insert(Task task, Comparable<Object> key) {
+        int position = search(key, task.getId());
+        assert position < 0 : "Task must not already be in the view";
+        position = -position - 1;
+        if (size == tasks.length) {
+            tasks = Arrays.copyOf(tasks, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        System.arraycopy(tasks, position, tasks, position + 1, size - position);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        tasks[position] = task;
+        keys[position] = key;
+        size++;
+        modCount++;
+    }
+
+    private void remove(Comparable<Object> key, int id) {
+        int position = search(key, id);
+        assert position >= 0 : "Task must be in the view";
+        System.arraycopy(tasks, position + 1, tasks, position, size - position - 1);
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        size--;
+        tasks[size] = null;
+        keys[size] = null;
+        modCount++;
+    }
+
+    /**
+     * Binary search for an entry, returning its index if present or
+     * {@code -(insertion point) - 1} otherwise.
+     */
+    private int search(Comparable<Object> key, int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = SortKey.compare(keys[mid], tasks[mid].getId(), key, id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /** A task with its key value, used for the initial sort */
+    private static class Entry implements Comparable<Entry> {
+        private final Comparable<Object> key;
+        private final Task task;
+
+        Entry(Comparable<Object> key, Task task) {
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return SortKey.compare(key, task.getId(), other.key, other.task.getId());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package kip.query;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Task;
+
+/**
+ * Cache of {@link SortedTaskView}s, one per sort key.
+ *
+ * <p>A view is built the first time its key is requested and from then on
+ * kept up to date by forwarding every mutation event to it, so keys that are
+ * never used cost nothing.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see SortedTaskView
+ */
+public class SortedViews implements TaskListener {
+    private final List<Task> tasks;
+    private final Map<SortKey, SortedTaskView> views = new EnumMap<>(SortKey.class);
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param tasks The task list views are built from
+     */
+    public SortedViews(List<Task> tasks) {
+        assert tasks != null : "Task list must not be null";
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the view for a sort key, building it if necessary.
+     *
+     * @param sortKey The key to order by
+     * @return The sorted view
+     */
+    public SortedTaskView get(SortKey sortKey) {
+        return views.computeIfAbsent(sortKey, key -> new SortedTaskView(key, tasks));
+    }
+
+    /**
+     * Returns whether the view for a sort key has been built.
+     *
+     * @param sortKey The key to check
+     * @return true if the view is cached
+     */
+    public boolean isCached(SortKey sortKey) {
+        return views.containsKey(sortKey);
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        for (SortedTaskView view : views.values()) {
+            view.onTaskAdded(event);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        for (SortedTaskView view : views.values()) {
+            view.onTaskRemoved(event);
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        for (SortedTaskView view : views.values()) {
+            view.onTaskStatusChanged(event);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package kip.query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import kip.event.TaskAdded;
+import kip.event.TaskLabelsChanged;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * Secondary indexes over the task list, kept up to date from mutation events.
+ *
+ * <p>Three access paths are maintained:</p>
+ * <ul>
+ *   <li>A keyword index mapping each lower-case word of a description to the
+ *       tasks containing it, in list order</li>
+ *   <li>A date index mapping the due time of each deadline and the start time
+ *       of each event to those tasks; recurring tasks are kept separately since
+ *       their dates depend on the window being searched</li>
+ *   <li>Bitmap indexes of task IDs per tag, per priority and for completed
+ *       tasks, so that label filters such as {@code +work +urgent -done}
+ *       are evaluated as bitmap intersections and differences</li>
+ * </ul>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see QueryPlanner
+ */
+public class TaskIndex implements TaskListener {
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    /** Word to tasks containing it, keyed and ordered by task ID */
+    private final Map<String, TreeMap<Integer, Task>> postings = new HashMap<>();
+    /** Due or start time to tasks with that time, keyed by task ID */
+    private final TreeMap<LocalDateTime, TreeMap<Integer, Task>> byDate = new TreeMap<>();
+    /** Recurring tasks, keyed and ordered by task ID */
+    private final TreeMap<Integer, Task> recurring = new TreeMap<>();
+    /** Longest event ever indexed, used to find events that started before a window */
+    private Duration longestEvent = Duration.ZERO;
+    /** IDs of all tasks */
+    private final RoaringBitmap allIds = new RoaringBitmap();
+    /** IDs of completed tasks */
+    private final RoaringBitmap doneIds = new RoaringBitmap();
+    /** Tag to IDs of the tasks carrying it */
+    private final Map<String, RoaringBitmap> idsByTag = new HashMap<>();
+    /** Priority to IDs of the tasks with it; tasks without a priority are not indexed */
+    private final Map<Priority, RoaringBitmap> idsByPriority = new EnumMap<>(Priority.class);
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        Task task = event.getTask();
+        for (String word : new HashSet<>(Query.tokenize(task.getDescription()))) {
+            postings.computeIfAbsent(word, k -> new TreeMap<>()).put(task.getId(), task);
+        }
+        if (task instanceof RecurringTask) {
+            recurring.put(task.getId(), task);
+        } else if (dateOf(task) != null) {
+            byDate.computeIfAbsent(dateOf(task), k -> new TreeMap<>()).put(task.getId(), task);
+            if (task instanceof Event) {
+                Duration length = Duration.between(((Event) task).getFrom(), ((Event) task).getTo());
+                if (length.compareTo(longestEvent) > 0) {
+                    longestEvent = length;
+                }
+            }
+        }
+
+        allIds.add(task.getId());
+        if (task.isDone()) {
+            doneIds.add(task.getId());
+        }
+        for (String tag : task.getTags()) {
+            idsByTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(task.getId());
+        }
+        if (task.getPriority() != Priority.NONE) {
+            idsByPriority.computeIfAbsent(task.getPriority(), k -> new RoaringBitmap()).add(task.getId());
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        Task task = event.getTask();
+        for (String word : new HashSet<>(Query.tokenize(task.getDescription()))) {
+            remove(postings, word, task);
+        }
+        if (task instanceof RecurringTask) {
+            recurring.remove(task.getId());
+        } else if (dateOf(task) != null) {
+            remove(byDate, dateOf(task), task);
+        }
+
+        allIds.remove(task.getId());
+        doneIds.remove(task.getId());
+        for (String tag : task.getTags()) {
+            removeId(idsByTag, tag, task.getId());
+        }
+        removeId(idsByPriority, task.getPriority(), task.getId());
+    }
+
+    @Override
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        if (event.isDone()) {
+            doneIds.add(event.getTaskId());
+        } else {
+            doneIds.remove(event.getTaskId());
+        }
+    }
+
+    @Override
+    public void onTaskLabelsChanged(TaskLabelsChanged event) {
+        Task task = event.getTask();
+        for (String tag : event.getPreviousTags()) {
+            removeId(idsByTag, tag, task.getId());
+        }
+        removeId(idsByPriority, event.getPreviousPriority(), task.getId());
+        for (String tag : task.getTags()) {
+            idsByTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(task.getId());
+        }
+        if (task.getPriority() != Priority.NONE) {
+            idsByPriority.computeIfAbsent(task.getPriority(), k -> new RoaringBitmap()).add(task.getId());
+        }
+    }
+
+    /**
+     * Returns the tasks whose description contains the word, in list order.
+     *
+     * @param word A lower-case word
+     * @return The matching tasks
+     */
+    public Collection<Task> withWord(String word) {
+        TreeMap<Integer, Task> tasks = postings.get(word);
+        return tasks == null ? Collections.emptyList() : tasks.values();
+    }
+
+    /**
+     * Returns the number of tasks whose description contains the word.
+     *
+     * @param word A lower-case word
+     * @return The number of matching tasks
+     */
+    public int countWithWord(String word) {
+        TreeMap<Integer, Task> tasks = postings.get(word);
+        return tasks == null ? 0 : tasks.size();
+    }
+
+    /**
+     * Returns the candidate tasks for a date window, in date order followed by
+     * all recurring tasks. Candidates still need to be checked against the window.
+     *
+     * @param from The start of the window (inclusive)
+     * @param to The end of the window (exclusive)
+     * @return An iterator over the candidate tasks
+     */
+    public Iterator<Task> candidatesBetween(LocalDateTime from, LocalDateTime to) {
+        Iterator<TreeMap<Integer, Task>> buckets = dateRange(from, to).values().iterator();
+        Iterator<Task> recurringTasks = recurring.values().iterator();
+        return new Iterator<>() {
+            private Iterator<Task> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && buckets.hasNext()) {
+                    current = buckets.next().values().iterator();
+                }
+                return current.hasNext() || recurringTasks.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                return hasNext() && current.hasNext() ? current.next() : recurringTasks.next();
+            }
+        };
+    }
+
+    /**
+     * Counts the candidate tasks for a date window, stopping once the count
+     * exceeds a limit so that estimating a wide window stays cheap.
+     *
+     * @param from The start of the window (inclusive)
+     * @param to The end of the window (exclusive)
+     * @param limit The count beyond which counting stops
+     * @return The number of candidates, or a number greater than the limit
+     */
+    public int countCandidatesBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        int count = recurring.size();
+        for (TreeMap<Integer, Task> bucket : dateRange(from, to).values()) {
+            count += bucket.size();
+            if (count > limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evaluates the label criteria of a query - required and excluded tags,
+     * priority and completion status - on the bitmap indexes.
+     *
+     * <p>The most selective required bitmap is taken first and the others are
+     * intersected with it, so the work shrinks with every step; exclusions
+     * are applied last. Without a required bitmap, evaluation starts from the
+     * set of all tasks.</p>
+     *
+     * @param query The query, which should have label criteria
+     * @return The IDs of the tasks satisfying the label criteria, in ascending order
+     */
+    public RoaringBitmap selectByLabels(Query query) {
+        List<RoaringBitmap> required = new ArrayList<>();
+        for (String tag : query.getRequiredTags()) {
+            required.add(idsByTag.getOrDefault(tag, EMPTY));
+        }
+        if (query.getPriority() != null) {
+            required.add(idsByPriority.getOrDefault(query.getPriority(), EMPTY));
+        }
+        if (Boolean.TRUE.equals(query.getDone())) {
+            required.add(doneIds);
+        }
+        required.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+        RoaringBitmap result = required.isEmpty() ? allIds : required.get(0);
+        boolean isShared = true;
+        for (int i = 1; i < required.size(); i++) {
+            result = result.and(required.get(i));
+            isShared = false;
+        }
+        for (String tag : query.getExcludedTags()) {
+            RoaringBitmap excluded = idsByTag.get(tag);
+            if (excluded != null) {
+                result = result.andNot(excluded);
+                isShared = false;
+            }
+        }
+        if (Boolean.FALSE.equals(query.getDone())) {
+            result = result.andNot(doneIds);
+            isShared = false;
+        }
+        // Never hand out a bitmap that the index keeps modifying
+        return isShared ? result.copy() : result;
+    }
+
+    private NavigableMap<LocalDateTime, TreeMap<Integer, Task>> dateRange(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.minus(longestEvent);
+        if (!start.isBefore(to)) {
+            return Collections.emptyNavigableMap();
+        }
+        return byDate.subMap(start, true, to, false);
+    }
+
+    private static <K> void remove(Map<K, TreeMap<Integer, Task>> index, K key, Task task) {
+        TreeMap<Integer, Task> tasks = index.get(key);
+        if (tasks != null) {
+            tasks.remove(task.getId());
+            if (tasks.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <K> void removeId(Map<K, RoaringBitmap> index, K key, int id) {
+        RoaringBitmap ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static LocalDateTime dateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFrom();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package kip.reminder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import kip.task.Deadline;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * A reminder raised shortly before a deadline is due or an event starts.
+ */
+public class Reminder {
+    private static final DateTimeFormatter DISPLAY_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
+    private final Task task;
+    private final LocalDateTime time;
+
+    public Reminder(Task task, LocalDateTime time) {
+        assert task != null : "Reminder task must not be null";
+        assert time != null : "Reminder time must not be null";
+        this.task = task;
+        this.time = time;
+    }
+
+    /**
+     * Returns the task this reminder is about.
+     *
+     * @return The task
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the time the deadline is due or the event starts.
+     *
+     * @return The due or start time
+     */
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    /**
+     * Returns a message suitable for showing to the user.
+     *
+     * @return The reminder message
+     */
+    public String getMessage() {
+        boolean isDeadline = task instanceof Deadline
+                || (task instanceof RecurringTask && !((RecurringTask) task).isEvent());
+        String verb = isDeadline ? "is due" : "starts";
+        return "Reminder: " + task.getDescription() + " " + verb + " at "
+                + time.format(DISPLAY_FORMATTER) + "\n" + task;
+    }
+}
@@ -0,0 +1,216 @@
+package kip.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * Raises reminders shortly before deadlines are due and events start.
+ *
+ * <p>The scheduler subscribes to task mutation events, so reminders are
+ * scheduled when a task is added or unmarked and cancelled when it is deleted
+ * or marked as done. Pending reminders live in a {@link TimingWheel}, which
+ * makes scheduling and cancelling constant-time even with millions of them.
+ * A single background thread advances the wheel once per tick; tests can
+ * instead call {@link #advance()} directly together with a controllable
+ * {@link Clock}.</p>
+ *
+ * <p>A recurring task has at most one pending reminder, for its next
+ * occurrence; once it is raised the reminder for the following occurrence is
+ * scheduled.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TimingWheel
+ * @see Reminder
+ */
+public class ReminderScheduler implements TaskListener {
+    /** Default time between a reminder and the deadline or event start */
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofMinutes(30);
+    /** Resolution of the timing wheel */
+    private static final long TICK_MILLIS = 1000;
+
+    private final Clock clock;
+    private final Duration leadTime;
+    private final TimingWheel<Reminder> wheel;
+    /** Pending reminder per task ID, used to cancel it */
+    private final Map<Integer, TimingWheel.Timeout<Reminder>> pending = new HashMap<>();
+    private final List<Consumer<Reminder>> reminderListeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructs a scheduler using the system clock and the default lead time.
+     */
+    public ReminderScheduler() {
+        this(Clock.systemDefaultZone(), DEFAULT_LEAD_TIME);
+    }
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param clock The clock providing the current time
+     * @param leadTime How long before the due or start time the reminder is raised
+     */
+    public ReminderScheduler(Clock clock, Duration leadTime) {
+        assert clock != null : "Clock must not be null";
+        assert leadTime != null && !leadTime.isNegative() : "Lead time must not be negative";
+        this.clock = clock;
+        this.leadTime = leadTime;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, clock.millis());
+    }
+
+    /**
+     * Registers a callback that receives every reminder when it is raised.
+     *
+     * <p>Callbacks run on the scheduler's background thread (or on the thread
+     * calling {@link #advance()}), so GUI clients must hand the reminder over
+     * to their own thread.</p>
+     *
+     * @param listener The callback to register
+     */
+    public void addReminderListener(Consumer<Reminder> listener) {
+        reminderListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously registered callback.
+     *
+     * @param listener The callback to remove
+     */
+    public void removeReminderListener(Consumer<Reminder> listener) {
+        reminderListeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onTaskAdded(TaskAdded event) {
+        schedule(event.getTask());
+    }
+
+    @Override
+    public synchronized void onTaskRemoved(TaskRemoved event) {
+        cancel(event.getTask());
+    }
+
+    @Override
+    public synchronized void onTaskStatusChanged(TaskStatusChanged event) {
+        if (event.isDone()) {
+            cancel(event.getTask());
+        } else {
+            schedule(event.getTask());
+        }
+    }
+
+    /**
+     * Raises every reminder whose time has come according to the clock.
+     */
+    public void advance() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), due::add);
+            for (Reminder reminder : due) {
+                pending.remove(reminder.getTask().getId());
+                if (reminder.getTask() instanceof RecurringTask) {
+                    schedule(reminder.getTask(), reminder.getTime());
+                }
+            }
+        }
+        // Notify outside the lock so that callbacks may touch the task list
+        for (Reminder reminder : due) {
+            for (Consumer<Reminder> listener : reminderListeners) {
+                listener.accept(reminder);
+            }
+        }
+    }
+
+    /**
+     * Starts the background thread that advances the scheduler once per tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kip-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Pending reminders are kept.
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Returns the number of reminders waiting to be raised.
+     *
+     * @return The number of pending reminders
+     */
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void schedule(Task task) {
+        schedule(task, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Schedules the reminder for the first due or start time after the given time.
+     */
+    private void schedule(Task task, LocalDateTime after) {
+        cancel(task);
+        LocalDateTime time = reminderTimeOf(task, after);
+        if (task.isDone() || time == null) {
+            return;
+        }
+        long dueMillis = time.atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (dueMillis <= clock.millis()) {
+            // Nothing to remind about once the time has passed
+            return;
+        }
+        long remindMillis = dueMillis - leadTime.toMillis();
+        pending.put(task.getId(), wheel.schedule(remindMillis, new Reminder(task, time)));
+    }
+
+    private void cancel(Task task) {
+        TimingWheel.Timeout<Reminder> timeout = pending.remove(task.getId());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static LocalDateTime reminderTimeOf(Task task, LocalDateTime after) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFrom();
+        } else if (task instanceof RecurringTask) {
+            return ((RecurringTask) task).nextOccurrenceAfter(after);
+        }
+        return null;
+    }
+}
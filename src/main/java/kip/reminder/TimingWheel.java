@@ -0,0 +1,274 @@
+package kip.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for scheduling a large number of timeouts.
+ *
+ * <p>The wheel is made of {@value #LEVELS} levels of {@value #SLOTS} slots each.
+ * A slot on level 0 covers one tick, a slot on level 1 covers {@value #SLOTS}
+ * ticks, and so on. A timeout is placed on the lowest level whose range covers
+ * its expiry; when the lower levels wrap around, the next slot of the level
+ * above is cascaded down. Each slot is a doubly-linked list, so both
+ * {@link #schedule(long, Object)} and {@link Timeout#cancel()} run in constant
+ * time regardless of how many timeouts are pending.</p>
+ *
+ * <p>Time is passed in explicitly through {@link #advance(long, Consumer)},
+ * which keeps the wheel independent of any real clock. Empty stretches of
+ * time are skipped using one occupancy bit mask per level.</p>
+ *
+ * <p>This class is not thread-safe; callers must synchronize access.</p>
+ *
+ * @param <T> The type of payload attached to each timeout
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see ReminderScheduler
+ */
+public class TimingWheel<T> {
+    /** Number of slots per level, one bit per slot in the occupancy mask */
+    private static final int SLOTS = 64;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_MASK = SLOTS - 1;
+    /** Number of levels, covering 2^36 ticks */
+    private static final int LEVELS = 6;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Timeout<T>[][] slots = new Timeout[LEVELS][SLOTS];
+    /** Bit i of occupancy[level] is set when slot i of that level is not empty */
+    private final long[] occupancy = new long[LEVELS];
+    /** The last tick that has been processed */
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructs a timing wheel.
+     *
+     * @param tickMillis The length of one tick in milliseconds
+     * @param startMillis The current time in milliseconds
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a payload to expire at the given time.
+     *
+     * <p>Timeouts whose time has already passed expire on the next call to
+     * {@link #advance(long, Consumer)}.</p>
+     *
+     * @param expiryMillis The expiry time in milliseconds
+     * @param payload The payload handed back on expiry
+     * @return A handle that can be used to cancel the timeout
+     */
+    public Timeout<T> schedule(long expiryMillis, T payload) {
+        assert payload != null : "Timeout payload must not be null";
+        // Round up so that a timeout never fires before its expiry time
+        long expiryTick = Math.floorDiv(expiryMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(this, expiryTick, payload);
+        insert(timeout, false);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Processes all ticks up to the given time and hands every expired payload
+     * to the consumer, in expiry order.
+     *
+     * @param nowMillis The current time in milliseconds
+     * @param expired Receives the payloads of expired timeouts
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            int level = 0;
+            while (level < LEVELS && occupancy[level] == 0) {
+                level++;
+            }
+            if (level == LEVELS) {
+                // Nothing is scheduled, jump straight to the target
+                currentTick = targetTick;
+                break;
+            }
+            if (level > 0) {
+                // Levels below are empty, skip to the next boundary of this level
+                long boundary = (currentTick | ((1L << (SLOT_BITS * level)) - 1)) + 1;
+                if (boundary > targetTick) {
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick = boundary - 1;
+            }
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0) {
+                cascade();
+            }
+            expireSlot((int) (currentTick & SLOT_MASK), expired);
+        }
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return The number of timeouts that have neither expired nor been cancelled
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves the timeouts in the current slot of each higher level down to the
+     * levels below, for as long as the lower level has just wrapped around.
+     * Timeouts due on the current tick go into its level 0 slot, which
+     * {@link #advance(long, Consumer)} expires straight after cascading.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> timeout = detachSlot(level, slot);
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                insert(timeout, true);
+                timeout = next;
+            }
+            if (slot != 0) {
+                break;
+            }
+        }
+    }
+
+    private void expireSlot(int slot, Consumer<T> expired) {
+        Timeout<T> timeout = detachSlot(0, slot);
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.wheel = null;
+            size--;
+            expired.accept(timeout.payload);
+            timeout = next;
+        }
+    }
+
+    private Timeout<T> detachSlot(int level, int slot) {
+        Timeout<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        occupancy[level] &= ~(1L << slot);
+        return head;
+    }
+
+    /**
+     * Links the timeout into the slot that covers its expiry.
+     *
+     * @param isCascading Whether the timeout is being moved down from a higher
+     *     level, in which case a timeout due now expires on the current tick
+     *     rather than the next one
+     */
+    private void insert(Timeout<T> timeout, boolean isCascading) {
+        long delta = timeout.expiryTick - currentTick;
+        long tick = timeout.expiryTick;
+        if (delta <= 0 && isCascading) {
+            // Due on the tick being processed: expire with the current slot
+            tick = currentTick;
+            delta = 0;
+        } else if (delta <= 0) {
+            // Scheduled in the past: expire on the next tick
+            tick = currentTick + 1;
+            delta = 1;
+        } else if (delta > MAX_DELTA) {
+            // Too far ahead: park in the last slot of the top level and re-insert on cascade
+            tick = currentTick + MAX_DELTA;
+            delta = MAX_DELTA;
+        }
+        int level = 0;
+        while (delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        Timeout<T> head = slots[level][slot];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[level][slot] = timeout;
+        occupancy[level] |= 1L << slot;
+        timeout.level = level;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.slot] = timeout.next;
+            if (timeout.next == null) {
+                occupancy[timeout.level] &= ~(1L << timeout.slot);
+            }
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.wheel = null;
+        size--;
+    }
+
+    /**
+     * Handle to a scheduled payload.
+     *
+     * @param <T> The type of payload
+     */
+    public static final class Timeout<T> {
+        private TimingWheel<T> wheel;
+        private final long expiryTick;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level;
+        private int slot;
+
+        private Timeout(TimingWheel<T> wheel, long expiryTick, T payload) {
+            this.wheel = wheel;
+            this.expiryTick = expiryTick;
+            this.payload = payload;
+        }
+
+        /**
+         * Returns the payload of this timeout.
+         *
+         * @return The payload
+         */
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * Returns whether this timeout is still waiting to expire.
+         *
+         * @return true if the timeout has neither expired nor been cancelled
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+
+        /**
+         * Removes this timeout from the wheel. Does nothing if it has already
+         * expired or been cancelled.
+         */
+        public void cancel() {
+            if (wheel != null) {
+                wheel.unlink(this);
+            }
+        }
+    }
+}
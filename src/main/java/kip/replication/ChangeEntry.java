@@ -0,0 +1,125 @@
+package kip.replication;
+
+import kip.command.Parser;
+import kip.event.TaskAdded;
+import kip.event.TaskEvent;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.storage.Storage;
+import kip.task.Task;
+
+/**
+ * One change to a task list, as recorded in the change log of a primary and
+ * applied by its followers.
+ *
+ * <p>An entry is written as a single line of tab-separated fields: the event
+ * sequence number, the change type, the position of the task and the task as
+ * a line of the storage CSV format, taken when the change was made:</p>
+ * <pre>
+ * 12	add	3	T,0,read book,,,,school,high
+ * 13	status	3	T,1,read book,,,,school,high
+ * </pre>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see ChangeLog
+ * @see Follower
+ */
+public class ChangeEntry {
+    private final long sequence;
+    private final ChangeType type;
+    private final int index;
+    private final Task task;
+
+    /**
+     * Constructs an entry.
+     *
+     * @param sequence The sequence number of the event that made the change
+     * @param type The kind of change
+     * @param index The position of the task in the list
+     * @param task The task after the change, or as it was removed
+     */
+    public ChangeEntry(long sequence, ChangeType type, int index, Task task) {
+        assert type != null : "Change type must not be null";
+        assert index >= 0 : "Task index must not be negative";
+        assert task != null : "Task must not be null";
+        this.sequence = sequence;
+        this.type = type;
+        this.index = index;
+        this.task = task;
+    }
+
+    /**
+     * Creates the entry recording a task event.
+     *
+     * @param event The event
+     * @return The entry
+     */
+    public static ChangeEntry of(TaskEvent event) {
+        ChangeType type;
+        if (event instanceof TaskAdded) {
+            type = ChangeType.ADD;
+        } else if (event instanceof TaskRemoved) {
+            type = ChangeType.REMOVE;
+        } else if (event instanceof TaskStatusChanged) {
+            type = ChangeType.STATUS;
+        } else {
+            type = ChangeType.LABELS;
+        }
+        return new ChangeEntry(event.getSequence(), type, event.getIndex(), event.getTask());
+    }
+
+    /**
+     * Parses a line written by {@link #format()}.
+     *
+     * @param line The line, without its line separator
+     * @return The entry
+     * @throws IllegalArgumentException if the line is not a valid entry
+     */
+    public static ChangeEntry parse(String line) {
+        String[] fields = line.split("\t", 4);
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Invalid change log entry: " + line);
+        }
+        ChangeType type = ChangeType.fromString(fields[1]);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid change type: " + fields[1]);
+        }
+        Task task;
+        try {
+            task = Parser.parseTaskLine(fields[3]);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid task in change log entry: " + fields[3], e);
+        }
+        if (task == null) {
+            throw new IllegalArgumentException("Invalid task in change log entry: " + fields[3]);
+        }
+        return new ChangeEntry(Long.parseLong(fields[0]), type, Integer.parseInt(fields[2]), task);
+    }
+
+    /**
+     * Formats the entry as a line of the change log.
+     *
+     * @return The line, without a line separator
+     */
+    public String format() {
+        return sequence + "\t" + type.getTypeString() + "\t" + index + "\t" + Storage.formatTaskLine(task);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
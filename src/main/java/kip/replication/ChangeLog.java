@@ -0,0 +1,165 @@
+package kip.replication;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import kip.KipService;
+import kip.event.TaskAdded;
+import kip.event.TaskEvent;
+import kip.event.TaskLabelsChanged;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.storage.Storage;
+
+/**
+ * Publishes the changes made to a primary's task list in a shared directory,
+ * for {@link Follower}s to mirror.
+ *
+ * <p>Each time a primary starts publishing it begins a new epoch: it writes a
+ * snapshot of its list to <code>snapshot-&lt;epoch&gt;.csv</code>, creates an
+ * empty <code>changes-&lt;epoch&gt;.log</code> and only then writes the epoch
+ * number to the <code>current</code> file, so a follower that sees a new epoch
+ * always finds its snapshot complete. Every task event after the snapshot is
+ * then appended to the change log as one {@link ChangeEntry} line and flushed
+ * straight away. Files of all but the current and previous epochs are
+ * deleted.</p>
+ *
+ * <p>Only one process should publish to a directory at a time.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Follower
+ */
+public class ChangeLog implements TaskListener {
+    /** File holding the number of the current epoch */
+    static final String CURRENT_FILE = "current";
+
+    private final KipService service;
+    private final Writer writer;
+    /** Sequence number of the last event included in the snapshot */
+    private final long snapshotSequence;
+
+    private ChangeLog(KipService service, Writer writer, long snapshotSequence) {
+        this.service = service;
+        this.writer = writer;
+        this.snapshotSequence = snapshotSequence;
+    }
+
+    /**
+     * Starts a new epoch in a directory and publishes every later change to a service's list.
+     *
+     * <p>This must be called on the thread running the service's commands, or
+     * before any are run, so that no change slips in between the snapshot and
+     * the log.</p>
+     *
+     * @param directory The shared directory; created if it does not exist
+     * @param service The primary's service
+     * @return The change log, already listening to the service
+     * @throws IOException if the snapshot, change log or epoch could not be written
+     */
+    public static ChangeLog start(File directory, KipService service) throws IOException {
+        directory.mkdirs();
+        long epoch = readEpoch(directory) + 1;
+
+        File snapshot = snapshotFile(directory, epoch);
+        File temporary = new File(directory, snapshot.getName() + ".tmp");
+        new Storage(temporary.getPath()).save(service.getTasks());
+        Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(changesFile(directory, epoch)), StandardCharsets.UTF_8));
+        File current = new File(directory, CURRENT_FILE);
+        File currentTemporary = new File(directory, CURRENT_FILE + ".tmp");
+        Files.writeString(currentTemporary.toPath(), Long.toString(epoch));
+        Files.move(currentTemporary.toPath(), current.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        snapshotFile(directory, epoch - 2).delete();
+        changesFile(directory, epoch - 2).delete();
+
+        ChangeLog log = new ChangeLog(service, writer, service.getEventBus().getLastSequence());
+        service.addTaskListener(log);
+        return log;
+    }
+
+    /**
+     * Stops publishing changes and closes the change log.
+     */
+    public void close() {
+        service.removeTaskListener(this);
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing change log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        append(event);
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        append(event);
+    }
+
+    @Override
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        append(event);
+    }
+
+    @Override
+    public void onTaskLabelsChanged(TaskLabelsChanged event) {
+        append(event);
+    }
+
+    /**
+     * Appends an event to the change log, skipping the replayed events of tasks already in the snapshot.
+     */
+    private void append(TaskEvent event) {
+        if (event.getSequence() <= snapshotSequence) {
+            return;
+        }
+        try {
+            writer.write(ChangeEntry.of(event).format());
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Error writing change log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the number of the current epoch of a directory.
+     *
+     * @return The epoch, or 0 if no primary has published to the directory yet
+     */
+    static long readEpoch(File directory) {
+        File current = new File(directory, CURRENT_FILE);
+        if (!current.exists()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(current.toPath()).trim());
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error reading " + current + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    static File snapshotFile(File directory, long epoch) {
+        return new File(directory, "snapshot-" + epoch + ".csv");
+    }
+
+    static File changesFile(File directory, long epoch) {
+        return new File(directory, "changes-" + epoch + ".log");
+    }
+}
@@ -0,0 +1,46 @@
+package kip.replication;
+
+/**
+ * The kind of change recorded by a {@link ChangeEntry}, one for each kind of
+ * task event.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public enum ChangeType {
+    /** A task was appended to the list */
+    ADD("add"),
+    /** The task at a position was removed */
+    REMOVE("remove"),
+    /** The task at a position was marked as done or undone */
+    STATUS("status"),
+    /** The tags or priority of the task at a position changed */
+    LABELS("labels");
+
+    /** The string representation of the change type */
+    private final String typeString;
+
+    ChangeType(String typeString) {
+        this.typeString = typeString;
+    }
+
+    public String getTypeString() {
+        return typeString;
+    }
+
+    /**
+     * Converts a string to its corresponding change type, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The change type, or null if no match is found
+     */
+    public static ChangeType fromString(String text) {
+        for (ChangeType type : values()) {
+            if (type.typeString.equalsIgnoreCase(text)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
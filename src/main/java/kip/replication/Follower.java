@@ -0,0 +1,183 @@
+package kip.replication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import kip.KipService;
+import kip.storage.Storage;
+
+/**
+ * Keeps a read-only copy of a primary's task list by tailing the change log
+ * the primary publishes with {@link ChangeLog}.
+ *
+ * <p>Every {@value #POLL_MILLIS} ms the follower checks the directory's
+ * current epoch. When it changes, because the primary restarted or another
+ * follower was promoted, the follower replaces its list with the epoch's
+ * snapshot. It then applies the complete lines appended to the epoch's change
+ * log since it last looked, skipping any it has already applied. A line the
+ * primary is still writing is left for the next poll. If an entry cannot be
+ * applied, the follower reloads the snapshot and replays the log.</p>
+ *
+ * <p>While following, the service rejects commands that would change the
+ * list. The <code>promote</code> command applies what is left of the log,
+ * stops following and starts a new epoch with this service as the
+ * primary.</p>
+ *
+ * <p>Polls hold the service's lock, the same lock
+ * {@link KipService#execute(String)} holds, so changes are never applied
+ * while a command runs.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see ChangeLog
+ */
+public class Follower {
+    /** Time between polls of the change log */
+    public static final long POLL_MILLIS = 100;
+
+    private final File directory;
+    private final KipService service;
+    private final ScheduledExecutorService poller;
+    /** Epoch being followed, 0 before the first snapshot has been loaded */
+    private long epoch;
+    /** Bytes of the change log already applied */
+    private long offset;
+    /** Sequence number of the last entry applied */
+    private long lastSequence;
+    private boolean isPromoted;
+    private ChangeLog promotedLog;
+
+    private Follower(File directory, KipService service) {
+        this.directory = directory;
+        this.service = service;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kip-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Makes a service follow the primary publishing to a directory.
+     *
+     * @param directory The directory the primary publishes its change log to
+     * @param service The service to keep in step; its list is replaced by the primary's
+     * @return The follower, already polling
+     */
+    public static Follower start(File directory, KipService service) {
+        Follower follower = new Follower(directory, service);
+        service.follow(follower::promote);
+        follower.catchUp();
+        follower.poller.scheduleWithFixedDelay(follower::catchUp, POLL_MILLIS, POLL_MILLIS, TimeUnit.MILLISECONDS);
+        return follower;
+    }
+
+    /**
+     * Applies everything the primary has published since the last poll.
+     */
+    public void catchUp() {
+        synchronized (service) {
+            if (isPromoted) {
+                return;
+            }
+            try {
+                long currentEpoch = ChangeLog.readEpoch(directory);
+                if (currentEpoch == 0) {
+                    return;
+                }
+                if (currentEpoch != epoch) {
+                    service.replaceTasks(new Storage(ChangeLog.snapshotFile(directory, currentEpoch).getPath()).load());
+                    epoch = currentEpoch;
+                    offset = 0;
+                    lastSequence = -1;
+                }
+                List<ChangeEntry> entries = readNewEntries();
+                if (!entries.isEmpty()) {
+                    service.applyChanges(entries);
+                    lastSequence = entries.get(entries.size() - 1).getSequence();
+                }
+            } catch (IOException | RuntimeException e) {
+                // Start over from the snapshot on the next poll
+                System.out.println("Error following " + directory + ", reloading: " + e.getMessage());
+                epoch = 0;
+            }
+        }
+    }
+
+    /**
+     * Reads the complete lines appended to the change log since the last poll.
+     */
+    private List<ChangeEntry> readNewEntries() throws IOException {
+        List<ChangeEntry> entries = new ArrayList<>();
+        File changes = ChangeLog.changesFile(directory, epoch);
+        if (!changes.exists()) {
+            return entries;
+        }
+        byte[] appended;
+        try (RandomAccessFile file = new RandomAccessFile(changes, "r")) {
+            long length = file.length();
+            if (length <= offset) {
+                return entries;
+            }
+            appended = new byte[(int) Math.min(length - offset, Integer.MAX_VALUE)];
+            file.seek(offset);
+            file.readFully(appended);
+        }
+        int end = appended.length;
+        while (end > 0 && appended[end - 1] != '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return entries;
+        }
+        for (String line : new String(appended, 0, end, StandardCharsets.UTF_8).split("\n")) {
+            ChangeEntry entry = ChangeEntry.parse(line);
+            if (entry.getSequence() > lastSequence) {
+                entries.add(entry);
+            }
+        }
+        offset += end;
+        return entries;
+    }
+
+    /**
+     * Applies what is left of the change log, stops following and starts
+     * publishing this service's changes as the new primary.
+     *
+     * @throws UncheckedIOException if the new epoch could not be started
+     */
+    private void promote() {
+        synchronized (service) {
+            catchUp();
+            try {
+                promotedLog = ChangeLog.start(directory, service);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            isPromoted = true;
+        }
+        poller.shutdownNow();
+    }
+
+    /**
+     * Stops following without promoting.
+     */
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    /** Returns the change log this follower publishes to since it was promoted, or null if it has not been */
+    public ChangeLog getPromotedLog() {
+        synchronized (service) {
+            return promotedLog;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package kip.response;
+
+/**
+ * Why a command failed, as reported by an error {@link Response}.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Response#getErrorCode()
+ */
+public enum ErrorCode {
+    /** The command word is not a known command */
+    UNKNOWN_COMMAND("unknown-command"),
+    /** The command is missing a description, date or other required part */
+    INCOMPLETE_INSTRUCTION("incomplete-instruction"),
+    /** A date could not be parsed */
+    INVALID_DATE("invalid-date"),
+    /** A list query could not be parsed */
+    INVALID_QUERY("invalid-query"),
+    /** A task number is not a number or is out of range */
+    INVALID_TASK_NUMBER("invalid-task-number"),
+    /** A tag, recurrence or other argument is invalid */
+    INVALID_INPUT("invalid-input"),
+    /** The new task duplicates one in the list and duplicates are rejected */
+    DUPLICATE_TASK("duplicate-task"),
+    /** The command would change a read-only replica */
+    READ_ONLY("read-only"),
+    /** A file being imported or exported could not be read or written */
+    FILE_ERROR("file-error"),
+    /** The command failed for an unexpected reason */
+    INTERNAL("internal");
+
+    /** The string representation of the error code */
+    private final String codeString;
+
+    ErrorCode(String codeString) {
+        this.codeString = codeString;
+    }
+
+    public String getCodeString() {
+        return codeString;
+    }
+
+    /**
+     * Converts a string to its corresponding error code, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The error code, or null if no match is found
+     */
+    public static ErrorCode fromString(String text) {
+        for (ErrorCode code : values()) {
+            if (code.codeString.equalsIgnoreCase(text)) {
+                return code;
+            }
+        }
+        return null;
+    }
+}
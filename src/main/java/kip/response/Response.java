@@ -0,0 +1,156 @@
+package kip.response;
+
+import java.util.List;
+import java.util.function.Supplier;
+import kip.task.Task;
+
+/**
+ * The result of a command run by {@link kip.KipService#execute(String)}.
+ *
+ * <p>A response carries what the command did as data: its kind, the tasks it
+ * affected, the size of the task list afterwards, an error code if it failed
+ * and whether the client should exit. The chat text shown to the user is only
+ * built when {@link #getText()} is first called, so clients that only need the
+ * data, such as a table view or a batch script, never pay for formatting.</p>
+ *
+ * <p>The text is rendered from the tasks as they are when it is first
+ * requested, so clients that want it should ask for it before running the
+ * next command.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see ResponseKind
+ * @see ErrorCode
+ */
+public class Response {
+    private final ResponseKind kind;
+    private final List<Task> tasks;
+    private final int listSize;
+    private final ErrorCode errorCode;
+    private Supplier<String> renderer;
+    private String text;
+
+    /**
+     * Constructs a successful response.
+     *
+     * @param kind What the command did
+     * @param tasks The tasks the command affected or listed, in display order
+     * @param listSize The number of tasks in the list after the command
+     * @param renderer Builds the chat text; called at most once
+     */
+    public Response(ResponseKind kind, List<Task> tasks, int listSize, Supplier<String> renderer) {
+        this(kind, tasks, listSize, null, renderer);
+        assert kind != ResponseKind.ERROR : "Error responses must be created with error()";
+    }
+
+    private Response(ResponseKind kind, List<Task> tasks, int listSize, ErrorCode errorCode,
+            Supplier<String> renderer) {
+        assert kind != null : "Response kind must not be null";
+        assert tasks != null : "Response tasks must not be null";
+        assert renderer != null : "Response renderer must not be null";
+        this.kind = kind;
+        this.tasks = tasks;
+        this.listSize = listSize;
+        this.errorCode = errorCode;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Creates a response that affected no tasks and whose text is already known.
+     *
+     * @param kind What the command did
+     * @param listSize The number of tasks in the list after the command
+     * @param text The chat text
+     * @return The response
+     */
+    public static Response of(ResponseKind kind, int listSize, String text) {
+        assert text != null : "Response text must not be null";
+        return new Response(kind, List.of(), listSize, () -> text);
+    }
+
+    /**
+     * Creates the response of a failed command.
+     *
+     * @param errorCode Why the command failed
+     * @param message The message shown to the user after the error prefix
+     * @param listSize The number of tasks in the list, which the command left unchanged
+     * @return The error response
+     */
+    public static Response error(ErrorCode errorCode, String message, int listSize) {
+        assert errorCode != null : "Error code must not be null";
+        return new Response(ResponseKind.ERROR, List.of(), listSize, errorCode, () -> "ERROR!!! " + message);
+    }
+
+    public ResponseKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the tasks the command affected: the added, merged, marked or
+     * removed task, the removed duplicates, or the listed tasks in display order.
+     * A task appears once per listed occurrence when a query expands a
+     * recurring task.
+     *
+     * @return The affected tasks, empty if the command affected none
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the IDs of the affected tasks.
+     *
+     * @return The task IDs, in the order of {@link #getTasks()}
+     */
+    public int[] getTaskIds() {
+        int[] ids = new int[tasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tasks.get(i).getId();
+        }
+        return ids;
+    }
+
+    /** Returns the number of tasks in the list after the command */
+    public int getListSize() {
+        return listSize;
+    }
+
+    /** Returns why the command failed, or null if it succeeded */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public boolean isError() {
+        return errorCode != null;
+    }
+
+    /** Returns whether the client should exit after showing this response */
+    public boolean isExit() {
+        return kind == ResponseKind.GOODBYE;
+    }
+
+    /**
+     * Returns the chat text of the response, building it on the first call.
+     *
+     * @return The text shown to the user
+     */
+    public String getText() {
+        if (text == null) {
+            text = renderer.get();
+            renderer = null;
+            assert text != null : "Rendered response text must not be null";
+        }
+        return text;
+    }
+
+    /**
+     * Returns the chat text of the response.
+     *
+     * @return The same text as {@link #getText()}
+     */
+    @Override
+    public String toString() {
+        return getText();
+    }
+}
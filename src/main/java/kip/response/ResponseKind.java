@@ -0,0 +1,72 @@
+package kip.response;
+
+/**
+ * What a command did, as reported by a {@link Response}.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Response
+ */
+public enum ResponseKind {
+    /** The user said goodbye and the client should exit */
+    GOODBYE("goodbye"),
+    /** The whole task list was listed */
+    TASK_LIST("list"),
+    /** The tasks matching a query or keyword were listed */
+    MATCHES("matches"),
+    /** The plan for a list query was described */
+    PLAN("plan"),
+    /** A task was added */
+    TASK_ADDED("added"),
+    /** A new task duplicated one in the list and was merged into it */
+    TASK_MERGED("merged"),
+    /** A task was marked as done */
+    TASK_MARKED("marked"),
+    /** A task was marked as not done */
+    TASK_UNMARKED("unmarked"),
+    /** A task was removed */
+    TASK_DELETED("deleted"),
+    /** Duplicate tasks were removed */
+    DEDUPED("deduped"),
+    /** The task statistics were shown */
+    STATS("stats"),
+    /** The command help was shown */
+    HELP("help"),
+    /** A read-only replica became the primary */
+    PROMOTED("promoted"),
+    /** Tasks were imported from a file */
+    IMPORTED("imported"),
+    /** Tasks were exported to a file */
+    EXPORTED("exported"),
+    /** The command metrics were shown */
+    METRICS("metrics"),
+    /** The command failed; see {@link Response#getErrorCode()} */
+    ERROR("error");
+
+    /** The string representation of the kind */
+    private final String kindString;
+
+    ResponseKind(String kindString) {
+        this.kindString = kindString;
+    }
+
+    public String getKindString() {
+        return kindString;
+    }
+
+    /**
+     * Converts a string to its corresponding kind, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The kind, or null if no match is found
+     */
+    public static ResponseKind fromString(String text) {
+        for (ResponseKind kind : values()) {
+            if (kind.kindString.equalsIgnoreCase(text)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,251 @@
+package kip.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import kip.KipService;
+import kip.response.Response;
+import kip.storage.Storage;
+import kip.tenant.TenantRegistry;
+
+/**
+ * Serves one {@link KipService} over HTTP on the loopback interface, so that
+ * several local tools can share a single task list.
+ *
+ * <p>Clients send a command line as the body of a <code>POST</code> to
+ * {@value #COMMAND_PATH} and receive the response text as
+ * <code>text/plain</code>. The response kind, the list size and, for a
+ * rejected command, the error code are returned in the
+ * {@value #KIND_HEADER}, {@value #LIST_SIZE_HEADER} and
+ * {@value #ERROR_HEADER} headers. A rejected command is answered with status
+ * 400. <code>bye</code> only ends the client's conversation; the server keeps
+ * running.</p>
+ *
+ * <p>A server created over a {@link TenantRegistry} serves a list per tenant
+ * instead, taking each tenant's commands at
+ * <code>/tenants/&lt;tenant&gt;/command</code>.</p>
+ *
+ * <p>Connections are kept alive between requests, and requests sent on a
+ * connection without waiting for the previous response are answered in
+ * order. Requests are parsed and answered on a pool of handler threads, but
+ * every command, reads included, runs on the service's single command thread
+ * in the order it arrived, so mutations are applied one at a time and each
+ * response is rendered before the next command can change what it shows.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see KipService#processCommandAsync(String)
+ */
+public class KipServer {
+    /** Port used when none is given */
+    public static final int DEFAULT_PORT = 8765;
+    /** Path accepting commands */
+    public static final String COMMAND_PATH = "/command";
+    /** Path prefix of each tenant's command path when serving a {@link TenantRegistry} */
+    public static final String TENANTS_PATH = "/tenants/";
+    /** Header carrying the kind of the response */
+    public static final String KIND_HEADER = "X-Kip-Kind";
+    /** Header carrying the number of tasks in the list after the command */
+    public static final String LIST_SIZE_HEADER = "X-Kip-List-Size";
+    /** Header carrying the error code of a rejected command */
+    public static final String ERROR_HEADER = "X-Kip-Error";
+    /** Directory next to the task file that a single list server imports from and exports to */
+    public static final String TRANSFER_DIRECTORY = "transfers";
+    /** Connections waiting to be accepted before new ones are refused */
+    private static final int BACKLOG = 256;
+    /** Longest command accepted, in bytes */
+    private static final int MAX_COMMAND_BYTES = 64 * 1024;
+    /** JDK server property disabling Nagle's algorithm on accepted connections */
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    static {
+        // The JDK server writes headers and body separately, so with Nagle's algorithm on, each response on a
+        // kept-alive connection waits for the client's delayed ACK, about 40 ms
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    private final HttpServer httpServer;
+    private final ExecutorService handlers;
+
+    /**
+     * Creates a server for one task list bound to a loopback port. It does not accept requests until started.
+     *
+     * <p>Any local process can send commands, so the service must already have import and export confined
+     * with {@link KipService#confineTransfers(File)}.</p>
+     *
+     * @param kipService The service running the commands
+     * @param port The port, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     * @throws IllegalArgumentException if the service's import and export are not confined
+     */
+    public KipServer(KipService kipService, int port) throws IOException {
+        this(port);
+        assert kipService != null : "Kip service must not be null";
+        if (!kipService.isTransferConfined()) {
+            // Release the port bound above before refusing the service
+            httpServer.stop(0);
+            handlers.shutdown();
+            throw new IllegalArgumentException("The service's import and export must be confined before serving it");
+        }
+        httpServer.createContext(COMMAND_PATH, exchange -> handleCommand(exchange, kipService::processCommandAsync));
+    }
+
+    /**
+     * Creates a server for the task lists of many tenants bound to a loopback port. It does not accept requests
+     * until started.
+     *
+     * @param tenants The registry holding the lists
+     * @param port The port, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public KipServer(TenantRegistry tenants, int port) throws IOException {
+        this(port);
+        assert tenants != null : "Tenant registry must not be null";
+        httpServer.createContext(TENANTS_PATH, exchange -> handleTenantCommand(exchange, tenants));
+    }
+
+    private KipServer(int port) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kip-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(handlers);
+    }
+
+    /** Starts accepting requests */
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for those in progress and stops the handler threads.
+     */
+    public void stop() {
+        httpServer.stop(1);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Returns the port the server is bound to */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Runs the command in the request body on the list of the tenant named in the path.
+     */
+    private static void handleTenantCommand(HttpExchange exchange, TenantRegistry tenants) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String tenantId = path.endsWith(COMMAND_PATH)
+                ? path.substring(TENANTS_PATH.length(), path.length() - COMMAND_PATH.length())
+                : "";
+        if (!TenantRegistry.isValidTenantId(tenantId)) {
+            try {
+                send(exchange, 404, "ERROR!!! Send commands to " + TENANTS_PATH + "<tenant>" + COMMAND_PATH);
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
+        handleCommand(exchange, userInput -> tenants.processCommandAsync(tenantId, userInput));
+    }
+
+    /**
+     * Runs the command in the request body and answers with its response.
+     */
+    private static void handleCommand(HttpExchange exchange, Function<String, CompletableFuture<Response>> runner)
+            throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "ERROR!!! Send commands with POST");
+                return;
+            }
+            byte[] body = exchange.getRequestBody().readNBytes(MAX_COMMAND_BYTES + 1);
+            String userInput = new String(body, StandardCharsets.UTF_8).trim();
+            if (body.length > MAX_COMMAND_BYTES || userInput.isEmpty()) {
+                send(exchange, 400, "ERROR!!! The request body must hold one command");
+                return;
+            }
+
+            Response response;
+            try {
+                response = runner.apply(userInput).join();
+            } catch (CompletionException e) {
+                // Failures inside the command are reported as error responses, so this is only a bug surfacing
+                send(exchange, 500, "ERROR!!! An unexpected error occurred: " + e.getCause().getMessage());
+                return;
+            }
+            exchange.getResponseHeaders().set(KIND_HEADER, response.getKind().getKindString());
+            exchange.getResponseHeaders().set(LIST_SIZE_HEADER, Integer.toString(response.getListSize()));
+            if (response.isError()) {
+                exchange.getResponseHeaders().set(ERROR_HEADER, response.getErrorCode().getCodeString());
+            }
+            send(exchange, response.isError() ? 400 : 200, response.getText());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    /**
+     * Loads the tasks and serves them until the process is stopped.
+     *
+     * @param args The port to listen on, {@value #DEFAULT_PORT} if none is given, optionally followed by a
+     *         directory to serve a list per tenant from
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        if (args.length > 1) {
+            TenantRegistry tenants = new TenantRegistry(new File(args[1]),
+                    TenantRegistry.DEFAULT_MAX_LISTS, TenantRegistry.DEFAULT_MAX_TASKS);
+            KipServer server = new KipServer(tenants, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                tenants.close();
+            }, "kip-server-shutdown"));
+            server.start();
+            System.out.println("Kip is serving http://127.0.0.1:" + server.getPort() + TENANTS_PATH + "<tenant>"
+                    + COMMAND_PATH);
+            return;
+        }
+        KipService kipService = new KipService();
+        kipService.getMetrics().register(Storage.getDefault().getPath());
+        File taskFile = new File(Storage.getDefault().getPath()).getAbsoluteFile();
+        kipService.confineTransfers(new File(taskFile.getParentFile(), TRANSFER_DIRECTORY));
+        KipServer server = new KipServer(kipService, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "kip-server-shutdown"));
+        server.start();
+        System.out.println("Kip is serving http://127.0.0.1:" + server.getPort() + COMMAND_PATH);
+    }
+}
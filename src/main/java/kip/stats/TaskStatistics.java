@@ -0,0 +1,273 @@
+package kip.stats;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+
+/**
+ * Aggregate task counters maintained incrementally from mutation events.
+ * 
+ * <p>The statistics are kept up to date by subscribing to the events published
+ * by {@link kip.KipService}, so answering a summary query never requires
+ * walking the task list. The following counters are available:</p>
+ * <ul>
+ *   <li>Tasks per type (T, D, E) and completion status; recurring tasks count
+ *       as deadlines or events depending on their kind</li>
+ *   <li>Open deadlines whose due time has passed (overdue)</li>
+ *   <li>Open deadlines due today and open events starting today</li>
+ * </ul>
+ * 
+ * <p>Recurring tasks roll forward to their next occurrence, so they are never
+ * counted as overdue or due today.</p>
+ * 
+ * <p>Type and status counters are updated in constant time. Overdue deadlines
+ * are tracked with a watermark: open deadlines wait in a time-ordered map and
+ * are moved to the overdue count the first time a query observes that their
+ * due time has passed, so each deadline is moved at most once while the clock
+ * moves forward.</p>
+ * 
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see kip.event.TaskListener
+ */
+public class TaskStatistics implements TaskListener {
+    /** Type codes in the order used by the counter arrays */
+    private static final String TYPES = "TDE";
+
+    private final Clock clock;
+    /** Number of tasks per type, indexed like {@link #TYPES} */
+    private final int[] totalByType = new int[TYPES.length()];
+    /** Number of completed tasks per type, indexed like {@link #TYPES} */
+    private final int[] doneByType = new int[TYPES.length()];
+    /** Open deadlines whose due time was not yet passed at the watermark */
+    private final TreeMap<LocalDateTime, Integer> pendingDeadlines = new TreeMap<>();
+    /** Open deadlines whose due time was already passed at the watermark */
+    private final TreeMap<LocalDateTime, Integer> overdueDeadlines = new TreeMap<>();
+    /** Open deadlines and events per calendar day */
+    private final Map<LocalDate, Integer> openByDay = new HashMap<>();
+    private LocalDateTime watermark = LocalDateTime.MIN;
+    private int overdueCount;
+
+    /**
+     * Constructs statistics that use the system clock to decide what is overdue.
+     */
+    public TaskStatistics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs statistics that use the given clock to decide what is overdue.
+     * 
+     * @param clock The clock providing the current time
+     */
+    public TaskStatistics(Clock clock) {
+        assert clock != null : "Clock must not be null";
+        this.clock = clock;
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        Task task = event.getTask();
+        int type = typeIndex(task);
+        totalByType[type]++;
+        if (task.isDone()) {
+            doneByType[type]++;
+        } else {
+            addOpen(task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        Task task = event.getTask();
+        int type = typeIndex(task);
+        totalByType[type]--;
+        if (task.isDone()) {
+            doneByType[type]--;
+        } else {
+            removeOpen(task);
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        Task task = event.getTask();
+        int type = typeIndex(task);
+        if (event.isDone()) {
+            doneByType[type]++;
+            removeOpen(task);
+        } else {
+            doneByType[type]--;
+            addOpen(task);
+        }
+    }
+
+    /**
+     * Returns the total number of tasks.
+     * 
+     * @return The number of tasks in the list
+     */
+    public int getTotalCount() {
+        return totalByType[0] + totalByType[1] + totalByType[2];
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     * 
+     * @return The number of tasks marked as done
+     */
+    public int getDoneCount() {
+        return doneByType[0] + doneByType[1] + doneByType[2];
+    }
+
+    /**
+     * Returns the number of tasks not yet completed.
+     * 
+     * @return The number of open tasks
+     */
+    public int getOpenCount() {
+        return getTotalCount() - getDoneCount();
+    }
+
+    /**
+     * Returns the number of tasks of the given type.
+     * 
+     * @param type The type code: T (ToDo), D (Deadline) or E (Event)
+     * @return The number of tasks of that type
+     */
+    public int getCount(char type) {
+        return totalByType[typeIndex(type)];
+    }
+
+    /**
+     * Returns the number of open tasks of the given type.
+     * 
+     * @param type The type code: T (ToDo), D (Deadline) or E (Event)
+     * @return The number of open tasks of that type
+     */
+    public int getOpenCount(char type) {
+        int index = typeIndex(type);
+        return totalByType[index] - doneByType[index];
+    }
+
+    /**
+     * Returns the number of open deadlines whose due time has passed.
+     * 
+     * @return The number of overdue deadlines
+     */
+    public int getOverdueCount() {
+        advanceWatermark(LocalDateTime.now(clock));
+        return overdueCount;
+    }
+
+    /**
+     * Returns the number of open deadlines due today plus open events starting today.
+     * 
+     * @return The number of open tasks dated today
+     */
+    public int getDueTodayCount() {
+        return openByDay.getOrDefault(LocalDate.now(clock), 0);
+    }
+
+    /**
+     * Moves deadlines between the pending and overdue maps so that the
+     * watermark matches the given time.
+     */
+    private void advanceWatermark(LocalDateTime now) {
+        while (!pendingDeadlines.isEmpty() && pendingDeadlines.firstKey().isBefore(now)) {
+            Map.Entry<LocalDateTime, Integer> entry = pendingDeadlines.pollFirstEntry();
+            overdueDeadlines.put(entry.getKey(), entry.getValue());
+            overdueCount += entry.getValue();
+        }
+        // The clock may also move backwards, e.g. when it is adjusted
+        while (!overdueDeadlines.isEmpty() && !overdueDeadlines.lastKey().isBefore(now)) {
+            Map.Entry<LocalDateTime, Integer> entry = overdueDeadlines.pollLastEntry();
+            pendingDeadlines.put(entry.getKey(), entry.getValue());
+            overdueCount -= entry.getValue();
+        }
+        watermark = now;
+        assert overdueCount >= 0 : "Overdue count must not be negative";
+    }
+
+    private void addOpen(Task task) {
+        LocalDateTime date = dateOf(task);
+        if (date == null) {
+            return;
+        }
+        openByDay.merge(date.toLocalDate(), 1, Integer::sum);
+        if (task instanceof Deadline) {
+            if (date.isBefore(watermark)) {
+                overdueDeadlines.merge(date, 1, Integer::sum);
+                overdueCount++;
+            } else {
+                pendingDeadlines.merge(date, 1, Integer::sum);
+            }
+        }
+    }
+
+    private void removeOpen(Task task) {
+        LocalDateTime date = dateOf(task);
+        if (date == null) {
+            return;
+        }
+        decrement(openByDay, date.toLocalDate());
+        if (task instanceof Deadline) {
+            if (date.isBefore(watermark)) {
+                decrement(overdueDeadlines, date);
+                overdueCount--;
+            } else {
+                decrement(pendingDeadlines, date);
+            }
+        }
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Returns the date that decides whether a task is due today or overdue.
+     */
+    private static LocalDateTime dateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFrom();
+        }
+        return null;
+    }
+
+    private static int typeIndex(Task task) {
+        if (task instanceof ToDo) {
+            return 0;
+        } else if (task instanceof Deadline) {
+            return 1;
+        } else if (task instanceof Event) {
+            return 2;
+        } else if (task instanceof RecurringTask) {
+            return ((RecurringTask) task).isEvent() ? 2 : 1;
+        }
+        throw new IllegalArgumentException("Unknown task type: " + task.getClass().getSimpleName());
+    }
+
+    private static int typeIndex(char type) {
+        int index = TYPES.indexOf(Character.toUpperCase(type));
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown task type: " + type);
+        }
+        return index;
+    }
+}
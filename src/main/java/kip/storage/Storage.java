@@ -1,16 +1,21 @@
 package kip.storage;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import kip.task.Task;
 import kip.task.ToDo;
 import kip.task.Deadline;
 import kip.task.Event;
+import kip.task.Priority;
+import kip.task.RecurringTask;
 import kip.command.Parser;
 
 /**
@@ -22,23 +27,31 @@ import kip.command.Parser;
  * 
  * <p>The CSV format used is:</p>
  * <pre>
- * type,done,description,datetime1,datetime2
- * T,0,read book,,
- * D,1,return book,2025-08-19 0000,
- * E,0,meeting,2025-08-19 0000,2025-08-20 0000
+ * type,done,description,datetime1,datetime2,recurrence,tags,priority
+ * T,0,read book,,,,,
+ * D,1,return book,2025-08-19 0000,,,library,high
+ * E,0,meeting,2025-08-19 0000,2025-08-20 0000,,work urgent,
+ * R,0,standup,2025-08-19 0900,2025-08-19 0915,DAILY;COUNT=30,work,
  * </pre>
  * 
  * <p>Where:</p>
  * <ul>
- *   <li><strong>type</strong>: T (ToDo), D (Deadline), or E (Event)</li>
+ *   <li><strong>type</strong>: T (ToDo), D (Deadline), E (Event) or R (Recurring)</li>
  *   <li><strong>done</strong>: 0 (false) or 1 (true)</li>
  *   <li><strong>description</strong>: Task description</li>
  *   <li><strong>datetime1</strong>: Deadline date or event start time</li>
  *   <li><strong>datetime2</strong>: Event end time (unused for ToDo/Deadline)</li>
+ *   <li><strong>recurrence</strong>: Recurrence rule, e.g. WEEKLY;COUNT=10 (only used for Recurring)</li>
+ *   <li><strong>tags</strong>: Space-separated tags, may be empty</li>
+ *   <li><strong>priority</strong>: low, medium or high, empty if none is set</li>
  * </ul>
  * 
- * <p>All file operations are performed on the tasks.csv file located in the
- * storage package directory.</p>
+ * <p>A recurring task is stored as a single row holding its first occurrence
+ * and its recurrence rule; the individual occurrences are never stored.</p>
+ * 
+ * <p>Each instance reads and writes one file, so one process can keep several
+ * task lists. The static {@link #loadTasks()} and {@link #saveTasks(ArrayList)}
+ * use the tasks.csv file located in the storage package directory.</p>
  * 
  * @author alsonleej
  * @version 1.0
@@ -47,10 +60,86 @@ import kip.command.Parser;
  * @see Parser
  */
 public class Storage {
-    /** Path to the CSV file for storing tasks */
-    private static final String CSV_FILE = "src/main/java/kip/storage/tasks.csv";
+    /** Path to the default CSV file for storing tasks */
+    public static final String DEFAULT_FILE = "src/main/java/kip/storage/tasks.csv";
     /** Header line for the CSV file */
-    private static final String CSV_HEADER = "type,done,description,datetime1,datetime2";
+    private static final String CSV_HEADER = "type,done,description,datetime1,datetime2,recurrence,tags,priority";
+    /** Storage of the default file, used by the static methods */
+    private static final Storage DEFAULT_STORAGE = new Storage(DEFAULT_FILE);
+    
+    /** Path to the CSV file for storing tasks */
+    private final String csvFile;
+    /** Bytes written to the file by this storage */
+    private final AtomicLong bytesWritten = new AtomicLong();
+    /** Time spent writing the file, in nanoseconds */
+    private final AtomicLong writeNanos = new AtomicLong();
+    
+    /**
+     * Constructs a storage reading and writing the given CSV file.
+     * 
+     * @param csvFile Path to the CSV file; it is created on the first load if it does not exist
+     */
+    public Storage(String csvFile) {
+        // Assert that the path is not null or empty
+        assert csvFile != null && !csvFile.trim().isEmpty() : "CSV file path must not be null or empty";
+        this.csvFile = csvFile;
+    }
+    
+    /**
+     * Returns the storage of the default CSV file.
+     * 
+     * @return The default storage
+     */
+    public static Storage getDefault() {
+        return DEFAULT_STORAGE;
+    }
+    
+    /**
+     * Returns the path to the CSV file.
+     * 
+     * @return The path given on construction
+     */
+    public String getPath() {
+        return csvFile;
+    }
+    
+    /**
+     * Returns the number of bytes this storage has written to its file.
+     * 
+     * @return The bytes written by saves and appends since construction
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+    
+    /**
+     * Returns the time this storage has spent writing its file.
+     * 
+     * @return The nanoseconds spent in saves and appends since construction
+     */
+    public long getWriteNanos() {
+        return writeNanos.get();
+    }
+    
+    /**
+     * Loads tasks from the default CSV file.
+     * 
+     * @return ArrayList of loaded tasks, empty list if file is new or empty
+     * @see #load()
+     */
+    public static ArrayList<Task> loadTasks() {
+        return DEFAULT_STORAGE.load();
+    }
+    
+    /**
+     * Saves tasks to the default CSV file.
+     * 
+     * @param tasks ArrayList of tasks to save
+     * @see #save(List)
+     */
+    public static void saveTasks(ArrayList<Task> tasks) {
+        DEFAULT_STORAGE.save(tasks);
+    }
     
     /**
      * Loads tasks from the CSV file.
@@ -65,35 +154,32 @@ public class Storage {
      * 
      * @return ArrayList of loaded tasks, empty list if file is new or empty
      */
-    public static ArrayList<Task> loadTasks() {
+    public ArrayList<Task> load() {
         ArrayList<Task> tasks = new ArrayList<>();
-        File csvFile = new File(CSV_FILE);
-        
-        // Assert that CSV_FILE path is not null or empty
-        assert CSV_FILE != null && !CSV_FILE.trim().isEmpty() : "CSV_FILE path must not be null or empty";
+        File file = new File(csvFile);
         
         // Create file if it doesn't exist
-        if (!csvFile.exists()) {
+        if (!file.exists()) {
             try {
-                csvFile.createNewFile();
-                System.out.println("Created new " + CSV_FILE + " file");
+                file.createNewFile();
+                System.out.println("Created new " + csvFile + " file");
                 // Assert that file was created successfully
-                assert csvFile.exists() : "CSV file should exist after creation";
+                assert file.exists() : "CSV file should exist after creation";
             } catch (IOException e) {
-                System.out.println("Error creating " + CSV_FILE + ": " + e.getMessage());
+                System.out.println("Error creating " + csvFile + ": " + e.getMessage());
             }
             return tasks; // Return empty list for new file
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             
             // Assert that file exists and is readable
-            assert csvFile.exists() && csvFile.canRead() : "CSV file must exist and be readable";
+            assert file.exists() && file.canRead() : "CSV file must exist and be readable";
             
-            // Skip header if exists
+            // Skip header if exists (older files lack the later columns)
             String firstLine = reader.readLine();
-            if (firstLine != null && firstLine.startsWith(CSV_HEADER)) {
+            if (firstLine != null && firstLine.startsWith("type,")) {
                 // Skip header line
             } else if (firstLine != null) {
                 // First line is data, parse it
@@ -127,9 +213,9 @@ public class Storage {
             
             // Assert that tasks list is not null after loading
             assert tasks != null : "Tasks list should not be null after loading";
-            System.out.println("Loaded " + tasks.size() + " tasks from " + CSV_FILE);
+            System.out.println("Loaded " + tasks.size() + " tasks from " + csvFile);
         } catch (IOException e) {
-            System.out.println("Error reading " + CSV_FILE + ": " + e.getMessage());
+            System.out.println("Error reading " + csvFile + ": " + e.getMessage());
         }
         
         return tasks;
@@ -147,54 +233,117 @@ public class Storage {
      *   <li><strong>ToDo</strong>: Only type and description are stored</li>
      *   <li><strong>Deadline</strong>: Type, description, and deadline date are stored</li>
      *   <li><strong>Event</strong>: Type, description, start time, and end time are stored</li>
+     *   <li><strong>RecurringTask</strong>: Type, description, first occurrence and rule are stored</li>
      * </ul>
      * 
-     * @param tasks ArrayList of tasks to save
+     * @param tasks List of tasks to save
      */
-    public static void saveTasks(ArrayList<Task> tasks) {
+    public void save(List<Task> tasks) {
         // Assert that tasks list is not null
         assert tasks != null : "Tasks list must not be null when saving";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(CSV_FILE))) {
+        long start = System.nanoTime();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
             // Write header
             writer.println(CSV_HEADER);
             
             // Write each task
             for (Task task : tasks) {
-                // Assert that each task is not null
-                assert task != null : "Individual task must not be null";
-                String type = "";
-                String done = task.isDone() ? "1" : "0";
-                String description = task.getDescription();
-                String datetime1 = "";
-                String datetime2 = "";
-                
-                if (task instanceof ToDo) {
-                    type = "T";
-                } else if (task instanceof Deadline) {
-                    type = "D";
-                    Deadline deadline = (Deadline) task;
-                    // Assert that deadline has a valid 'by' date
-                    assert deadline.getBy() != null : "Deadline task must have a valid 'by' date";
-                    datetime1 = deadline.getBy().format(Parser.getDateTimeFormatter());
-                } else if (task instanceof Event) {
-                    type = "E";
-                    Event event = (Event) task;
-                    // Assert that event has valid start and end times
-                    assert event.getFrom() != null : "Event task must have a valid 'from' time";
-                    assert event.getTo() != null : "Event task must have a valid 'to' time";
-                    datetime1 = event.getFrom().format(Parser.getDateTimeFormatter());
-                    datetime2 = event.getTo().format(Parser.getDateTimeFormatter());
-                }
-                
-                // Assert that we have a valid type for the task
-                assert !type.isEmpty() : "Task type must be determined for all tasks";
-                
-                writer.println(String.format("%s,%s,%s,%s,%s", 
-                        type, done, description, datetime1, datetime2));
+                writer.println(formatTaskLine(task));
             }
         } catch (IOException e) {
-            System.out.println("Error saving " + CSV_FILE + ": " + e.getMessage());
+            System.out.println("Error saving " + csvFile + ": " + e.getMessage());
         }
+        countWrite(start, 0);
+    }
+    
+    /**
+     * Appends tasks to the end of the CSV file, leaving the tasks already in it untouched.
+     * 
+     * <p>This writes only the new lines, so adding a batch of tasks costs the
+     * same however long the list already is. The file must hold the list the
+     * tasks are appended to.</p>
+     * 
+     * @param tasks The tasks to append, in list order
+     */
+    public void append(List<Task> tasks) {
+        assert tasks != null : "Tasks list must not be null when appending";
+        
+        long start = System.nanoTime();
+        File file = new File(csvFile);
+        long originalLength = file.length();
+        boolean isNew = !file.exists() || originalLength == 0;
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(csvFile, true)))) {
+            if (isNew) {
+                writer.println(CSV_HEADER);
+            }
+            for (Task task : tasks) {
+                writer.println(formatTaskLine(task));
+            }
+        } catch (IOException e) {
+            System.out.println("Error saving " + csvFile + ": " + e.getMessage());
+        }
+        countWrite(start, originalLength);
+    }
+    
+    /**
+     * Adds a write that started at the given time and grew the file from the given length to the counters.
+     */
+    private void countWrite(long start, long originalLength) {
+        bytesWritten.addAndGet(Math.max(0, new File(csvFile).length() - originalLength));
+        writeNanos.addAndGet(System.nanoTime() - start);
+    }
+    
+    /**
+     * Formats a task as a line of the CSV file.
+     * 
+     * <p>The line can be read back with {@link Parser#parseTaskLine(String)}.</p>
+     * 
+     * @param task The task
+     * @return The CSV line, without a line separator
+     */
+    public static String formatTaskLine(Task task) {
+        // Assert that the task is not null
+        assert task != null : "Individual task must not be null";
+        String type = "";
+        String done = task.isDone() ? "1" : "0";
+        String description = task.getDescription();
+        String datetime1 = "";
+        String datetime2 = "";
+        String recurrence = "";
+        
+        if (task instanceof ToDo) {
+            type = "T";
+        } else if (task instanceof Deadline) {
+            type = "D";
+            Deadline deadline = (Deadline) task;
+            // Assert that deadline has a valid 'by' date
+            assert deadline.getBy() != null : "Deadline task must have a valid 'by' date";
+            datetime1 = deadline.getBy().format(Parser.getDateTimeFormatter());
+        } else if (task instanceof Event) {
+            type = "E";
+            Event event = (Event) task;
+            // Assert that event has valid start and end times
+            assert event.getFrom() != null : "Event task must have a valid 'from' time";
+            assert event.getTo() != null : "Event task must have a valid 'to' time";
+            datetime1 = event.getFrom().format(Parser.getDateTimeFormatter());
+            datetime2 = event.getTo().format(Parser.getDateTimeFormatter());
+        } else if (task instanceof RecurringTask) {
+            type = "R";
+            RecurringTask recurring = (RecurringTask) task;
+            datetime1 = recurring.getStart().format(Parser.getDateTimeFormatter());
+            if (recurring.isEvent()) {
+                datetime2 = recurring.getEnd().format(Parser.getDateTimeFormatter());
+            }
+            recurrence = recurring.getRecurrence().toRule();
+        }
+        
+        // Assert that we have a valid type for the task
+        assert !type.isEmpty() : "Task type must be determined for all tasks";
+        
+        String tags = String.join(" ", task.getTags());
+        String priority = task.getPriority() == Priority.NONE ? "" : task.getPriority().getPriorityString();
+        return String.format("%s,%s,%s,%s,%s,%s,%s,%s", 
+                type, done, description, datetime1, datetime2, recurrence, tags, priority);
     }
 }
@@ -33,12 +33,12 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toString() {
+    protected String render() {
         // Assert that 'by' date is not null before formatting
-        assert by != null : "Deadline 'by' date must not be null for toString()";
-        String result = "[D]" + super.toString() + " (by: " + by.format(DISPLAY_FORMATTER) + ")";
+        assert by != null : "Deadline 'by' date must not be null for render()";
+        String result = "[D]" + super.render() + " (by: " + by.format(DISPLAY_FORMATTER) + ")";
         // Assert that result is not null
-        assert result != null : "Deadline toString() result must not be null";
+        assert result != null : "Deadline render() result must not be null";
         return result;
     }
 }
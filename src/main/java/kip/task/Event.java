@@ -45,14 +45,14 @@ public class Event extends Task {
     }
 
     @Override
-    public String toString() {
+    protected String render() {
         // Assert that both dates are not null before formatting
-        assert from != null : "Event 'from' date must not be null for toString()";
-        assert to != null : "Event 'to' date must not be null for toString()";
-        String result = "[E]" + super.toString() + " (from: " + from.format(DISPLAY_FORMATTER) 
+        assert from != null : "Event 'from' date must not be null for render()";
+        assert to != null : "Event 'to' date must not be null for render()";
+        String result = "[E]" + super.render() + " (from: " + from.format(DISPLAY_FORMATTER) 
                 + " to: " + to.format(DISPLAY_FORMATTER) + ")";
         // Assert that result is not null
-        assert result != null : "Event toString() result must not be null";
+        assert result != null : "Event render() result must not be null";
         return result;
     }
 }
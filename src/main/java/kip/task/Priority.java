@@ -0,0 +1,44 @@
+package kip.task;
+
+/**
+ * Priority levels of a task, written as <code>!low</code>, <code>!medium</code>
+ * or <code>!high</code> in user input.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Task
+ */
+public enum Priority {
+    /** No priority has been set */
+    NONE("none"),
+    LOW("low"),
+    MEDIUM("medium"),
+    HIGH("high");
+
+    /** The string representation of the priority */
+    private final String priorityString;
+
+    Priority(String priorityString) {
+        this.priorityString = priorityString;
+    }
+
+    public String getPriorityString() {
+        return priorityString;
+    }
+
+    /**
+     * Converts a string to its corresponding priority, ignoring case.
+     *
+     * @param text The string to convert
+     * @return The priority, or null if no match is found
+     */
+    public static Priority fromString(String text) {
+        for (Priority priority : values()) {
+            if (priority.priorityString.equalsIgnoreCase(text)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
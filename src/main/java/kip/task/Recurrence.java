@@ -0,0 +1,211 @@
+package kip.task;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import kip.command.Parser;
+import kip.exception.InvalidDateException;
+
+/**
+ * Describes how often a {@link RecurringTask} repeats and when it stops.
+ *
+ * <p>A recurrence has a frequency (daily, weekly or monthly) and may be bounded
+ * by an end date, a number of occurrences, or both. Occurrences are computed
+ * arithmetically from the first one, so any occurrence can be found without
+ * generating the ones before it.</p>
+ *
+ * <p>The rule is stored in the CSV file in a compact form such as
+ * {@code WEEKLY;COUNT=10} or {@code DAILY;UNTIL=2025-12-31 0000}.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see RecurringTask
+ */
+public class Recurrence {
+    private static final DateTimeFormatter DISPLAY_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
+    /** How often a recurring task repeats */
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, 1),
+        WEEKLY(ChronoUnit.DAYS, 7),
+        MONTHLY(ChronoUnit.MONTHS, 1);
+
+        private final ChronoUnit unit;
+        private final int step;
+
+        Frequency(ChronoUnit unit, int step) {
+            this.unit = unit;
+            this.step = step;
+        }
+    }
+
+    private final Frequency frequency;
+    /** Last moment an occurrence may start, or null if unbounded */
+    private final LocalDateTime until;
+    /** Maximum number of occurrences, or 0 if unbounded */
+    private final int count;
+
+    /**
+     * Constructs a recurrence.
+     *
+     * @param frequency How often the task repeats
+     * @param until The last moment an occurrence may start, or null if unbounded
+     * @param count The maximum number of occurrences, or 0 if unbounded
+     */
+    public Recurrence(Frequency frequency, LocalDateTime until, int count) {
+        assert frequency != null : "Recurrence frequency must not be null";
+        if (count < 0) {
+            throw new IllegalArgumentException("Occurrence count cannot be negative");
+        }
+        this.frequency = frequency;
+        this.until = until;
+        this.count = count;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the start of the n-th occurrence, counting from 0.
+     *
+     * @param first The start of the first occurrence
+     * @param n The occurrence number
+     * @return The start of that occurrence, or null if the recurrence has ended by then
+     */
+    public LocalDateTime occurrence(LocalDateTime first, long n) {
+        if (n < 0 || (count > 0 && n >= count)) {
+            return null;
+        }
+        LocalDateTime start = first.plus(n * frequency.step, frequency.unit);
+        if (until != null && start.isAfter(until)) {
+            return null;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the number of the first occurrence starting at or after the given time.
+     *
+     * <p>The result may point past the end of the recurrence, in which case
+     * {@link #occurrence(LocalDateTime, long)} returns null for it.</p>
+     *
+     * @param first The start of the first occurrence
+     * @param time The time to search from
+     * @return The occurrence number
+     */
+    public long firstOccurrenceAtOrAfter(LocalDateTime first, LocalDateTime time) {
+        if (!time.isAfter(first)) {
+            return 0;
+        }
+        long n = frequency.unit.between(first, time) / frequency.step;
+        // Month lengths vary, so step forward until the occurrence is not before the time
+        while (first.plus(n * frequency.step, frequency.unit).isBefore(time)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the rule in the form stored in the CSV file.
+     *
+     * @return The rule, e.g. {@code WEEKLY;COUNT=10}
+     */
+    public String toRule() {
+        String rule = frequency.name();
+        if (until != null) {
+            rule += ";UNTIL=" + until.format(Parser.getDateTimeFormatter());
+        }
+        if (count > 0) {
+            rule += ";COUNT=" + count;
+        }
+        return rule;
+    }
+
+    /**
+     * Parses a rule in the form produced by {@link #toRule()}.
+     *
+     * @param rule The rule to parse
+     * @return The recurrence
+     * @throws InvalidDateException if the rule is malformed
+     */
+    public static Recurrence fromRule(String rule) throws InvalidDateException {
+        String[] parts = rule.trim().split(";");
+        Frequency frequency = parseFrequency(parts[0]);
+        LocalDateTime until = null;
+        int count = 0;
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].startsWith("UNTIL=")) {
+                until = Parser.parseDateTime(parts[i].substring("UNTIL=".length()), "until");
+            } else if (parts[i].startsWith("COUNT=")) {
+                count = parseCount(parts[i].substring("COUNT=".length()));
+            } else {
+                throw new InvalidDateException("Invalid recurrence rule: " + rule);
+            }
+        }
+        return new Recurrence(frequency, until, count);
+    }
+
+    /**
+     * Parses a frequency name such as "daily" or "WEEKLY".
+     *
+     * @param text The frequency name
+     * @return The frequency
+     * @throws InvalidDateException if the name is not a known frequency
+     */
+    public static Frequency parseFrequency(String text) throws InvalidDateException {
+        for (Frequency frequency : Frequency.values()) {
+            if (frequency.name().equalsIgnoreCase(text.trim())) {
+                return frequency;
+            }
+        }
+        throw new InvalidDateException("Invalid recurrence: " + text.trim()
+                + ". Please use daily, weekly or monthly");
+    }
+
+    /**
+     * Parses a positive occurrence count.
+     *
+     * @param text The count
+     * @return The count
+     * @throws InvalidDateException if the text is not a positive number
+     */
+    public static int parseCount(String text) throws InvalidDateException {
+        try {
+            int count = Integer.parseInt(text.trim());
+            if (count > 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new InvalidDateException("Invalid count: " + text.trim() + ". Please use a positive number");
+    }
+
+    /**
+     * Returns a human-readable description such as "weekly, 10 times".
+     *
+     * @return The description
+     */
+    @Override
+    public String toString() {
+        String result = frequency.name().toLowerCase();
+        if (count > 0) {
+            result += ", " + count + " times";
+        }
+        if (until != null) {
+            result += ", until " + until.format(DISPLAY_FORMATTER);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,182 @@
+package kip.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A deadline or event that repeats according to a {@link Recurrence}.
+ *
+ * <p>A recurring task is stored as a single task: its first occurrence plus
+ * the recurrence rule. Individual occurrences are never materialised; they are
+ * generated lazily by {@link #occurrencesBetween(LocalDateTime, LocalDateTime)},
+ * which jumps straight to the first occurrence inside the requested window.</p>
+ *
+ * <p>A recurring deadline has only a due time per occurrence. A recurring event
+ * also has a length, so each occurrence ends that long after it starts.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Recurrence
+ */
+public class RecurringTask extends Task {
+    private static final DateTimeFormatter DISPLAY_FORMATTER =
+            DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
+    /** Start (or due time) of the first occurrence */
+    private final LocalDateTime start;
+    /** Length of each occurrence, or null for a recurring deadline */
+    private final Duration length;
+    private final Recurrence recurrence;
+
+    /**
+     * Constructs a recurring deadline.
+     *
+     * @param description The task description
+     * @param by The due time of the first occurrence
+     * @param recurrence How the deadline repeats
+     */
+    public RecurringTask(String description, LocalDateTime by, Recurrence recurrence) {
+        this(description, by, null, recurrence);
+    }
+
+    /**
+     * Constructs a recurring deadline or event.
+     *
+     * @param description The task description
+     * @param start The start (or due time) of the first occurrence
+     * @param end The end of the first occurrence, or null for a recurring deadline
+     * @param recurrence How the task repeats
+     */
+    public RecurringTask(String description, LocalDateTime start, LocalDateTime end, Recurrence recurrence) {
+        super(description);
+        assert start != null : "Recurring task start must not be null";
+        assert recurrence != null : "Recurrence must not be null";
+        if (end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("Recurring event cannot end before it starts");
+        }
+        this.start = start;
+        this.length = end == null ? null : Duration.between(start, end);
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Returns whether this is a recurring event rather than a recurring deadline.
+     *
+     * @return true if every occurrence has a start and an end
+     */
+    public boolean isEvent() {
+        return length != null;
+    }
+
+    /**
+     * Returns the start (or due time) of the first occurrence.
+     *
+     * @return The first occurrence
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end of the first occurrence.
+     *
+     * @return The end of the first occurrence, or null for a recurring deadline
+     */
+    public LocalDateTime getEnd() {
+        return length == null ? null : start.plus(length);
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns the first occurrence starting strictly after the given time.
+     *
+     * @param time The time to search from
+     * @return The start of the next occurrence, or null if the recurrence has ended
+     */
+    public LocalDateTime nextOccurrenceAfter(LocalDateTime time) {
+        long n = recurrence.firstOccurrenceAtOrAfter(start, time);
+        LocalDateTime occurrence = recurrence.occurrence(start, n);
+        if (occurrence != null && occurrence.equals(time)) {
+            occurrence = recurrence.occurrence(start, n + 1);
+        }
+        return occurrence;
+    }
+
+    /**
+     * Lazily generates the occurrences that fall inside a window.
+     *
+     * <p>For a recurring deadline an occurrence falls inside the window when its
+     * due time is at or after {@code from} and before {@code to}. For a recurring
+     * event it does when it overlaps the window.</p>
+     *
+     * @param from The start of the window (inclusive)
+     * @param to The end of the window (exclusive)
+     * @return An iterator over the start times of matching occurrences
+     */
+    public Iterator<LocalDateTime> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        // An event that started before the window may still overlap it
+        LocalDateTime searchFrom = length == null ? from : from.minus(length);
+        long first = recurrence.firstOccurrenceAtOrAfter(start, searchFrom);
+        return new Iterator<>() {
+            private long n = first;
+            private LocalDateTime next = advance();
+
+            private LocalDateTime advance() {
+                while (true) {
+                    LocalDateTime occurrence = recurrence.occurrence(start, n++);
+                    if (occurrence == null || !occurrence.isBefore(to)) {
+                        return null;
+                    }
+                    if (length == null || occurrence.plus(length).isAfter(from)) {
+                        return occurrence;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime result = next;
+                next = advance();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Returns the display line of a single occurrence.
+     *
+     * @param occurrence The start of the occurrence
+     * @return The display line, e.g. {@code [R][ ] standup (from: ... to: ...)}
+     */
+    public String occurrenceToString(LocalDateTime occurrence) {
+        return "[R]" + super.render() + " (" + formatTimes(occurrence) + ")";
+    }
+
+    private String formatTimes(LocalDateTime occurrence) {
+        if (length == null) {
+            return "by: " + occurrence.format(DISPLAY_FORMATTER);
+        }
+        return "from: " + occurrence.format(DISPLAY_FORMATTER)
+                + " to: " + occurrence.plus(length).format(DISPLAY_FORMATTER);
+    }
+
+    @Override
+    protected String render() {
+        return "[R]" + super.render() + " (" + formatTimes(start) + ", " + recurrence + ")";
+    }
+}
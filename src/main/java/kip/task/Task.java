@@ -1,5 +1,10 @@
 package kip.task;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
 /**
  * Abstract base class representing a task in the Kip task management system.
  * 
@@ -16,6 +21,7 @@ package kip.task;
  *   <li>Setting and retrieving task descriptions</li>
  *   <li>Marking tasks as done or undone</li>
  *   <li>Getting completion status</li>
+ *   <li>Tagging the task and setting its priority</li>
  *   <li>String representation with completion status</li>
  * </ul>
  * 
@@ -31,6 +37,18 @@ public abstract class Task {
     protected String description;
     /** Flag indicating whether the task has been completed */
     protected boolean isDone;
+    /** Identifier assigned by the owning service, 0 until assigned */
+    protected int id;
+    /** Incremented every time the state of the task changes */
+    protected int version;
+    /** Lower-case tags, in the order they were added */
+    protected final Set<String> tags = new LinkedHashSet<>();
+    /** Priority of the task */
+    protected Priority priority = Priority.NONE;
+    /** Display line cached by {@link #toString()}, valid while the version is unchanged */
+    private String renderedLine;
+    /** Version of the task when the cached display line was rendered */
+    private int renderedVersion = -1;
 
     /**
      * Constructs a new Task with the specified description.
@@ -74,6 +92,37 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the identifier of the task.
+     * 
+     * <p>IDs are assigned by {@link kip.KipService} when the task is added to
+     * the list and stay stable while the task's position changes.</p>
+     * 
+     * @return The task ID, or 0 if the task has not been added to a list yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the identifier of the task.
+     * 
+     * @param id The task ID, must be positive
+     */
+    public void setId(int id) {
+        assert id > 0 : "Task ID must be positive";
+        this.id = id;
+    }
+
+    /**
+     * Returns the version of the task, which increases on every state change.
+     * 
+     * @return The task version
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Returns whether the task has been completed.
      * 
@@ -91,6 +140,7 @@ public abstract class Task {
      */
     public void markAsDone() {
         isDone = true;
+        version++;
         // Assert that task is marked as done
         assert isDone == true : "Task should be marked as done after calling markAsDone()";
     }
@@ -103,25 +153,120 @@ public abstract class Task {
      */
     public void unmarkAsDone() {
         isDone = false;
+        version++;
         // Assert that task is unmarked
         assert isDone == false : "Task should be unmarked after calling unmarkAsDone()";
     }
 
+    /**
+     * Returns the tags of the task.
+     * 
+     * @return The lower-case tags, in the order they were added
+     */
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(tags);
+    }
+
+    /**
+     * Adds a tag to the task.
+     * 
+     * @param tag The tag, without the leading +; it is stored in lower case
+     * @throws IllegalArgumentException if the tag is not a valid tag name
+     */
+    public void addTag(String tag) {
+        if (!isValidTag(tag)) {
+            throw new IllegalArgumentException("Invalid tag: " + tag 
+                    + ". Tags may only contain letters, digits, - and _, and cannot be 'done'");
+        }
+        if (tags.add(tag.toLowerCase(Locale.ROOT))) {
+            version++;
+        }
+    }
+
+    /**
+     * Returns the priority of the task.
+     * 
+     * @return The priority, {@link Priority#NONE} if none has been set
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of the task.
+     * 
+     * @param priority The new priority
+     */
+    public void setPriority(Priority priority) {
+        assert priority != null : "Priority must not be null";
+        if (this.priority != priority) {
+            this.priority = priority;
+            version++;
+        }
+    }
+
+    /**
+     * Returns whether a string can be used as a tag name.
+     * 
+     * <p>Tags are made of letters, digits, hyphens and underscores. The name
+     * <code>done</code> is reserved, since <code>+done</code> and <code>-done</code>
+     * filter list queries by completion status.</p>
+     * 
+     * @param tag The candidate tag name, without the leading +
+     * @return true if the name is valid
+     */
+    public static boolean isValidTag(String tag) {
+        if (tag == null || tag.isEmpty() || tag.equalsIgnoreCase("done")) {
+            return false;
+        }
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns a string representation of the task.
      * 
-     * <p>The format is: [status] description, where status is either
-     * a space ( ) for incomplete tasks or X for completed tasks.</p>
+     * <p>The line is rendered by {@link #render()} and cached until the task's
+     * version changes, so printing an unchanged task repeatedly does no
+     * formatting. Every method that changes what is displayed must therefore
+     * increment the version.</p>
      * 
      * @return String representation of the task
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        if (renderedLine == null || renderedVersion != version) {
+            renderedLine = render();
+            renderedVersion = version;
+        }
+        return renderedLine;
+    }
+
+    /**
+     * Renders the display line of the task.
+     * 
+     * <p>The format is: [status] description, where status is either
+     * a space ( ) for incomplete tasks or X for completed tasks, followed
+     * by the tags and priority if there are any, e.g. [ ] read book +school !high.
+     * Subclasses add their type and dates around it.</p>
+     * 
+     * @return The display line
+     */
+    protected String render() {
         // Assert that description is not null before creating string representation
-        assert description != null : "Description must not be null for toString()";
-        String result = "[" + getStatusIcon() + "] " + description;
-        // Assert that result is not null
-        assert result != null : "toString() result must not be null";
-        return result;
+        assert description != null : "Description must not be null for render()";
+        StringBuilder result = new StringBuilder("[").append(getStatusIcon()).append("] ").append(description);
+        for (String tag : tags) {
+            result.append(" +").append(tag);
+        }
+        if (priority != Priority.NONE) {
+            result.append(" !").append(priority.getPriorityString());
+        }
+        return result.toString();
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,7 @@ public class ToDo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString(); // eg [T][ ] read book
+    protected String render() {
+        return "[T]" + super.render(); // eg [T][ ] read book
     }
 }
@@ -0,0 +1,183 @@
+package kip.tenant;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import kip.KipService;
+import kip.response.Response;
+import kip.storage.Storage;
+
+/**
+ * Keeps the task lists of many tenants, each in its own CSV file, with only
+ * the most recently used ones loaded.
+ *
+ * <p>A tenant's list is loaded into a {@link KipService} the first time it is
+ * used. Once more lists are loaded than the list budget allows, or they hold
+ * more tasks in total than the task budget allows, the least recently used
+ * lists are closed, which saves them, and dropped from memory. An evicted
+ * list is loaded again from its file the next time it is used. The task
+ * count stands in for memory use; it is checked whenever a list is used, so
+ * a list that grows while in use can take the total over budget until the
+ * next use of any list.</p>
+ *
+ * <p>A tenant can only import and export files in its own directory,
+ * <code>&lt;tenant&gt;/</code> beside its list, named relative to it.</p>
+ *
+ * <p>The registry is thread-safe. A list is evicted while holding the
+ * registry's lock and only after the commands already submitted to it have
+ * run, so a list is never loaded from its file while an evicted copy is
+ * still being saved.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see Storage
+ */
+public class TenantRegistry {
+    /** Most lists kept loaded by default */
+    public static final int DEFAULT_MAX_LISTS = 1_000;
+    /** Most tasks kept loaded across all lists by default */
+    public static final int DEFAULT_MAX_TASKS = 1_000_000;
+    /** Longest tenant ID accepted */
+    private static final int MAX_TENANT_ID_LENGTH = 64;
+
+    private final File directory;
+    private final int maxLists;
+    private final int maxTasks;
+    /** Loaded lists, from the least to the most recently used */
+    private final LinkedHashMap<String, KipService> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private int loadCount;
+    private int evictionCount;
+
+    /**
+     * Constructs a registry keeping each tenant's list in <code>&lt;tenant&gt;.csv</code> in a directory.
+     *
+     * @param directory The directory holding the lists; created if it does not exist
+     * @param maxLists The most lists kept loaded, at least 1
+     * @param maxTasks The most tasks kept loaded across all lists
+     */
+    public TenantRegistry(File directory, int maxLists, int maxTasks) {
+        assert directory != null : "Directory must not be null";
+        assert maxLists >= 1 : "At least one list must fit in the budget";
+        assert maxTasks >= 0 : "Task budget must not be negative";
+        directory.mkdirs();
+        this.directory = directory;
+        this.maxLists = maxLists;
+        this.maxTasks = maxTasks;
+    }
+
+    /**
+     * Returns whether a string can be used as a tenant ID.
+     *
+     * <p>IDs name files, so they are made of letters, digits, hyphens and
+     * underscores only.</p>
+     *
+     * @param tenantId The candidate ID
+     * @return true if the ID is valid
+     */
+    public static boolean isValidTenantId(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty() || tenantId.length() > MAX_TENANT_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < tenantId.length(); i++) {
+            char c = tenantId.charAt(i);
+            boolean isAsciiLetterOrDigit = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (!isAsciiLetterOrDigit && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a tenant's list, loading it if needed and evicting the least
+     * recently used lists if that takes the registry over budget.
+     *
+     * <p>The returned service may be evicted by a later call, after which it
+     * must not be used; callers should get the list again for every command,
+     * or use {@link #processCommandAsync(String, String)}.</p>
+     *
+     * @param tenantId The tenant ID
+     * @return The tenant's service
+     * @throws IllegalArgumentException if the tenant ID is not valid
+     */
+    public synchronized KipService get(String tenantId) {
+        if (!isValidTenantId(tenantId)) {
+            throw new IllegalArgumentException("Invalid tenant ID: " + tenantId
+                    + ". Tenant IDs may only contain letters, digits, - and _");
+        }
+        KipService service = loaded.get(tenantId);
+        if (service == null) {
+            String csvFile = new File(directory, tenantId + ".csv").getPath();
+            service = new KipService(new Storage(csvFile));
+            service.confineTransfers(new File(directory, tenantId));
+            service.getMetrics().register(csvFile);
+            loaded.put(tenantId, service);
+            loadCount++;
+        }
+        evictOverBudget(tenantId);
+        return service;
+    }
+
+    /**
+     * Runs a command on a tenant's list on that list's command thread.
+     *
+     * @param tenantId The tenant ID
+     * @param userInput The command line
+     * @return A future completed with the rendered response once the command has run
+     * @throws IllegalArgumentException if the tenant ID is not valid
+     * @see KipService#processCommandAsync(String)
+     */
+    public synchronized CompletableFuture<Response> processCommandAsync(String tenantId, String userInput) {
+        // Submitting under the lock keeps the list from being evicted between the two calls
+        return get(tenantId).processCommandAsync(userInput);
+    }
+
+    /**
+     * Closes the least recently used lists other than the one just used until the registry is within budget.
+     */
+    private void evictOverBudget(String justUsed) {
+        int taskCount = 0;
+        for (KipService service : loaded.values()) {
+            taskCount += service.getTasks().size();
+        }
+        Iterator<Map.Entry<String, KipService>> lists = loaded.entrySet().iterator();
+        while (lists.hasNext() && (loaded.size() > maxLists || taskCount > maxTasks)) {
+            Map.Entry<String, KipService> list = lists.next();
+            if (list.getKey().equals(justUsed)) {
+                continue;
+            }
+            taskCount -= list.getValue().getTasks().size();
+            lists.remove();
+            list.getValue().close();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Closes every loaded list, saving it.
+     */
+    public synchronized void close() {
+        for (KipService service : loaded.values()) {
+            service.close();
+        }
+        loaded.clear();
+    }
+
+    /** Returns the number of lists currently loaded */
+    public synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /** Returns the number of times a list has been loaded from its file */
+    public synchronized int getLoadCount() {
+        return loadCount;
+    }
+
+    /** Returns the number of times a list has been evicted */
+    public synchronized int getEvictionCount() {
+        return evictionCount;
+    }
+}
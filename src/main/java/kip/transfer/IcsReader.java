@@ -0,0 +1,367 @@
+package kip.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import kip.exception.InvalidDateException;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+
+/**
+ * Reads tasks from an iCalendar file, one component at a time.
+ *
+ * <p>Each <code>VEVENT</code> becomes an event and each <code>VTODO</code> a
+ * deadline if it has a <code>DUE</code> date or a todo if it does not. A
+ * component with an <code>RRULE</code> becomes a recurring task, provided the
+ * rule only uses a daily, weekly or monthly frequency with an optional count
+ * and end date; components with other rules are skipped. The summary becomes
+ * the description, the categories become tags and the 1 to 9 priority is
+ * mapped to high, medium or low. A todo with the <code>COMPLETED</code> status
+ * is read as done. Other components and properties, such as time zone
+ * definitions and alarms, are ignored.</p>
+ *
+ * <p>Times in UTC are converted to the local time zone. Times with a
+ * <code>TZID</code> and floating times are read as local times.</p>
+ *
+ * <p>The file is read line by line. Only the properties Kip uses are kept
+ * while a component is read, and a folded line is cut off at
+ * {@value #MAX_LINE_LENGTH} chars, so memory use does not depend on the size
+ * of the file.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see IcsWriter
+ */
+public class IcsReader implements TaskReader {
+    /** Longest unfolded line kept, in chars */
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BufferedReader reader;
+    /** Physical line read while looking for the end of a folded line, or null */
+    private String lookahead;
+    private boolean isFirstLine = true;
+    private int skippedCount;
+
+    /**
+     * Constructs a reader over iCalendar text.
+     *
+     * @param in The text; closed when the reader is closed
+     */
+    public IcsReader(Reader in) {
+        this.reader = new BufferedReader(in, TransferFormat.BUFFER_SIZE);
+    }
+
+    @Override
+    public Task read() throws IOException {
+        String line;
+        while ((line = nextLine()) != null) {
+            boolean isEvent = line.equalsIgnoreCase("BEGIN:VEVENT");
+            if (!isEvent && !line.equalsIgnoreCase("BEGIN:VTODO")) {
+                continue;
+            }
+            Map<String, Property> properties = new HashMap<>();
+            StringBuilder categories = new StringBuilder();
+            if (!readComponent(isEvent ? "VEVENT" : "VTODO", properties, categories)) {
+                // The file ended inside the component
+                skippedCount++;
+                return null;
+            }
+            try {
+                return toTask(isEvent, properties, categories.toString());
+            } catch (InvalidDateException | RuntimeException e) {
+                skippedCount++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the properties of a component up to its end, skipping nested components.
+     *
+     * @return false if the file ended first
+     */
+    private boolean readComponent(String name, Map<String, Property> properties, StringBuilder categories)
+            throws IOException {
+        int nestedDepth = 0;
+        String line;
+        while ((line = nextLine()) != null) {
+            String upperCaseLine = line.toUpperCase(Locale.ROOT);
+            if (upperCaseLine.startsWith("BEGIN:")) {
+                nestedDepth++;
+            } else if (upperCaseLine.startsWith("END:")) {
+                if (nestedDepth == 0) {
+                    return upperCaseLine.equals("END:" + name);
+                }
+                nestedDepth--;
+            } else if (nestedDepth == 0) {
+                Property property = Property.parse(line);
+                if (property == null) {
+                    continue;
+                }
+                if (property.name.equals("CATEGORIES")) {
+                    if (categories.length() < MAX_LINE_LENGTH) {
+                        categories.append(categories.length() == 0 ? "" : ",").append(property.value);
+                    }
+                } else if (isUsed(property.name)) {
+                    properties.putIfAbsent(property.name, property);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUsed(String name) {
+        switch (name) {
+        case "SUMMARY":
+        case "DTSTART":
+        case "DTEND":
+        case "DUE":
+        case "RRULE":
+        case "STATUS":
+        case "PRIORITY":
+        case "X-KIP-DONE":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Builds the task described by a component's properties.
+     *
+     * @return The task
+     * @throws InvalidDateException if a date or the recurrence rule cannot be read
+     * @throws IllegalArgumentException if the component cannot be turned into a task
+     */
+    private static Task toTask(boolean isEvent, Map<String, Property> properties, String categories)
+            throws InvalidDateException {
+        Property summary = properties.get("SUMMARY");
+        if (summary == null) {
+            throw new IllegalArgumentException("Component has no summary");
+        }
+        String description = TaskFields.cleanDescription(unescape(summary.value));
+        Property rule = properties.get("RRULE");
+        Recurrence recurrence = rule == null ? null : parseRule(rule.value);
+
+        Task task;
+        if (isEvent) {
+            Property start = properties.get("DTSTART");
+            if (start == null) {
+                throw new IllegalArgumentException("Event has no start");
+            }
+            LocalDateTime from = parseDateTime(start.value);
+            Property end = properties.get("DTEND");
+            LocalDateTime to = end == null ? from : parseDateTime(end.value);
+            task = recurrence == null
+                    ? new Event(description, from, to)
+                    : new RecurringTask(description, from, to, recurrence);
+        } else {
+            Property due = properties.get("DUE");
+            if (due == null) {
+                task = new ToDo(description);
+            } else if (recurrence == null) {
+                task = new Deadline(description, parseDateTime(due.value));
+            } else {
+                task = new RecurringTask(description, parseDateTime(due.value), recurrence);
+            }
+        }
+
+        Property status = properties.get("STATUS");
+        Property done = properties.get("X-KIP-DONE");
+        if ((status != null && status.value.equalsIgnoreCase("COMPLETED"))
+                || (done != null && done.value.equalsIgnoreCase("TRUE"))) {
+            task.markAsDone();
+        }
+        for (String category : categories.split(",")) {
+            TaskFields.addTag(task, unescape(category));
+        }
+        Property priority = properties.get("PRIORITY");
+        if (priority != null) {
+            task.setPriority(toPriority(Integer.parseInt(priority.value.trim())));
+        }
+        return task;
+    }
+
+    /**
+     * Maps an iCalendar priority, 1 being the highest and 0 undefined, to a Kip priority.
+     */
+    static Priority toPriority(int level) {
+        if (level <= 0) {
+            return Priority.NONE;
+        } else if (level <= 4) {
+            return Priority.HIGH;
+        } else if (level == 5) {
+            return Priority.MEDIUM;
+        }
+        return Priority.LOW;
+    }
+
+    /**
+     * Parses a recurrence rule such as <code>FREQ=WEEKLY;COUNT=10</code>.
+     *
+     * @throws InvalidDateException if the frequency, count or end date is not one Kip supports
+     * @throws IllegalArgumentException if the rule uses a part Kip cannot represent
+     */
+    static Recurrence parseRule(String rule) throws InvalidDateException {
+        Recurrence.Frequency frequency = null;
+        LocalDateTime until = null;
+        int count = 0;
+        for (String part : rule.trim().split(";")) {
+            int equals = part.indexOf('=');
+            String key = equals < 0 ? part : part.substring(0, equals).toUpperCase(Locale.ROOT);
+            String value = equals < 0 ? "" : part.substring(equals + 1);
+            switch (key) {
+            case "FREQ":
+                frequency = Recurrence.parseFrequency(value);
+                break;
+            case "COUNT":
+                count = Recurrence.parseCount(value);
+                break;
+            case "UNTIL":
+                until = parseDateTime(value);
+                break;
+            case "INTERVAL":
+                if (!value.equals("1")) {
+                    throw new IllegalArgumentException("Unsupported interval: " + value);
+                }
+                break;
+            case "WKST":
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported recurrence rule: " + rule);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule has no frequency: " + rule);
+        }
+        return new Recurrence(frequency, until, count);
+    }
+
+    /**
+     * Parses an iCalendar date or date-time value, converting UTC times to local time.
+     */
+    static LocalDateTime parseDateTime(String value) {
+        String text = value.trim();
+        if (text.length() == 8) {
+            return LocalDate.parse(text, DATE_FORMATTER).atStartOfDay();
+        }
+        if (text.endsWith("Z") || text.endsWith("z")) {
+            return LocalDateTime.parse(text.substring(0, text.length() - 1), DATE_TIME_FORMATTER)
+                    .atOffset(ZoneOffset.UTC)
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+        }
+        return LocalDateTime.parse(text, DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Turns the escapes of an iCalendar text value back into the characters they stand for.
+     */
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads the next logical line, joining the continuation lines of a folded line.
+     *
+     * @return The line, or null at the end of the file
+     */
+    private String nextLine() throws IOException {
+        String line = lookahead != null ? lookahead : reader.readLine();
+        lookahead = null;
+        if (line == null) {
+            return null;
+        }
+        if (isFirstLine && line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        isFirstLine = false;
+        StringBuilder unfolded = null;
+        String next;
+        while ((next = reader.readLine()) != null && !next.isEmpty()
+                && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (unfolded == null) {
+                unfolded = new StringBuilder(line);
+            }
+            if (unfolded.length() < MAX_LINE_LENGTH) {
+                unfolded.append(next, 1, Math.min(next.length(), 1 + MAX_LINE_LENGTH - unfolded.length()));
+            }
+        }
+        lookahead = next;
+        return unfolded == null ? line : unfolded.toString();
+    }
+
+    /**
+     * A content line: a property name, its parameters and its value.
+     */
+    private static class Property {
+        private final String name;
+        private final String value;
+
+        private Property(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        /**
+         * Splits a content line such as <code>DTSTART;TZID="Europe/Paris":20251001T090000</code>.
+         *
+         * @return The property, or null if the line has no value
+         */
+        static Property parse(String line) {
+            boolean isQuoted = false;
+            int nameEnd = -1;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    isQuoted = !isQuoted;
+                } else if (!isQuoted && c == ';' && nameEnd < 0) {
+                    nameEnd = i;
+                } else if (!isQuoted && c == ':') {
+                    String name = line.substring(0, nameEnd < 0 ? i : nameEnd).toUpperCase(Locale.ROOT);
+                    return new Property(name, line.substring(i + 1));
+                }
+            }
+            return null;
+        }
+    }
+}
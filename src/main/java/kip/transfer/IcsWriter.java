@@ -0,0 +1,170 @@
+package kip.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * Writes tasks to an iCalendar file that calendar applications can import.
+ *
+ * <p>Events, including recurring ones, are written as <code>VEVENT</code>s and
+ * todos and deadlines as <code>VTODO</code>s, with the deadline as the
+ * <code>DUE</code> date. Times are written as floating local times. The
+ * completion status of a todo is its <code>STATUS</code>; iCalendar has no
+ * status for a finished event, so a done event carries an
+ * <code>X-KIP-DONE</code> property that {@link IcsReader} reads back. Long
+ * lines are folded at 75 octets.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see IcsReader
+ */
+public class IcsWriter implements TaskWriter {
+    /** Longest line written, in UTF-8 octets, not counting the line break */
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final BufferedWriter writer;
+    /** Time of the export, written as every component's DTSTAMP */
+    private final String stamp;
+
+    /**
+     * Constructs a writer and writes the calendar header.
+     *
+     * @param out Receives the calendar; closed when the writer is closed
+     * @throws IOException if the header cannot be written
+     */
+    public IcsWriter(Writer out) throws IOException {
+        this.writer = new BufferedWriter(out, TransferFormat.BUFFER_SIZE);
+        this.stamp = DATE_TIME_FORMATTER.format(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//Kip//Kip Task Manager//EN");
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        assert task != null : "Task must not be null";
+        boolean isEvent = task instanceof Event
+                || (task instanceof RecurringTask && ((RecurringTask) task).isEvent());
+        String component = isEvent ? "VEVENT" : "VTODO";
+        writeLine("BEGIN:" + component);
+        writeLine("UID:" + UUID.randomUUID() + "@kip");
+        writeLine("DTSTAMP:" + stamp);
+        writeLine("SUMMARY:" + escape(task.getDescription()));
+        if (task instanceof Deadline) {
+            writeLine("DUE:" + format(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            writeLine("DTSTART:" + format(event.getFrom()));
+            writeLine("DTEND:" + format(event.getTo()));
+        } else if (task instanceof RecurringTask) {
+            RecurringTask recurring = (RecurringTask) task;
+            writeLine("DTSTART:" + format(recurring.getStart()));
+            writeLine((isEvent ? "DTEND:" : "DUE:") + format(isEvent ? recurring.getEnd() : recurring.getStart()));
+            writeLine("RRULE:" + formatRule(recurring.getRecurrence()));
+        }
+        if (!isEvent) {
+            writeLine("STATUS:" + (task.isDone() ? "COMPLETED" : "NEEDS-ACTION"));
+        } else if (task.isDone()) {
+            writeLine("X-KIP-DONE:TRUE");
+        }
+        if (!task.getTags().isEmpty()) {
+            writeLine("CATEGORIES:" + String.join(",", task.getTags()));
+        }
+        if (task.getPriority() != Priority.NONE) {
+            writeLine("PRIORITY:" + toLevel(task.getPriority()));
+        }
+        writeLine("END:" + component);
+    }
+
+    /**
+     * Writes the calendar trailer and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeLine("END:VCALENDAR");
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Maps a Kip priority to the iCalendar level {@link IcsReader} maps back to it.
+     */
+    static int toLevel(Priority priority) {
+        switch (priority) {
+        case HIGH:
+            return 1;
+        case MEDIUM:
+            return 5;
+        default:
+            return 9;
+        }
+    }
+
+    static String formatRule(Recurrence recurrence) {
+        String rule = "FREQ=" + recurrence.getFrequency().name();
+        if (recurrence.getUntil() != null) {
+            rule += ";UNTIL=" + format(recurrence.getUntil());
+        }
+        if (recurrence.getCount() > 0) {
+            rule += ";COUNT=" + recurrence.getCount();
+        }
+        return rule;
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return DATE_TIME_FORMATTER.format(dateTime);
+    }
+
+    /**
+     * Escapes the characters with a meaning in iCalendar text values.
+     */
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Writes a content line, folding it so that no line is longer than {@value #MAX_LINE_OCTETS} octets.
+     */
+    private void writeLine(String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4
+                    : Character.isLowSurrogate(c) ? 0 : 3;
+            if (octets + size > MAX_LINE_OCTETS) {
+                // Continuation lines start with a space, which counts towards their length
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(c);
+            octets += size;
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,216 @@
+package kip.transfer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the small JSON values used by {@link JsonLinesReader} and {@link JsonLinesWriter}.
+ *
+ * <p>Objects are read as maps, arrays as lists, strings as strings, numbers
+ * as doubles, booleans as booleans and null as null.</p>
+ */
+final class Json {
+    /** Deepest nesting of objects and arrays accepted */
+    private static final int MAX_DEPTH = 16;
+
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a JSON value that makes up the whole text.
+     *
+     * @param text The JSON text
+     * @return The value
+     * @throws IllegalArgumentException if the text is not a single JSON value
+     */
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.readValue(0);
+        json.skipWhitespace();
+        if (json.position != text.length()) {
+            throw json.error("Unexpected text after the value");
+        }
+        return value;
+    }
+
+    /**
+     * Writes a string as a JSON string literal.
+     *
+     * @param value The string
+     * @return The literal, with its quotes
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '\n') {
+                quoted.append("\\n");
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("Value is nested too deeply");
+        }
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Missing value");
+        }
+        char c = text.charAt(position);
+        if (c == '{') {
+            return readObject(depth);
+        } else if (c == '[') {
+            return readArray(depth);
+        } else if (c == '"') {
+            return readString();
+        } else if (text.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        } else if (text.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        } else if (text.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        return readNumber();
+    }
+
+    private Map<String, Object> readObject(int depth) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if (consume('}')) {
+            return object;
+        }
+        do {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw error("Expected a key");
+            }
+            String key = readString();
+            skipWhitespace();
+            if (!consume(':')) {
+                throw error("Expected ':'");
+            }
+            object.put(key, readValue(depth + 1));
+            skipWhitespace();
+        } while (consume(','));
+        if (!consume('}')) {
+            throw error("Expected ',' or '}'");
+        }
+        return object;
+    }
+
+    private List<Object> readArray(int depth) {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (consume(']')) {
+            return array;
+        }
+        do {
+            array.add(readValue(depth + 1));
+            skipWhitespace();
+        } while (consume(','));
+        if (!consume(']')) {
+            throw error("Expected ',' or ']'");
+        }
+        return array;
+    }
+
+    private String readString() {
+        StringBuilder value = new StringBuilder();
+        position++;
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+            case 'n':
+                value.append('\n');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case 'b':
+                value.append('\b');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case 'u':
+                if (position + 4 > text.length()) {
+                    throw error("Incomplete unicode escape");
+                }
+                try {
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                } catch (NumberFormatException e) {
+                    throw error("Invalid unicode escape");
+                }
+                position += 4;
+                break;
+            default:
+                value.append(escaped);
+                break;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Double readNumber() {
+        int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        try {
+            return Double.valueOf(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw error("Invalid value");
+        }
+    }
+
+    private boolean consume(char expected) {
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,153 @@
+package kip.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import kip.exception.InvalidDateException;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+
+/**
+ * Reads tasks from JSON Lines, one object per line, in the form written by
+ * {@link JsonLinesWriter}.
+ *
+ * <p>Blank lines and unknown keys are ignored. Times may be ISO-8601 local
+ * date-times or dates, which are read as midnight. Lines that are not valid
+ * JSON or do not describe a task are skipped.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see JsonLinesWriter
+ */
+public class JsonLinesReader implements TaskReader {
+    private final BufferedReader reader;
+    private int skippedCount;
+
+    /**
+     * Constructs a reader over JSON Lines text.
+     *
+     * @param in The text; closed when the reader is closed
+     */
+    public JsonLinesReader(Reader in) {
+        this.reader = new BufferedReader(in, TransferFormat.BUFFER_SIZE);
+    }
+
+    @Override
+    public Task read() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Object value = Json.parse(line);
+                if (!(value instanceof Map)) {
+                    throw new IllegalArgumentException("Line is not an object");
+                }
+                return toTask((Map<?, ?>) value);
+            } catch (InvalidDateException | RuntimeException e) {
+                skippedCount++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Builds the task described by an object.
+     *
+     * @throws InvalidDateException if the recurrence cannot be read
+     * @throws IllegalArgumentException if the object does not describe a task
+     */
+    private static Task toTask(Map<?, ?> object) throws InvalidDateException {
+        String description = TaskFields.cleanDescription(getString(object, "description", true));
+        String type = getString(object, "type", true);
+        Object repeat = object.get("repeat");
+        Recurrence recurrence = repeat instanceof Map ? toRecurrence((Map<?, ?>) repeat) : null;
+
+        Task task;
+        switch (type) {
+        case "todo":
+            task = new ToDo(description);
+            break;
+        case "deadline":
+            LocalDateTime by = getTime(object, "by", true);
+            task = recurrence == null
+                    ? new Deadline(description, by)
+                    : new RecurringTask(description, by, recurrence);
+            break;
+        case "event":
+            LocalDateTime from = getTime(object, "from", true);
+            LocalDateTime to = getTime(object, "to", true);
+            task = recurrence == null
+                    ? new Event(description, from, to)
+                    : new RecurringTask(description, from, to, recurrence);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + type);
+        }
+
+        if (Boolean.TRUE.equals(object.get("done"))) {
+            task.markAsDone();
+        }
+        Object tags = object.get("tags");
+        if (tags instanceof List) {
+            for (Object tag : (List<?>) tags) {
+                if (tag instanceof String) {
+                    TaskFields.addTag(task, (String) tag);
+                }
+            }
+        }
+        String priorityName = getString(object, "priority", false);
+        Priority priority = priorityName == null ? null : Priority.fromString(priorityName);
+        if (priority != null) {
+            task.setPriority(priority);
+        }
+        return task;
+    }
+
+    private static Recurrence toRecurrence(Map<?, ?> repeat) throws InvalidDateException {
+        Recurrence.Frequency frequency = Recurrence.parseFrequency(getString(repeat, "every", true));
+        Object count = repeat.get("count");
+        return new Recurrence(frequency, getTime(repeat, "until", false),
+                count instanceof Double ? Recurrence.parseCount(Long.toString(((Double) count).longValue())) : 0);
+    }
+
+    private static String getString(Map<?, ?> object, String key, boolean isRequired) {
+        Object value = object.get(key);
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (isRequired || value != null) {
+            throw new IllegalArgumentException("Expected a string for " + key);
+        }
+        return null;
+    }
+
+    private static LocalDateTime getTime(Map<?, ?> object, String key, boolean isRequired) {
+        String value = getString(object, key, isRequired);
+        if (value == null) {
+            return null;
+        }
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+}
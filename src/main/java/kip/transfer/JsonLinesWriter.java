@@ -0,0 +1,115 @@
+package kip.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+
+/**
+ * Writes tasks as JSON Lines, one object per line.
+ *
+ * <p>Each object has a <code>type</code> of <code>todo</code>,
+ * <code>deadline</code> or <code>event</code>, a <code>description</code> and
+ * a <code>done</code> flag. A deadline has a <code>by</code> time and an event
+ * <code>from</code> and <code>to</code> times, written as ISO-8601 local
+ * date-times. A recurring task has a <code>repeat</code> object with
+ * <code>every</code> and, when set, <code>until</code> and <code>count</code>.
+ * <code>tags</code> and <code>priority</code> are written when set:</p>
+ * <pre>
+ * {"type":"deadline","description":"report","done":false,"by":"2025-10-03T17:00","tags":["work"],"priority":"high"}
+ * {"type":"event","description":"standup","done":false,"from":"2025-10-01T09:00","to":"2025-10-01T09:15",
+ *  "repeat":{"every":"daily","count":30}}
+ * </pre>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see JsonLinesReader
+ */
+public class JsonLinesWriter implements TaskWriter {
+    private final BufferedWriter writer;
+
+    /**
+     * Constructs a writer.
+     *
+     * @param out Receives the lines; closed when the writer is closed
+     */
+    public JsonLinesWriter(Writer out) {
+        this.writer = new BufferedWriter(out, TransferFormat.BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        assert task != null : "Task must not be null";
+        StringBuilder line = new StringBuilder("{\"type\":");
+        if (task instanceof Deadline) {
+            line.append("\"deadline\"");
+        } else if (task instanceof Event || (task instanceof RecurringTask && ((RecurringTask) task).isEvent())) {
+            line.append("\"event\"");
+        } else if (task instanceof RecurringTask) {
+            line.append("\"deadline\"");
+        } else {
+            line.append("\"todo\"");
+        }
+        line.append(",\"description\":").append(Json.quote(task.getDescription()));
+        line.append(",\"done\":").append(task.isDone());
+
+        if (task instanceof Deadline) {
+            appendTime(line, "by", ((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            appendTime(line, "from", ((Event) task).getFrom());
+            appendTime(line, "to", ((Event) task).getTo());
+        } else if (task instanceof RecurringTask) {
+            RecurringTask recurring = (RecurringTask) task;
+            if (recurring.isEvent()) {
+                appendTime(line, "from", recurring.getStart());
+                appendTime(line, "to", recurring.getEnd());
+            } else {
+                appendTime(line, "by", recurring.getStart());
+            }
+            Recurrence recurrence = recurring.getRecurrence();
+            line.append(",\"repeat\":{\"every\":")
+                    .append(Json.quote(recurrence.getFrequency().name().toLowerCase(Locale.ROOT)));
+            if (recurrence.getUntil() != null) {
+                appendTime(line, "until", recurrence.getUntil());
+            }
+            if (recurrence.getCount() > 0) {
+                line.append(",\"count\":").append(recurrence.getCount());
+            }
+            line.append('}');
+        }
+
+        if (!task.getTags().isEmpty()) {
+            line.append(",\"tags\":[");
+            boolean isFirst = true;
+            for (String tag : task.getTags()) {
+                line.append(isFirst ? "" : ",").append(Json.quote(tag));
+                isFirst = false;
+            }
+            line.append(']');
+        }
+        if (task.getPriority() != Priority.NONE) {
+            line.append(",\"priority\":").append(Json.quote(task.getPriority().getPriorityString()));
+        }
+        writer.write(line.append('}').toString());
+        writer.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static void appendTime(StringBuilder line, String key, LocalDateTime time) {
+        line.append(",\"").append(key).append("\":\"")
+                .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time)).append('"');
+    }
+}
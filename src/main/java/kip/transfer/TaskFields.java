@@ -0,0 +1,50 @@
+package kip.transfer;
+
+import kip.task.Task;
+
+/**
+ * Adapts fields read from other formats to what a Kip task can hold.
+ */
+final class TaskFields {
+    /** Most tags taken from one imported entry */
+    static final int MAX_TAGS = 64;
+
+    private TaskFields() {
+    }
+
+    /**
+     * Makes text usable as a task description: line breaks and tabs become
+     * spaces and commas, which the CSV file cannot hold, become semicolons.
+     *
+     * @param text The text read from the file
+     * @return The description, trimmed; empty if the text was blank
+     */
+    static String cleanDescription(String text) {
+        StringBuilder description = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\t') {
+                description.append(' ');
+            } else if (c == ',') {
+                description.append(';');
+            } else {
+                description.append(c);
+            }
+        }
+        return description.toString().trim();
+    }
+
+    /**
+     * Tags a task with a category read from the file, with spaces turned into
+     * hyphens. Categories that still do not make a valid tag are dropped.
+     *
+     * @param task The task
+     * @param category The category
+     */
+    static void addTag(Task task, String category) {
+        String tag = category.trim().replace(' ', '-');
+        if (Task.isValidTag(tag) && task.getTags().size() < MAX_TAGS) {
+            task.addTag(tag);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package kip.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import kip.task.Task;
+
+/**
+ * Reads tasks one at a time from a file in another tool's format.
+ *
+ * <p>Readers hold only the entry being read, so a file of any size can be
+ * read in a fixed amount of memory. Entries that cannot be turned into a Kip
+ * task are skipped and counted rather than failing the whole read.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TransferFormat#openReader(java.io.File)
+ */
+public interface TaskReader extends Closeable {
+    /**
+     * Reads the next task.
+     *
+     * @return The task, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    Task read() throws IOException;
+
+    /** Returns the number of entries skipped so far because they could not be read as tasks */
+    int getSkippedCount();
+}
@@ -0,0 +1,27 @@
+package kip.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import kip.task.Task;
+
+/**
+ * Writes tasks one at a time to a file in another tool's format.
+ *
+ * <p>Each task is written as soon as it is given, so a list of any size can
+ * be exported without building the file in memory. Closing the writer
+ * finishes the file.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see TransferFormat#openWriter(java.io.File)
+ */
+public interface TaskWriter extends Closeable {
+    /**
+     * Writes a task.
+     *
+     * @param task The task
+     * @throws IOException if the file cannot be written
+     */
+    void write(Task task) throws IOException;
+}
@@ -0,0 +1,93 @@
+package kip.transfer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * File formats tasks can be imported from and exported to, recognised by the
+ * file's extension.
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see IcsReader
+ * @see JsonLinesReader
+ */
+public enum TransferFormat {
+    /** iCalendar (RFC 5545), as used by calendar applications */
+    ICS("ics"),
+    /** JSON Lines, one task object per line */
+    JSON_LINES("jsonl");
+
+    /** Size of the read and write buffers, in chars */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /** The file extension, without the dot */
+    private final String extension;
+
+    TransferFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Finds the format of a file from its extension, ignoring case.
+     *
+     * @param fileName The file name or path
+     * @return The format, or null if the extension is not a known one
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+        for (TransferFormat format : values()) {
+            if (lowerCaseName.endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens a file in this format for reading.
+     *
+     * @param file The file, in UTF-8
+     * @return A reader positioned at the first task
+     * @throws IOException if the file cannot be opened
+     */
+    public TaskReader openReader(File file) throws IOException {
+        Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+        switch (this) {
+        case ICS:
+            return new IcsReader(in);
+        default:
+            return new JsonLinesReader(in);
+        }
+    }
+
+    /**
+     * Creates or overwrites a file in this format for writing.
+     *
+     * @param file The file, written in UTF-8
+     * @return A writer adding tasks to the file
+     * @throws IOException if the file cannot be created
+     */
+    public TaskWriter openWriter(File file) throws IOException {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        switch (this) {
+        case ICS:
+            return new IcsWriter(out);
+        default:
+            return new JsonLinesWriter(out);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package kipgui;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import kip.command.Command;
+import kip.event.TaskAdded;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+
+/**
+ * Suggests completions for the command being typed: the command keyword
+ * first, then the description of an existing task for the commands that take
+ * one.
+ *
+ * <p>Keywords and descriptions are kept in {@link PrefixTrie}s. The
+ * description trie follows the task events of a {@link kip.KipService}, so it
+ * is updated one task at a time rather than rebuilt. Every read and write of
+ * the tries happens on a single background thread, in the order the events
+ * and requests arrived, so typing never waits for a lookup and the tries
+ * need no locking.</p>
+ *
+ * <p>Requests are debounced: a lookup only runs once the input has been
+ * unchanged for a short delay, and a newer request cancels a waiting one and
+ * discards the result of one already running.</p>
+ */
+public class Autocompleter implements TaskListener {
+    /** How long the input must be unchanged before suggestions are looked up */
+    static final long DEBOUNCE_MILLIS = 80;
+    /** Most suggestions returned for an input */
+    static final int MAX_SUGGESTIONS = 8;
+    /** Commands whose argument starts with a task description */
+    private static final Set<Command> DESCRIBED_COMMANDS =
+            EnumSet.of(Command.TODO, Command.DEADLINE, Command.EVENT, Command.FIND);
+
+    private final PrefixTrie keywords = new PrefixTrie();
+    private final PrefixTrie descriptions = new PrefixTrie();
+    private final ScheduledExecutorService executor;
+    private final Consumer<Runnable> fxExecutor;
+    private final long debounceMillis;
+    /** Number of the latest request; results of earlier ones are dropped */
+    private long latestRequest;
+    private ScheduledFuture<?> waiting;
+
+    public Autocompleter() {
+        this(Platform::runLater, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Constructs an autocompleter that delivers its suggestions through the given executor.
+     *
+     * @param fxExecutor Runs the callback of a request on the thread that shows the suggestions
+     * @param debounceMillis How long to wait for the input to settle before looking it up
+     */
+    Autocompleter(Consumer<Runnable> fxExecutor, long debounceMillis) {
+        this.fxExecutor = fxExecutor;
+        this.debounceMillis = debounceMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kip-autocomplete");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Command command : Command.values()) {
+            keywords.add(command.getCommandString());
+        }
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        String description = event.getTask().getDescription();
+        executor.execute(() -> descriptions.add(description));
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        String description = event.getTask().getDescription();
+        executor.execute(() -> descriptions.remove(description));
+    }
+
+    /**
+     * Looks up the completions of an input once it has settled, replacing any earlier request.
+     *
+     * @param input The text typed so far
+     * @param callback Receives the completed inputs, possibly empty; not called if a newer request
+     *         arrives first
+     */
+    public synchronized void suggest(String input, Consumer<List<String>> callback) {
+        long request = ++latestRequest;
+        if (waiting != null) {
+            waiting.cancel(false);
+        }
+        waiting = executor.schedule(() -> {
+            if (!isLatest(request)) {
+                return;
+            }
+            List<String> suggestions = complete(input);
+            fxExecutor.accept(() -> {
+                if (isLatest(request)) {
+                    callback.accept(suggestions);
+                }
+            });
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops any waiting request, so its callback is never called.
+     */
+    public synchronized void cancel() {
+        latestRequest++;
+        if (waiting != null) {
+            waiting.cancel(false);
+            waiting = null;
+        }
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private synchronized boolean isLatest(long request) {
+        return request == latestRequest;
+    }
+
+    /**
+     * Completes the keyword of an input without a space, or the description after the keyword otherwise.
+     * Must run on the background thread.
+     */
+    private List<String> complete(String input) {
+        if (input.isBlank()) {
+            return List.of();
+        }
+        int space = input.indexOf(' ');
+        if (space < 0) {
+            return withoutInput(input, keywords.complete(input, MAX_SUGGESTIONS + 1));
+        }
+        if (space == 0) {
+            return List.of();
+        }
+        Command command = Command.fromString(input.substring(0, space));
+        String argument = input.substring(space).stripLeading();
+        if (command == null || !DESCRIBED_COMMANDS.contains(command) || argument.isEmpty()) {
+            return List.of();
+        }
+        String typedCommand = input.substring(0, input.length() - argument.length());
+        List<String> completions = new ArrayList<>();
+        for (String description : descriptions.complete(argument, MAX_SUGGESTIONS + 1)) {
+            completions.add(typedCommand + description);
+        }
+        return withoutInput(input, completions);
+    }
+
+    /**
+     * Drops the completion that is the input itself, and any beyond the limit.
+     */
+    private static List<String> withoutInput(String input, List<String> completions) {
+        List<String> suggestions = new ArrayList<>();
+        for (String completion : completions) {
+            if (!completion.equalsIgnoreCase(input) && suggestions.size() < MAX_SUGGESTIONS) {
+                suggestions.add(completion);
+            }
+        }
+        return suggestions;
+    }
+}
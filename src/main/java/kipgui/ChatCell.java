@@ -0,0 +1,57 @@
+package kipgui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A reusable cell of the chat list, showing one message in a dialog box.
+ *
+ * <p>The list only creates enough cells to fill the visible area and moves
+ * them between messages as the user scrolls, so each cell builds one dialog
+ * box per speaker on first use and afterwards only swaps their text.</p>
+ */
+public class ChatCell extends ListCell<ChatMessage> {
+    private final Image userImage;
+    private final Image kipImage;
+    private DialogBox userDialog;
+    private DialogBox kipDialog;
+
+    public ChatCell(Image userImage, Image kipImage) {
+        this.userImage = userImage;
+        this.kipImage = kipImage;
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        DialogBox dialog;
+        if (message.getSpeaker() == ChatMessage.Speaker.USER) {
+            if (userDialog == null) {
+                userDialog = fitToList(DialogBox.getUserDialog(message.getText(), userImage));
+            }
+            dialog = userDialog;
+        } else {
+            if (kipDialog == null) {
+                kipDialog = fitToList(DialogBox.getKipDialog(message.getText(), kipImage));
+            }
+            dialog = kipDialog;
+        }
+        dialog.setDialogText(message.getText());
+        setGraphic(dialog);
+    }
+
+    /**
+     * Makes a dialog box wrap its text to the width of the list rather than its preferred width.
+     */
+    private DialogBox fitToList(DialogBox dialog) {
+        dialog.prefWidthProperty().bind(getListView().widthProperty().subtract(20));
+        return dialog;
+    }
+}
@@ -0,0 +1,183 @@
+package kipgui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The part of the chat that is shown, kept to a bounded window over the
+ * transcript on disk.
+ *
+ * <p>The window is the list backing the chat view. New messages are added at
+ * the end and the oldest messages are dropped once the window holds more than
+ * its capacity. Scrolling back pages older messages in from the transcript,
+ * dropping the newest ones instead; the latest page is read back as soon as a
+ * new message arrives.</p>
+ *
+ * <p>A reply that has not arrived yet is shown as a pending placeholder. It
+ * is not written to the transcript, and neither is any message after it,
+ * until the reply replaces it, so the transcript always lists messages in the
+ * order they are shown.</p>
+ *
+ * @see ChatTranscript
+ */
+public class ChatHistory {
+    private final ChatTranscript transcript;
+    private final List<ChatMessage> window;
+    private final int capacity;
+    private final int pageSize;
+    /** Transcript index of the first message in the window */
+    private int windowStart;
+    /** Number of messages at the start of the window that are in the transcript */
+    private int windowWritten;
+    /** Whether the window ends with the latest message */
+    private boolean isShowingLatest;
+    /** Messages from the oldest pending placeholder on, waiting to be written */
+    private final List<ChatMessage> unwritten = new ArrayList<>();
+
+    /**
+     * Constructs a history and fills the window with the latest page of the transcript.
+     *
+     * @param transcript The transcript holding every written message
+     * @param window The list backing the chat view
+     * @param capacity The maximum number of messages kept in the window
+     * @param pageSize The number of messages read from the transcript at a time
+     */
+    public ChatHistory(ChatTranscript transcript, List<ChatMessage> window, int capacity, int pageSize) {
+        assert pageSize > 0 && pageSize <= capacity : "Page size must be positive and fit in the window";
+        this.transcript = transcript;
+        this.window = window;
+        this.capacity = capacity;
+        this.pageSize = pageSize;
+        showLatest();
+    }
+
+    /**
+     * Adds a message at the end of the chat.
+     *
+     * @param message The message
+     */
+    public void add(ChatMessage message) {
+        showLatest();
+        if (unwritten.isEmpty() && !message.isPending()) {
+            write(message);
+            windowWritten++;
+        } else {
+            unwritten.add(message);
+        }
+        window.add(message);
+        trimOldest();
+    }
+
+    /**
+     * Replaces a pending placeholder with the reply it was waiting for, and
+     * writes every message up to the next pending placeholder to the transcript.
+     *
+     * @param placeholder The placeholder added earlier
+     * @param reply The reply
+     */
+    public void complete(ChatMessage placeholder, ChatMessage reply) {
+        int index = indexOf(unwritten, placeholder);
+        assert index >= 0 : "Placeholder must be waiting for its reply";
+        unwritten.set(index, reply);
+        if (isShowingLatest) {
+            window.set(window.size() - unwritten.size() + index, reply);
+        }
+        while (!unwritten.isEmpty() && !unwritten.get(0).isPending()) {
+            write(unwritten.remove(0));
+            if (isShowingLatest) {
+                windowWritten++;
+            }
+        }
+    }
+
+    /**
+     * Reads the page of messages before the window from the transcript and
+     * adds it at the start of the window, dropping the newest messages if the
+     * window is full.
+     *
+     * @return The number of messages added, 0 if the window already starts
+     *         with the first message
+     */
+    public int loadOlder() {
+        if (windowStart == 0) {
+            return 0;
+        }
+        int from = Math.max(0, windowStart - pageSize);
+        List<ChatMessage> page = read(from, windowStart);
+        if (page.isEmpty()) {
+            return 0;
+        }
+        window.addAll(0, page);
+        windowStart = from;
+        windowWritten += page.size();
+        int excess = window.size() - capacity;
+        if (excess > 0) {
+            window.subList(window.size() - excess, window.size()).clear();
+            windowWritten = Math.min(windowWritten, window.size());
+            isShowingLatest = false;
+        }
+        return page.size();
+    }
+
+    /** Returns whether the window ends with the latest message */
+    public boolean isShowingLatest() {
+        return isShowingLatest;
+    }
+
+    /**
+     * Refills the window with the latest page of the transcript and the
+     * messages waiting to be written, unless it already ends with them.
+     */
+    private void showLatest() {
+        if (isShowingLatest) {
+            return;
+        }
+        int from = Math.max(0, transcript.size() - pageSize);
+        List<ChatMessage> latest = new ArrayList<>(read(from, transcript.size()));
+        windowStart = from;
+        windowWritten = latest.size();
+        latest.addAll(unwritten);
+        window.clear();
+        window.addAll(latest);
+        isShowingLatest = true;
+    }
+
+    /**
+     * Drops the oldest written messages while the window is over capacity.
+     */
+    private void trimOldest() {
+        int excess = Math.min(window.size() - capacity, windowWritten);
+        if (excess > 0) {
+            window.subList(0, excess).clear();
+            windowStart += excess;
+            windowWritten -= excess;
+        }
+    }
+
+    private void write(ChatMessage message) {
+        try {
+            transcript.append(message);
+        } catch (IOException e) {
+            System.out.println("Error writing transcript: " + e.getMessage());
+        }
+    }
+
+    private List<ChatMessage> read(int from, int to) {
+        try {
+            return transcript.read(from, to);
+        } catch (IOException e) {
+            System.out.println("Error reading transcript: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static int indexOf(List<ChatMessage> messages, ChatMessage message) {
+        for (int i = 0; i < messages.size(); i++) {
+            if (messages.get(i) == message) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
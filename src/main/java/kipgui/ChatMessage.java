@@ -0,0 +1,53 @@
+package kipgui;
+
+/**
+ * A single message in the chat between the user and Kip.
+ *
+ * <p>Messages are compared by identity, so two messages with the same text
+ * are still different entries in the history.</p>
+ */
+public class ChatMessage {
+    /** Who sent a message */
+    public enum Speaker {
+        USER,
+        KIP
+    }
+
+    private final Speaker speaker;
+    private final String text;
+    private final boolean isPending;
+
+    private ChatMessage(Speaker speaker, String text, boolean isPending) {
+        assert speaker != null : "Speaker must not be null";
+        assert text != null : "Message text must not be null";
+        this.speaker = speaker;
+        this.text = text;
+        this.isPending = isPending;
+    }
+
+    public static ChatMessage user(String text) {
+        return new ChatMessage(Speaker.USER, text, false);
+    }
+
+    public static ChatMessage kip(String text) {
+        return new ChatMessage(Speaker.KIP, text, false);
+    }
+
+    /** Returns a placeholder for a reply from Kip that has not arrived yet */
+    public static ChatMessage pending() {
+        return new ChatMessage(Speaker.KIP, "...", true);
+    }
+
+    public Speaker getSpeaker() {
+        return speaker;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /** Returns whether this is a placeholder for a reply that has not arrived yet */
+    public boolean isPending() {
+        return isPending;
+    }
+}
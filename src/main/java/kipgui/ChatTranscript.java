@@ -0,0 +1,166 @@
+package kipgui;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The complete chat history on disk, readable page by page.
+ *
+ * <p>Messages are appended to a text file, one per line, as the speaker's
+ * initial, a tab and the text with backslashes and line breaks escaped. The
+ * byte offset of every line is kept in memory, so any range of messages can
+ * be read back with a single seek no matter how long the transcript grows.</p>
+ *
+ * @see ChatHistory
+ */
+public class ChatTranscript implements AutoCloseable {
+    /** Where the GUI keeps its transcript, next to the task file */
+    public static final String DEFAULT_FILE = "src/main/java/kip/storage/transcript.txt";
+
+    private final File file;
+    private final OutputStream out;
+    /** Byte offset of the start of each message's line */
+    private long[] offsets = new long[64];
+    private int size;
+    /** Byte offset where the next message will be written */
+    private long length;
+
+    /**
+     * Opens a transcript, creating the file if it does not exist.
+     *
+     * <p>A partly written last line, left by a crash in the middle of an
+     * append, is cut off.</p>
+     *
+     * @param file The transcript file
+     * @throws IOException if the file cannot be read or opened for appending
+     */
+    public ChatTranscript(File file) throws IOException {
+        this.file = file;
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        if (file.exists()) {
+            indexLines();
+        }
+        this.out = new FileOutputStream(file, true);
+    }
+
+    private void indexLines() throws IOException {
+        long position = 0;
+        long lineStart = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '\n') {
+                    addOffset(lineStart);
+                    lineStart = position;
+                }
+            }
+        }
+        length = lineStart;
+        if (position > lineStart) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(lineStart);
+            }
+        }
+    }
+
+    private void addOffset(long offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+    }
+
+    /** Returns the number of messages in the transcript */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a message to the end of the transcript.
+     *
+     * @param message The message, which must not be a pending placeholder
+     * @throws IOException if the message cannot be written
+     */
+    public void append(ChatMessage message) throws IOException {
+        assert !message.isPending() : "Pending placeholders are not part of the transcript";
+        byte[] line = (message.getSpeaker().name().charAt(0) + "\t" + escape(message.getText()) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        out.write(line);
+        out.flush();
+        addOffset(length);
+        length += line.length;
+    }
+
+    /**
+     * Reads a range of messages.
+     *
+     * @param from Index of the first message to read, inclusive
+     * @param to Index after the last message to read
+     * @return The messages, oldest first
+     * @throws IOException if the file cannot be read
+     */
+    public List<ChatMessage> read(int from, int to) throws IOException {
+        assert from >= 0 && from <= to && to <= size : "Message range must lie within the transcript";
+        List<ChatMessage> messages = new ArrayList<>(to - from);
+        if (from == to) {
+            return messages;
+        }
+        long start = offsets[from];
+        long end = to == size ? length : offsets[to];
+        byte[] bytes = new byte[(int) (end - start)];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(start);
+            raf.readFully(bytes);
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        int lineStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                messages.add(parse(text.substring(lineStart, i)));
+                lineStart = i + 1;
+            }
+        }
+        return messages;
+    }
+
+    private static ChatMessage parse(String line) {
+        String text = unescape(line.substring(2));
+        return line.charAt(0) == 'U' ? ChatMessage.user(text) : ChatMessage.kip(text);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                result.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
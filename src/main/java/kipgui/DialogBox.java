@@ -1,60 +1,71 @@
 package kipgui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ *
+ * <p>The layout is built in code rather than loaded from FXML, so creating a dialog
+ * box costs no XML parsing or reflection.</p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private static final String DIALOG_STYLE = "-fx-text-fill: black; -fx-font-weight: bold; "
+            + "-fx-background-color: rgba(255, 255, 255, 0.9); -fx-padding: 12px; -fx-background-radius: 15px; "
+            + "-fx-border-color: rgba(0, 0, 0, 0.3); -fx-border-width: 2px; -fx-border-radius: 15px; "
+            + "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.2), 5, 0, 0, 2);";
+    private static final double PICTURE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+    private final Label dialog;
+    private final ImageView displayPicture;
+
+    /**
+     * Builds a dialog box with the picture on the right, or on the left if the box is flipped.
+     */
+    private DialogBox(String text, Image img, boolean isFlipped) {
+        dialog = new Label(text);
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setStyle(DIALOG_STYLE);
+
+        displayPicture = new ImageView(img);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setMaxHeight(Double.MAX_VALUE);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(PADDING);
+        if (isFlipped) {
+            getChildren().addAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        } else {
+            getChildren().addAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        }
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Replaces the text in the dialog box, so that a chat cell can reuse it for another message.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    void setDialogText(String text) {
+        dialog.setText(text);
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        return new DialogBox(text, img, false);
     }
 
     public static DialogBox getKipDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+        return new DialogBox(text, img, true);
     }
 }
@@ -1,12 +1,27 @@
 package kipgui;
 
+import java.util.concurrent.CompletableFuture;
 import kip.KipService;
+import kip.response.Response;
+import kip.storage.Storage;
 
 public class KipGUI {
     private KipService kipService;
     
     public KipGUI() {
         this.kipService = new KipService();
+        kipService.getMetrics().register(Storage.getDefault().getPath());
+    }
+    
+    /**
+     * Creates a KipGUI on a background thread, since creating it loads the tasks from storage.
+     */
+    public static CompletableFuture<KipGUI> loadAsync() {
+        return CompletableFuture.supplyAsync(KipGUI::new, runnable -> {
+            Thread thread = new Thread(runnable, "kip-loader");
+            thread.setDaemon(true);
+            thread.start();
+        });
     }
     
     public static void main(String[] args) {
@@ -16,8 +31,16 @@ public class KipGUI {
     /**
      * Generates a response for the user's chat message using Kip's logic.
      */
-    public String getResponse(String input) {
-        return kipService.processCommand(input);
+    public Response getResponse(String input) {
+        return kipService.execute(input);
+    }
+    
+    /**
+     * Runs the user's chat message on Kip's command thread, so the caller's thread is never blocked.
+     * Messages are answered in the order they were sent.
+     */
+    public CompletableFuture<Response> getResponseAsync(String input) {
+        return kipService.processCommandAsync(input);
     }
     
     /**
@@ -10,11 +10,13 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for Kip using FXML.
+ *
+ * <p>The window is shown before the tasks are loaded. Loading runs on a
+ * background thread, and commands typed in the meantime are queued until it
+ * finishes.</p>
  */
 public class Main extends Application {
 
-    private KipGUI kipGUI = new KipGUI();
-
     @Override
     public void start(Stage stage) {
         try {
@@ -24,11 +26,27 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Kip");
             MainWindow controller = fxmlLoader.<MainWindow>getController();
-            controller.setKipGUI(kipGUI);
             controller.setStage(stage);
+            if (StartupTiming.isEnabled()) {
+                markFirstFrame(scene);
+            }
             stage.show();
+            controller.loadKipGUI(KipGUI.loadAsync());
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Records the first layout pulse of the scene, which directly precedes its first frame.
+     */
+    private static void markFirstFrame(Scene scene) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                StartupTiming.mark("first-frame");
+            }
+        });
+    }
 }
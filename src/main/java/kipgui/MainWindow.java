@@ -1,67 +1,300 @@
 package kipgui;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 /**
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    /** Most messages kept in memory; older ones are paged in from the transcript on scroll-up */
+    private static final int HISTORY_CAPACITY = 200;
+    /** Messages read from the transcript at a time */
+    private static final int HISTORY_PAGE_SIZE = 50;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private Button tasksButton;
 
     private KipGUI kipGUI;
     private Stage stage;
+    private ChatTranscript transcript;
+    private ChatHistory chatHistory;
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final TaskTableModel taskTableModel = new TaskTableModel();
+    private final Autocompleter autocompleter = new Autocompleter();
+    private final ContextMenu suggestionMenu = new ContextMenu();
+    private Stage taskStage;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
-    private Image kipImage = new Image(this.getClass().getResourceAsStream("/images/DaKip.png"));
+    /** Commands typed while the tasks are still loading, sent in order once they have loaded */
+    private final List<Runnable> queuedCommands = new ArrayList<>();
+
+    // Decoded in the background, so the window can be shown before the avatars are ready
+    private Image userImage = new Image(this.getClass().getResource("/images/DaUser.png").toExternalForm(), true);
+    private Image kipImage = new Image(this.getClass().getResource("/images/DaKip.png").toExternalForm(), true);
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        try {
+            transcript = new ChatTranscript(new File(ChatTranscript.DEFAULT_FILE));
+        } catch (IOException e) {
+            System.out.println("Error opening " + ChatTranscript.DEFAULT_FILE + ": " + e.getMessage());
+        }
+        if (transcript != null) {
+            chatHistory = new ChatHistory(transcript, messages, HISTORY_CAPACITY, HISTORY_PAGE_SIZE);
+        }
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new ChatCell(userImage, kipImage));
+        dialogList.addEventFilter(ScrollEvent.SCROLL, event -> {
+            if (event.getDeltaY() > 0 && isScrolledToTop()) {
+                loadOlderMessages();
+            }
+        });
+        userInput.textProperty().addListener((observable, oldText, text) -> {
+            if (userInput.isFocused()) {
+                autocompleter.suggest(text, this::showSuggestions);
+            }
+        });
+        userInput.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.TAB && suggestionMenu.isShowing()) {
+                suggestionMenu.getItems().get(0).fire();
+                event.consume();
+            }
+        });
+        scrollToLatest();
     }
 
-    /** Injects the KipGUI instance */
+    /** Injects the KipGUI instance, starts showing its reminders and keeps the task table up to date */
     public void setKipGUI(KipGUI kipGUI) {
         this.kipGUI = kipGUI;
+        kipGUI.getKipService().addTaskListener(taskTableModel);
+        kipGUI.getKipService().addTaskListener(autocompleter);
+        kipGUI.getKipService().getReminderScheduler().addReminderListener(reminder ->
+                Platform.runLater(() -> addMessage(ChatMessage.kip(reminder.getMessage()))));
+        kipGUI.getKipService().getReminderScheduler().start();
+        for (Runnable command : queuedCommands) {
+            command.run();
+        }
+        queuedCommands.clear();
+    }
+
+    /**
+     * Shows that the tasks are loading and injects the KipGUI instance once they have loaded. Commands typed in the
+     * meantime are queued and sent in order after loading.
+     */
+    public void loadKipGUI(CompletableFuture<KipGUI> loading) {
+        ChatMessage progress = ChatMessage.pending();
+        addMessage(progress);
+        String probe = StartupTiming.getProbe();
+        if (probe != null) {
+            send(probe, true);
+        }
+        loading.whenComplete((loaded, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                completeMessage(progress, ChatMessage.kip("ERROR!!! Could not load your tasks: " + cause.getMessage()));
+                return;
+            }
+            StartupTiming.mark("tasks-loaded");
+            int count = loaded.getKipService().getStatistics().getTotalCount();
+            completeMessage(progress, ChatMessage.kip("Loaded " + count + " tasks. What can I do for you?"));
+            setKipGUI(loaded);
+        }));
     }
-    
+
     /** Injects the Stage instance */
     public void setStage(Stage stage) {
         this.stage = stage;
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Kip's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input in the chat followed by a pending reply from Kip, then runs the command off the
+     * JavaFX application thread. The pending reply is replaced by Kip's response once the command has run. Clears the
+     * user input straight away, so the user can keep typing while a slow command runs.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = kipGUI.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getKipDialog(response, kipImage)
-        );
+        autocompleter.cancel();
+        suggestionMenu.hide();
         userInput.clear();
-        
-        // Check if the response is the bye message and close the application
-        if (response.equals("Bye. Hope to see you again soon!")) {
+        send(input, false);
+    }
+
+    /**
+     * Echoes a command in the chat and sends it, or queues it if the tasks are still loading.
+     */
+    private void send(String input, boolean isProbe) {
+        ChatMessage pending = ChatMessage.pending();
+        addMessage(ChatMessage.user(input));
+        addMessage(pending);
+        if (kipGUI == null) {
+            queuedCommands.add(() -> run(input, pending, isProbe));
+        } else {
+            run(input, pending, isProbe);
+        }
+    }
+
+    /**
+     * Runs a command and replaces its pending reply with the response. A startup probe quits once it is answered.
+     */
+    private void run(String input, ChatMessage pending, boolean isProbe) {
+        kipGUI.getResponseAsync(input).whenComplete((response, error) -> Platform.runLater(() -> {
+            // Failures inside the command are reported as error responses, so this is only a bug surfacing
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            String text = error == null
+                    ? response.getText()
+                    : "ERROR!!! An unexpected error occurred: " + cause.getMessage();
+            completeMessage(pending, ChatMessage.kip(text));
+            if (isProbe) {
+                StartupTiming.mark("first-response");
+                Platform.exit();
+                return;
+            }
+
+            // Close the application once the user has said goodbye
+            if (error == null && response.isExit()) {
+                kipGUI.getKipService().getReminderScheduler().stop();
+                autocompleter.close();
+                closeTranscript();
+                if (taskStage != null) {
+                    taskStage.close();
+                }
+                if (stage != null) {
+                    stage.close();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Shows the task table in its own window, creating it the first time.
+     */
+    @FXML
+    private void handleShowTasks() {
+        if (taskStage == null) {
+            taskStage = new Stage();
+            taskStage.setTitle("Kip - Tasks");
+            taskStage.setScene(new Scene(new TaskTablePanel(taskTableModel), 640, 480));
             if (stage != null) {
-                stage.close();
+                taskStage.initOwner(stage);
             }
         }
+        taskStage.show();
+        taskStage.toFront();
+    }
+
+    /**
+     * Shows the suggested completions of the input above it, or hides them if there are none. Choosing one, or
+     * pressing Tab for the first, replaces the input with it.
+     */
+    private void showSuggestions(List<String> suggestions) {
+        if (suggestions.isEmpty() || !userInput.isFocused()) {
+            suggestionMenu.hide();
+            return;
+        }
+        List<MenuItem> items = new ArrayList<>();
+        for (String suggestion : suggestions) {
+            MenuItem item = new MenuItem(suggestion);
+            item.setOnAction(event -> {
+                userInput.setText(suggestion);
+                userInput.positionCaret(suggestion.length());
+            });
+            items.add(item);
+        }
+        suggestionMenu.getItems().setAll(items);
+        if (!suggestionMenu.isShowing()) {
+            suggestionMenu.show(userInput, Side.TOP, 0, 0);
+        }
+    }
+
+    /**
+     * Adds a message at the end of the chat and scrolls to it.
+     */
+    private void addMessage(ChatMessage message) {
+        if (chatHistory != null) {
+            chatHistory.add(message);
+        } else {
+            messages.add(message);
+        }
+        scrollToLatest();
+    }
+
+    /**
+     * Replaces a pending reply with the response it was waiting for.
+     */
+    private void completeMessage(ChatMessage pending, ChatMessage reply) {
+        if (chatHistory != null) {
+            chatHistory.complete(pending, reply);
+        } else {
+            messages.set(messages.indexOf(pending), reply);
+        }
+        if (chatHistory == null || chatHistory.isShowingLatest()) {
+            scrollToLatest();
+        }
+    }
+
+    /**
+     * Pages the previous messages in from the transcript, keeping the message at the top of the list in view.
+     */
+    private void loadOlderMessages() {
+        if (chatHistory == null) {
+            return;
+        }
+        int loaded = chatHistory.loadOlder();
+        if (loaded > 0) {
+            dialogList.scrollTo(loaded);
+        }
+    }
+
+    private boolean isScrolledToTop() {
+        VirtualFlow<?> flow = (VirtualFlow<?>) dialogList.lookup(".virtual-flow");
+        IndexedCell<?> first = flow == null ? null : flow.getFirstVisibleCell();
+        return first == null || first.getIndex() == 0;
+    }
+
+    private void scrollToLatest() {
+        if (!messages.isEmpty()) {
+            dialogList.scrollTo(messages.size() - 1);
+        }
+    }
+
+    private void closeTranscript() {
+        if (transcript == null) {
+            return;
+        }
+        try {
+            transcript.close();
+        } catch (IOException e) {
+            System.out.println("Error closing " + ChatTranscript.DEFAULT_FILE + ": " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,170 @@
+package kipgui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A set of words that can be listed by prefix, ignoring case.
+ *
+ * <p>Each node keeps its children in a sorted character array searched by
+ * binary search, so a node costs two small arrays rather than a map. A word
+ * added more than once, such as two tasks with the same description, is
+ * counted and only disappears once it has been removed as many times. Words
+ * are listed in the case they were first added in.</p>
+ *
+ * <p>The trie is not thread-safe.</p>
+ */
+public class PrefixTrie {
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Adds a word.
+     *
+     * @param word The word, not empty
+     */
+    public void add(String word) {
+        assert word != null && !word.isEmpty() : "Word must not be empty";
+        String key = keyOf(word);
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.count == 0) {
+            node.word = word;
+            size++;
+        }
+        node.count++;
+    }
+
+    /**
+     * Removes one occurrence of a word, pruning the nodes no other word uses.
+     *
+     * @param word The word
+     * @return true if the word was present
+     */
+    public boolean remove(String word) {
+        assert word != null : "Word must not be null";
+        String key = keyOf(word);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+        Node node = path[key.length()];
+        if (node.count == 0) {
+            return false;
+        }
+        node.count--;
+        if (node.count > 0) {
+            return true;
+        }
+        node.word = null;
+        size--;
+        for (int i = key.length(); i > 0 && path[i].isUnused(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+        return true;
+    }
+
+    /** Returns the number of distinct words */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Lists the words starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum number of words to return
+     * @return Up to <code>limit</code> words, in alphabetical order of their lower-case form
+     */
+    public List<String> complete(String prefix, int limit) {
+        assert limit >= 0 : "Limit must not be negative";
+        String key = keyOf(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        List<String> words = new ArrayList<>();
+        if (node != null) {
+            collect(node, limit, words);
+        }
+        return words;
+    }
+
+    private static void collect(Node node, int limit, List<String> words) {
+        if (words.size() >= limit) {
+            return;
+        }
+        if (node.count > 0) {
+            words.add(node.word);
+        }
+        for (int i = 0; i < node.childCount && words.size() < limit; i++) {
+            collect(node.children[i], limit, words);
+        }
+    }
+
+    private static String keyOf(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A node reached by one character, with its children sorted by character.
+     */
+    private static class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        /** Number of times the word ending here was added */
+        private int count;
+        /** The word ending here, as first added, or null if none does */
+        private String word;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            assert index >= 0 : "Child must exist to be removed";
+            System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        boolean isUnused() {
+            return count == 0 && childCount == 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package kipgui;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Prints how long after the JVM started each startup milestone was reached,
+ * when the <code>kip.startupTiming</code> system property is true.
+ *
+ * <p>Setting <code>kip.startupProbe</code> to a command as well makes the GUI
+ * send that command as soon as the window is shown, as a user typing straight
+ * away would, and quit once its response is on screen. {@code StartupBenchmark}
+ * in the tests launches the GUI this way and collects the printed times.</p>
+ */
+final class StartupTiming {
+    /** System property that turns the startup timing output on */
+    static final String TIMING_PROPERTY = "kip.startupTiming";
+    /** System property naming a command to send on startup before quitting */
+    static final String PROBE_PROPERTY = "kip.startupProbe";
+    /** Prefix of every line printed, followed by the milestone and the milliseconds since JVM start */
+    static final String OUTPUT_PREFIX = "startup ";
+
+    private static final boolean IS_ENABLED = Boolean.getBoolean(TIMING_PROPERTY);
+
+    private StartupTiming() {
+    }
+
+    static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /** Returns the command to send on startup, or null if there is none */
+    static String getProbe() {
+        return System.getProperty(PROBE_PROPERTY);
+    }
+
+    /**
+     * Prints the time since the JVM started, if timing is enabled.
+     *
+     * @param milestone The name of the milestone reached, without spaces
+     */
+    static void mark(String milestone) {
+        if (IS_ENABLED) {
+            long elapsed = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println(OUTPUT_PREFIX + milestone + " " + elapsed);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package kipgui;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import kip.query.Query;
+import kip.query.SortKey;
+import kip.task.Priority;
+import kip.task.Task;
+
+/**
+ * An immutable snapshot of a task as shown in one row of the task table.
+ *
+ * <p>Rows are taken on the thread that changes the task, so the table can read
+ * them on the JavaFX application thread while the next command runs.</p>
+ */
+public class TaskRow {
+    private final int id;
+    private final char type;
+    private final boolean isDone;
+    private final String description;
+    private final LocalDateTime when;
+    private final String tags;
+    private final Priority priority;
+    /** Lower-case display line of the task, matched by the table's filter */
+    private final String searchText;
+
+    private TaskRow(Task task) {
+        this.id = task.getId();
+        this.type = Query.typeOf(task);
+        this.isDone = task.isDone();
+        this.description = task.getDescription();
+        Object due = SortKey.BY.keyOf(task);
+        this.when = (LocalDateTime) (due != null ? due : SortKey.FROM.keyOf(task));
+        this.tags = String.join(" ", task.getTags());
+        this.priority = task.getPriority();
+        this.searchText = task.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Takes a snapshot of a task.
+     *
+     * @param task The task
+     * @return The row showing the task as it is now
+     */
+    public static TaskRow of(Task task) {
+        assert task != null : "Task must not be null";
+        return new TaskRow(task);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /** Returns the type code of the task: T, D, E or R */
+    public char getType() {
+        return type;
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /** Returns the due time of a deadline or the start of an event, or null for a to-do */
+    public LocalDateTime getWhen() {
+        return when;
+    }
+
+    /** Returns the tags separated by spaces, empty if there are none */
+    public String getTags() {
+        return tags;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns whether the row's display line contains every word of a filter.
+     *
+     * @param terms The lower-case filter words
+     * @return true if every word appears in the task's display line
+     */
+    public boolean matches(String[] terms) {
+        for (String term : terms) {
+            if (!searchText.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
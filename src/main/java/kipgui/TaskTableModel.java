@@ -0,0 +1,134 @@
+package kipgui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import kip.event.TaskAdded;
+import kip.event.TaskEvent;
+import kip.event.TaskLabelsChanged;
+import kip.event.TaskListener;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+
+/**
+ * The rows of the task table, kept in list order by the task events of a
+ * {@link kip.KipService}.
+ *
+ * <p>Each event becomes a single add, remove or replace on the observable
+ * list, so the table never reloads the whole list. Events arrive on the
+ * command thread and are applied on the JavaFX application thread in
+ * batches: every event published before a batch runs is applied in the same
+ * pulse, and a run of tasks added at the end of the list, such as the initial
+ * load, is appended with one change.</p>
+ */
+public class TaskTableModel implements TaskListener {
+    private final ObservableList<TaskRow> rows = FXCollections.observableArrayList();
+    private final Consumer<Runnable> fxExecutor;
+    /** Events waiting to be applied, each with the row it carries */
+    private List<PendingChange> pending = new ArrayList<>();
+
+    public TaskTableModel() {
+        this(Platform::runLater);
+    }
+
+    /**
+     * Constructs a model that applies its changes through the given executor.
+     *
+     * @param fxExecutor Runs a batch of changes on the thread that owns the rows
+     */
+    TaskTableModel(Consumer<Runnable> fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    /** Returns the rows, in list order; only read or observe them on the JavaFX application thread */
+    public ObservableList<TaskRow> getRows() {
+        return rows;
+    }
+
+    @Override
+    public void onTaskAdded(TaskAdded event) {
+        enqueue(event);
+    }
+
+    @Override
+    public void onTaskRemoved(TaskRemoved event) {
+        enqueue(event);
+    }
+
+    @Override
+    public void onTaskStatusChanged(TaskStatusChanged event) {
+        enqueue(event);
+    }
+
+    @Override
+    public void onTaskLabelsChanged(TaskLabelsChanged event) {
+        enqueue(event);
+    }
+
+    /**
+     * Records an event with a snapshot of its task and schedules a batch if none is waiting.
+     */
+    private void enqueue(TaskEvent event) {
+        TaskRow row = event instanceof TaskRemoved ? null : TaskRow.of(event.getTask());
+        PendingChange change = new PendingChange(event, row);
+        boolean isFirst;
+        synchronized (this) {
+            isFirst = pending.isEmpty();
+            pending.add(change);
+        }
+        if (isFirst) {
+            fxExecutor.accept(this::applyPending);
+        }
+    }
+
+    /**
+     * Applies every waiting event to the rows.
+     */
+    private void applyPending() {
+        List<PendingChange> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        List<TaskRow> appended = new ArrayList<>();
+        for (PendingChange change : batch) {
+            TaskEvent event = change.event;
+            if (event instanceof TaskAdded && event.getIndex() == rows.size() + appended.size()) {
+                appended.add(change.row);
+                continue;
+            }
+            flush(appended);
+            if (event instanceof TaskAdded) {
+                rows.add(event.getIndex(), change.row);
+            } else if (event instanceof TaskRemoved) {
+                rows.remove(event.getIndex());
+            } else {
+                rows.set(event.getIndex(), change.row);
+            }
+        }
+        flush(appended);
+    }
+
+    private void flush(List<TaskRow> appended) {
+        if (!appended.isEmpty()) {
+            rows.addAll(appended);
+            appended.clear();
+        }
+    }
+
+    /**
+     * An event waiting to be applied, with the row taken when it was published.
+     */
+    private static class PendingChange {
+        private final TaskEvent event;
+        private final TaskRow row;
+
+        PendingChange(TaskEvent event, TaskRow row) {
+            this.event = event;
+            this.row = row;
+        }
+    }
+}
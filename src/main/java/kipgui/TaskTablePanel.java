@@ -0,0 +1,105 @@
+package kipgui;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import kip.task.Priority;
+
+/**
+ * A sortable, filterable table of every task, kept live by a {@link TaskTableModel}.
+ *
+ * <p>The table is a view of the model's rows through a {@link FilteredList} and
+ * a {@link SortedList}, so a change to one task only updates that task's row,
+ * and the table only creates cells for the visible rows.</p>
+ *
+ * <p>The filter keeps the tasks whose display line contains every word typed,
+ * e.g. {@code +work !high} or {@code [D] report}. The # column shows the
+ * position used by mark, unmark and delete, whatever the table is sorted by.</p>
+ */
+public class TaskTablePanel extends VBox {
+    private static final DateTimeFormatter WHEN_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+
+    private final TaskTableModel model;
+    private final FilteredList<TaskRow> filtered;
+    private final SortedList<TaskRow> sorted;
+    private final TableView<TaskRow> table = new TableView<>();
+    private final TextField filter = new TextField();
+
+    public TaskTablePanel(TaskTableModel model) {
+        this.model = model;
+        this.filtered = new FilteredList<>(model.getRows());
+        this.sorted = new SortedList<>(filtered);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+
+        table.setItems(sorted);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.getColumns().add(positionColumn());
+        table.getColumns().add(column("Type", TaskRow::getType, Object::toString));
+        table.getColumns().add(column("Done", TaskRow::isDone, isDone -> isDone ? "X" : ""));
+        table.getColumns().add(column("Description", TaskRow::getDescription, Function.identity()));
+        table.getColumns().add(column("When", TaskRow::getWhen, WHEN_FORMATTER::format));
+        table.getColumns().add(column("Tags", TaskRow::getTags, Function.identity()));
+        table.getColumns().add(column("Priority", TaskRow::getPriority,
+                priority -> priority == Priority.NONE ? "" : priority.getPriorityString()));
+
+        filter.setPromptText("Filter, e.g. +work !high");
+        filter.textProperty().addListener((observable, oldText, newText) -> applyFilter(newText));
+
+        VBox.setVgrow(table, javafx.scene.layout.Priority.ALWAYS);
+        getChildren().addAll(filter, table);
+    }
+
+    private void applyFilter(String text) {
+        String[] terms = text.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (text.trim().isEmpty()) {
+            filtered.setPredicate(null);
+        } else {
+            filtered.setPredicate(row -> row.matches(terms));
+        }
+    }
+
+    /**
+     * Builds the # column, which sorts by task ID since IDs increase in list order.
+     */
+    private TableColumn<TaskRow, Integer> positionColumn() {
+        TableColumn<TaskRow, Integer> column = new TableColumn<>("#");
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().getId()));
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(Integer id, boolean isEmpty) {
+                super.updateItem(id, isEmpty);
+                if (isEmpty || id == null) {
+                    setText(null);
+                } else {
+                    setText(String.valueOf(sorted.getSourceIndexFor(model.getRows(), getIndex()) + 1));
+                }
+            }
+        });
+        return column;
+    }
+
+    /**
+     * Builds a column that sorts by a row's value and shows it as text.
+     */
+    private static <T> TableColumn<TaskRow, T> column(String title,
+            Function<TaskRow, T> value, Function<T, String> format) {
+        TableColumn<TaskRow, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(T item, boolean isEmpty) {
+                super.updateItem(item, isEmpty);
+                setText(isEmpty || item == null ? null : format.apply(item));
+            }
+        });
+        return column;
+    }
+}
@@ -0,0 +1,164 @@
+package kip;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import kip.command.Command;
+import kip.dedupe.DuplicatePolicy;
+import kip.metrics.CommandMetrics;
+import kip.metrics.Phase;
+import kip.response.ErrorCode;
+import kip.response.Response;
+import kip.response.ResponseKind;
+import kip.storage.Storage;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KipServiceTest {
+
+    @Test
+    public void testExecuteReportsErrorsWithoutThrowing() {
+        KipService service = new KipService();
+
+        Response response = service.execute("mark abc");
+
+        assertTrue(response.isError());
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, response.getErrorCode());
+        assertEquals(service.getTasks().size(), response.getListSize());
+    }
+
+    @Test
+    public void testAsyncCommandsRunInOrder() throws Exception {
+        KipService service = new KipService();
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+
+        for (String input : new String[] {"help", "frobnicate", "stats", "bye"}) {
+            futures.add(service.processCommandAsync(input));
+        }
+
+        // Commands run one at a time, so once the last is done every earlier one is too
+        assertTrue(futures.get(3).get().isExit());
+        for (CompletableFuture<Response> future : futures) {
+            assertTrue(future.isDone());
+        }
+
+        assertEquals(ResponseKind.HELP, futures.get(0).get().getKind());
+        assertEquals(ErrorCode.UNKNOWN_COMMAND, futures.get(1).get().getErrorCode());
+        assertEquals(ResponseKind.STATS, futures.get(2).get().getKind());
+    }
+
+    @Test
+    public void testAsyncResponseShowsTasksAsTheCommandLeftThem() throws Exception {
+        File csv = File.createTempFile("kip-async", ".csv");
+        csv.deleteOnExit();
+        KipService service = new KipService(new Storage(csv.getPath()));
+        service.execute("todo read book");
+
+        CompletableFuture<Response> mark = service.processCommandAsync("mark 1");
+        CompletableFuture<Response> stats = service.processCommandAsync("stats");
+        service.processCommandAsync("unmark 1").get();
+        service.processCommandAsync("todo write essay").get();
+
+        assertTrue(mark.get().getText().contains("[X] read book"), mark.get().getText());
+        assertTrue(stats.get().getText().contains("Total: 1 (0 open, 1 done)"), stats.get().getText());
+        service.close();
+    }
+
+    @Test
+    public void testProcessCommandAsyncRendersText() throws Exception {
+        KipService service = new KipService();
+
+        Response response = service.processCommandAsync("bye").get();
+
+        assertEquals("Bye. Hope to see you again soon!", response.getText());
+    }
+
+    @Test
+    public void testImportCommitsInBatchesAndExportFilters() throws Exception {
+        File directory = Files.createTempDirectory("kip-transfer").toFile();
+        directory.deleteOnExit();
+        File csv = new File(directory, "tasks.csv");
+        KipService service = new KipService(new Storage(csv.getPath()));
+        service.execute("todo task 0");
+        int count = KipService.IMPORT_BATCH_SIZE * 2 + 5;
+        File jsonl = new File(directory, "in.jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(jsonl.toPath())) {
+            for (int i = 1; i <= count; i++) {
+                writer.write("{\"type\":\"deadline\",\"description\":\"task " + i + "\",\"by\":\"2025-10-0"
+                        + (i % 9 + 1) + "T09:00\"}\n");
+            }
+            writer.write("oops\n");
+        }
+
+        Response imported = service.execute("import " + jsonl.getPath());
+
+        assertEquals(ResponseKind.IMPORTED, imported.getKind());
+        assertEquals("Imported " + count + " tasks from " + jsonl.getPath() + ".\n"
+                + "Skipped 1 entries that could not be read as tasks.\n"
+                + "Now you have " + (count + 1) + " tasks in the list.", imported.getText());
+        // The CSV file holds the header and the whole list
+        assertEquals(count + 2, Files.readAllLines(csv.toPath()).size());
+        assertEquals(count + 1, new Storage(csv.getPath()).load().size());
+
+        File ics = new File(directory, "out.ics");
+        Response exported = service.execute("export " + ics.getPath() + " type:D before:2025-10-02");
+        assertEquals(ResponseKind.EXPORTED, exported.getKind());
+        int expected = count / 9;
+        assertEquals("Exported " + expected + " tasks to " + ics.getPath() + ".", exported.getText());
+
+        KipService other = new KipService(new Storage(new File(directory, "other.csv").getPath()));
+        assertEquals(ResponseKind.IMPORTED, other.execute("import " + ics.getPath()).getKind());
+        assertEquals(expected, other.getTasks().size());
+        // Importing again merges every task into its duplicate once merging is turned on
+        assertEquals(DuplicatePolicy.ALLOW, other.getDuplicatePolicy());
+        other.setDuplicatePolicy(DuplicatePolicy.MERGE);
+        assertTrue(other.execute("import " + ics.getPath()).getText().contains("Merged " + expected + " tasks"));
+        assertEquals(expected, other.getTasks().size());
+    }
+
+    @Test
+    public void testImportErrors() {
+        KipService service = new KipService();
+
+        assertEquals(ErrorCode.INCOMPLETE_INSTRUCTION, service.execute("import").getErrorCode());
+        assertEquals(ErrorCode.INVALID_INPUT, service.execute("import tasks.txt").getErrorCode());
+        assertEquals(ErrorCode.FILE_ERROR, service.execute("import /no/such/dir/tasks.ics").getErrorCode());
+        assertEquals(ErrorCode.FILE_ERROR, service.execute("export /no/such/dir/tasks.jsonl").getErrorCode());
+    }
+
+    @Test
+    public void testMetricsCountEveryCommand() throws Exception {
+        File csv = File.createTempFile("kip-metrics", ".csv");
+        csv.deleteOnExit();
+        Storage storage = new Storage(csv.getPath());
+        KipService service = new KipService(storage);
+
+        for (String input : new String[] {"todo read book", "mark 1", "mark abc", "frobnicate"}) {
+            service.execute(input);
+        }
+
+        CommandMetrics metrics = service.getMetrics();
+        assertEquals(4, metrics.getCommandCount());
+        assertEquals(2, metrics.getErrorCount());
+        assertEquals(2, metrics.getCount(Command.MARK));
+        assertEquals(1, metrics.getErrorCount(Command.MARK));
+        assertEquals(1, metrics.getCount(null));
+        assertEquals(1, metrics.getErrorCount(ErrorCode.UNKNOWN_COMMAND));
+        assertEquals(storage.getBytesWritten(), metrics.getBytesWritten());
+        assertTrue(metrics.getBytesWritten(Command.TODO) > 0);
+        // The first command is always timed
+        assertEquals(1, metrics.getLatencies(Command.TODO, Phase.PERSIST).getCount());
+
+        Response response = service.execute("metrics mark");
+        assertEquals(ResponseKind.METRICS, response.getKind());
+        assertTrue(response.getText().contains("Runs: 2 (1 failed)"), response.getText());
+        // Counts include the metrics commands themselves
+        assertTrue(service.execute("metrics").getText().contains("Commands: 6 (2 failed)"));
+        assertEquals(ErrorCode.INVALID_INPUT, service.execute("metrics frobnicate").getErrorCode());
+        service.close();
+    }
+}
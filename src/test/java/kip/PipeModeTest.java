@@ -0,0 +1,38 @@
+package kip;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PipeModeTest {
+
+    @Test
+    public void testWritesBareResponsesUntilBye() {
+        KipService service = new KipService();
+        StringWriter out = new StringWriter();
+
+        int exitCode = PipeMode.run(service, new StringReader("stats\n\nbye\nhelp\n"), out);
+
+        assertEquals(PipeMode.EXIT_OK, exitCode);
+        String expected = service.execute("stats").getText() + System.lineSeparator()
+                + service.execute("bye").getText() + System.lineSeparator();
+        assertEquals(expected, out.toString());
+        assertFalse(out.toString().contains("____"));
+    }
+
+    @Test
+    public void testFailedCommandSetsExitCodeAndContinues() {
+        StringWriter out = new StringWriter();
+
+        int exitCode = PipeMode.run(new KipService(), new StringReader("frobnicate\nmark abc\nstats"), out);
+
+        assertEquals(PipeMode.EXIT_COMMAND_FAILED, exitCode);
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertTrue(lines[0].startsWith("ERROR!!! "));
+        assertTrue(lines[1].startsWith("ERROR!!! "));
+        assertFalse(lines[2].startsWith("ERROR!!! "));
+    }
+}
@@ -0,0 +1,110 @@
+package kip.bench;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import kip.KipService;
+import kip.response.ErrorCode;
+import kip.response.Response;
+
+/**
+ * Measures how fast {@link KipService#execute(String)} handles a scripted
+ * workload in which most lines are invalid.
+ *
+ * <p>The workload mixes mistyped task numbers, missing descriptions and dates,
+ * malformed dates and unknown commands with read-only valid commands, so the
+ * task file is never written. The time per line is reported without rendering
+ * the response text, which is what a batch client pays. For comparison, the
+ * benchmark also times the throwing path the task number check used to take,
+ * {@link Integer#parseInt(String)} failing with a {@link NumberFormatException}.</p>
+ *
+ * <p>Run with {@code gradlew errorPathBenchmark}, optionally passing the number
+ * of lines and the percentage of invalid lines as arguments.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public class ErrorPathBenchmark {
+    private static final String[] INVALID_LINES = {
+        "mark abc",
+        "unmark -1",
+        "delete 999999",
+        "todo",
+        "deadline report",
+        "deadline report /by tomorrow",
+        "event party /from 2025-13-01 /to 2025-13-02",
+        "event party /from 2025-10-01",
+        "frobnicate all the things",
+    };
+    private static final String[] VALID_LINES = {
+        "find book",
+        "stats",
+        "help",
+    };
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int errorPercent = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+        List<String> workload = buildWorkload(lineCount, errorPercent, new Random(42));
+        KipService service = new KipService();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(service, workload, null);
+        }
+        Map<ErrorCode, Integer> errors = new EnumMap<>(ErrorCode.class);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            errors.clear();
+            best = Math.min(best, run(service, workload, errors));
+        }
+        System.out.printf("execute: %d lines, %d%% invalid, %.1f ns/line (best of %d rounds)%n",
+                lineCount, errorPercent, (double) best / lineCount, MEASURED_ROUNDS);
+        System.out.println("errors: " + errors);
+
+        long parseBest = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP_ROUNDS + MEASURED_ROUNDS; i++) {
+            parseBest = Math.min(parseBest, throwingParse(lineCount));
+        }
+        System.out.printf("reference: Integer.parseInt throwing NumberFormatException, %.1f ns/call%n",
+                (double) parseBest / lineCount);
+    }
+
+    private static List<String> buildWorkload(int lineCount, int errorPercent, Random random) {
+        List<String> workload = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            String[] pool = random.nextInt(100) < errorPercent ? INVALID_LINES : VALID_LINES;
+            workload.add(pool[random.nextInt(pool.length)]);
+        }
+        return workload;
+    }
+
+    private static long run(KipService service, List<String> workload, Map<ErrorCode, Integer> errors) {
+        long start = System.nanoTime();
+        for (String line : workload) {
+            Response response = service.execute(line);
+            if (errors != null && response.isError()) {
+                errors.merge(response.getErrorCode(), 1, Integer::sum);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long throwingParse(int calls) {
+        long start = System.nanoTime();
+        int failures = 0;
+        for (int i = 0; i < calls; i++) {
+            try {
+                Integer.parseInt("abc");
+            } catch (NumberFormatException e) {
+                failures++;
+            }
+        }
+        assert failures == calls : "Every parse should fail";
+        return System.nanoTime() - start;
+    }
+}
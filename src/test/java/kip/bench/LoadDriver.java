@@ -0,0 +1,137 @@
+package kip.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import kip.KipService;
+import kip.command.Command;
+import kip.metrics.LatencyHistogram;
+import kip.response.Response;
+import kip.storage.Storage;
+
+/**
+ * Replays a generated workload against {@link KipService} in process and
+ * reports the throughput and the latency of each command.
+ *
+ * <p>A {@link WorkloadGenerator} writes a task file and a command stream to a
+ * directory. The stream is replayed once to warm up, then again on a fresh
+ * copy of the task file while every command is timed, including rendering its
+ * response text and saving the file, as the user waits for both. Latencies
+ * are kept per {@link Command} in a {@link LatencyHistogram}; lines that do
+ * not start with a command word are reported as <code>unknown</code>.</p>
+ *
+ * <p>Run with {@code gradlew loadDriver}, optionally passing as arguments the
+ * number of tasks, the number of commands, the percentage of valid commands
+ * that only read, the percentage of invalid commands, the seed and a directory
+ * to keep the generated files in. The files can be replayed by hand with
+ * <code>java -cp build/classes/java/main kip.Kip --pipe --file tasks.csv &lt; commands.txt</code>.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ * @see WorkloadGenerator
+ */
+public class LoadDriver {
+    /** The time generated dates are spread around, fixed so that a seed always gives the same workload */
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 10, 1, 9, 0);
+    private static final String UNKNOWN = "unknown";
+
+    private final Map<Command, LatencyHistogram> latencies = new EnumMap<>(Command.class);
+    private final Map<Command, Integer> errors = new EnumMap<>(Command.class);
+    private final LatencyHistogram unknownLatencies = new LatencyHistogram();
+    private int unknownErrors;
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int commandCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int readPercent = args.length > 2 ? Integer.parseInt(args[2]) : 80;
+        int errorPercent = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        boolean isKept = args.length > 5;
+        File directory = isKept ? new File(args[5]) : Files.createTempDirectory("kip-workload").toFile();
+        directory.mkdirs();
+
+        WorkloadGenerator generator = new WorkloadGenerator(seed, REFERENCE_TIME);
+        File taskFile = new File(directory, "tasks.csv");
+        generator.writeTaskFile(taskFile, taskCount);
+        List<String> commands = generator.nextCommands(commandCount, readPercent, errorPercent);
+        File commandFile = new File(directory, "commands.txt");
+        Files.write(commandFile.toPath(), commands, StandardCharsets.UTF_8);
+        System.out.printf("workload: %d tasks, %d commands, %d%% reads, %d%% errors, seed %d%n",
+                taskCount, commandCount, readPercent, errorPercent, seed);
+
+        File listFile = new File(directory, "replay.csv");
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long elapsed;
+        LoadDriver driver = new LoadDriver();
+        try {
+            Files.copy(taskFile.toPath(), listFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            new LoadDriver().replay(new KipService(new Storage(listFile.getPath())), commands);
+            Files.copy(taskFile.toPath(), listFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            elapsed = driver.replay(new KipService(new Storage(listFile.getPath())), commands);
+        } finally {
+            System.setOut(console);
+            listFile.delete();
+        }
+
+        System.out.printf("throughput: %.0f commands/s%n", commandCount * 1e9 / elapsed);
+        driver.report(System.out);
+        if (isKept) {
+            System.out.println("files: " + taskFile + ", " + commandFile);
+        } else {
+            taskFile.delete();
+            commandFile.delete();
+            directory.delete();
+        }
+    }
+
+    /**
+     * Runs the commands one after another and returns the time taken, in nanoseconds.
+     */
+    private long replay(KipService service, List<String> commands) {
+        long start = System.nanoTime();
+        for (String line : commands) {
+            long commandStart = System.nanoTime();
+            Response response = service.execute(line);
+            response.getText();
+            long latency = System.nanoTime() - commandStart;
+            Command command = Command.fromString(line.split(" ", 2)[0]);
+            if (command == null) {
+                unknownLatencies.record(latency);
+                unknownErrors += response.isError() ? 1 : 0;
+            } else {
+                latencies.computeIfAbsent(command, key -> new LatencyHistogram()).record(latency);
+                errors.merge(command, response.isError() ? 1 : 0, Integer::sum);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        service.close();
+        return elapsed;
+    }
+
+    private void report(PrintStream out) {
+        out.printf("%-10s %9s %8s %10s %10s %10s %10s%n",
+                "command", "count", "errors", "p50 (us)", "p99 (us)", "p999 (us)", "max (us)");
+        for (Map.Entry<Command, LatencyHistogram> entry : latencies.entrySet()) {
+            printRow(out, entry.getKey().getCommandString(), entry.getValue(), errors.get(entry.getKey()));
+        }
+        if (unknownLatencies.getCount() > 0) {
+            printRow(out, UNKNOWN, unknownLatencies, unknownErrors);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, LatencyHistogram histogram, int errorCount) {
+        out.printf("%-10s %9d %8d %10.1f %10.1f %10.1f %10.1f%n", name, histogram.getCount(), errorCount,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMax() / 1e3);
+    }
+}
@@ -0,0 +1,108 @@
+package kip.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import kip.KipService;
+import kip.server.KipServer;
+
+/**
+ * Measures the throughput and latency of {@link KipServer} as the number of
+ * concurrent clients grows.
+ *
+ * <p>Each client sends read-only commands one after another over a kept-alive
+ * connection, so the task file is never written. For every client count the
+ * requests per second and the median and 99th percentile latency are
+ * reported. An in-process server on a free port is used unless a port is
+ * given, in which case an already running server is measured instead.</p>
+ *
+ * <p>Run with {@code gradlew serverLoadBenchmark}, optionally passing the
+ * number of requests per client and the port of a running server.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public class ServerLoadBenchmark {
+    private static final String[] COMMANDS = {
+        "list",
+        "stats",
+        "find book",
+    };
+    private static final int[] CLIENT_COUNTS = {1, 2, 4, 8, 16, 32};
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int requestsPerClient = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        KipServer server = null;
+        int port;
+        if (args.length > 1) {
+            port = Integer.parseInt(args[1]);
+        } else {
+            KipService service = new KipService();
+            service.confineTransfers(null);
+            server = new KipServer(service, 0);
+            server.start();
+            port = server.getPort();
+        }
+        URI uri = URI.create("http://127.0.0.1:" + port + KipServer.COMMAND_PATH);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        runClient(client, uri, WARMUP_REQUESTS, 0);
+        System.out.printf("%8s %12s %10s %10s%n", "clients", "requests/s", "p50 (us)", "p99 (us)");
+        for (int clients : CLIENT_COUNTS) {
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            List<Future<long[]>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                int offset = i;
+                results.add(pool.submit(() -> runClient(client, uri, requestsPerClient, offset)));
+            }
+            long[] latencies = new long[clients * requestsPerClient];
+            for (int i = 0; i < clients; i++) {
+                System.arraycopy(results.get(i).get(), 0, latencies, i * requestsPerClient, requestsPerClient);
+            }
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            Arrays.sort(latencies);
+            System.out.printf("%8d %12.0f %10.0f %10.0f%n", clients, latencies.length * 1e9 / elapsed,
+                    percentile(latencies, 50) / 1e3, percentile(latencies, 99) / 1e3);
+        }
+
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    /**
+     * Sends requests one after another and returns the latency of each, in nanoseconds.
+     */
+    private static long[] runClient(HttpClient client, URI uri, int requests, int offset) throws Exception {
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString(COMMANDS[(i + offset) % COMMANDS.length]))
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies[i] = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Request failed with status " + response.statusCode());
+            }
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,301 @@
+package kip.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import kip.storage.Storage;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+
+/**
+ * Generates task files and command streams that look like real use, the same
+ * ones every time for the same seed.
+ *
+ * <p>Task files mix the task types as a busy list does: 40% todos, 35%
+ * deadlines, 15% events and 10% recurring tasks. Deadlines and events are
+ * spread around the reference time with a two-week standard deviation, mostly
+ * in working hours, and those in the past are more likely to be done. About
+ * half the tasks carry one or two tags and a third a priority. Descriptions
+ * are drawn from a small vocabulary and end with a running number, so the
+ * duplicate check never merges two generated tasks and the list has exactly
+ * the size the generator expects.</p>
+ *
+ * <p>Command streams are split between reads, writes and errors by the given
+ * percentages. Reads are mostly searches and list queries, with some full
+ * listings and statistics. One write in ten starts a burst of 2 to 20 writes
+ * of the same kind, such as a user adding a batch of todos or ticking off a
+ * run of tasks. Errors are the mistakes users make: task numbers out of
+ * range, missing descriptions and dates, malformed dates and unknown commands.
+ * The generator tracks the list size, so every task number in a valid
+ * command exists when the command is replayed in order.</p>
+ *
+ * @author alsonleej
+ * @version 1.0
+ * @since 2025
+ */
+public class WorkloadGenerator {
+    private static final String[] VERBS = {
+        "read", "review", "submit", "call", "email", "buy", "fix", "plan", "book", "pay",
+        "draft", "prepare", "clean", "update", "return", "schedule", "finish", "check",
+    };
+    private static final String[] OBJECTS = {
+        "report", "book", "tutorial", "invoice", "project proposal", "groceries", "bike",
+        "slides", "dentist", "rent", "lecture notes", "assignment", "flight", "budget",
+        "team", "laundry", "library book", "quiz", "meeting notes", "insurance",
+    };
+    private static final String[] TAGS = {
+        "work", "school", "home", "urgent", "errand", "health", "finance", "reading",
+    };
+    private static final String[] UNKNOWN_COMMANDS = {
+        "lst", "add", "remove", "done", "show all", "todos", "undo", "quit",
+    };
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** Percentage of writes that start a burst of writes of the same kind */
+    private static final int BURST_PERCENT = 10;
+    private static final int MAX_BURST_LENGTH = 20;
+
+    private final Random random;
+    private final LocalDateTime now;
+    /** Appended to every description so that no two generated tasks are duplicates */
+    private int serial;
+    private int listSize;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed Selects the workload; the same seed always gives the same tasks and commands
+     * @param now The reference time that dates are spread around
+     */
+    public WorkloadGenerator(long seed, LocalDateTime now) {
+        assert now != null : "Reference time must not be null";
+        this.random = new Random(seed);
+        this.now = now;
+    }
+
+    /**
+     * Writes a task file in the format read by {@link Storage}, one task at a
+     * time, and makes it the list that later commands apply to.
+     *
+     * @param file The file to write
+     * @param count The number of tasks
+     * @throws IOException If the file cannot be written
+     */
+    public void writeTaskFile(File file, int count) throws IOException {
+        assert count >= 0 : "Task count must not be negative";
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(Storage.formatTaskLine(nextTask()));
+                writer.newLine();
+            }
+        }
+        listSize = count;
+    }
+
+    /**
+     * Generates one task.
+     *
+     * @return The task
+     */
+    public Task nextTask() {
+        int kind = random.nextInt(100);
+        Task task;
+        LocalDateTime time = nextTime();
+        if (kind < 40) {
+            task = new ToDo(nextDescription());
+        } else if (kind < 75) {
+            task = new Deadline(nextDescription(), time);
+        } else if (kind < 90) {
+            task = new Event(nextDescription(), time, time.plusMinutes(nextDuration()));
+        } else {
+            Recurrence recurrence = new Recurrence(nextFrequency(), null, 5 + random.nextInt(50));
+            task = random.nextBoolean()
+                    ? new RecurringTask(nextDescription(), time, time.plusMinutes(nextDuration()), recurrence)
+                    : new RecurringTask(nextDescription(), time, recurrence);
+        }
+        for (int tags = nextTagCount(); tags > 0; tags--) {
+            task.addTag(TAGS[random.nextInt(TAGS.length)]);
+        }
+        task.setPriority(nextPriority());
+        // Tasks in the past are mostly done, those in the future mostly not
+        int donePercent = kind < 40 ? 30 : time.isBefore(now) ? 80 : 10;
+        if (random.nextInt(100) < donePercent) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Generates a stream of commands to replay in order against the list of
+     * the last task file written.
+     *
+     * @param count The number of commands
+     * @param readPercent The percentage of valid commands that only read the list
+     * @param errorPercent The percentage of commands that are invalid
+     * @return The command lines
+     */
+    public List<String> nextCommands(int count, int readPercent, int errorPercent) {
+        assert readPercent >= 0 && readPercent <= 100 : "Read percentage must be between 0 and 100";
+        assert errorPercent >= 0 && errorPercent <= 100 : "Error percentage must be between 0 and 100";
+        List<String> commands = new ArrayList<>(count);
+        int burstKind = 0;
+        int burstLeft = 0;
+        while (commands.size() < count) {
+            if (burstLeft > 0) {
+                commands.add(nextWrite(burstKind));
+                burstLeft--;
+            } else if (random.nextInt(100) < errorPercent) {
+                commands.add(nextError());
+            } else if (random.nextInt(100) < readPercent) {
+                commands.add(nextRead());
+            } else {
+                int kind = random.nextInt(100);
+                if (random.nextInt(100) < BURST_PERCENT) {
+                    burstKind = kind;
+                    burstLeft = 1 + random.nextInt(MAX_BURST_LENGTH - 1);
+                }
+                commands.add(nextWrite(kind));
+            }
+        }
+        return commands;
+    }
+
+    private String nextRead() {
+        int kind = random.nextInt(100);
+        if (kind < 10) {
+            return "list";
+        } else if (kind < 35) {
+            return "find " + OBJECTS[random.nextInt(OBJECTS.length)];
+        } else if (kind < 50) {
+            return "list text:" + VERBS[random.nextInt(VERBS.length)] + " done:0";
+        } else if (kind < 65) {
+            return "list +" + TAGS[random.nextInt(TAGS.length)] + " -done";
+        } else if (kind < 80) {
+            return "list type:D done:0 before:" + DATE.format(now.plusDays(random.nextInt(14)))
+                    + " sort:by limit:10";
+        } else if (kind < 90) {
+            LocalDateTime from = now.plusDays(random.nextInt(28) - 7);
+            return "list /from " + DATE.format(from) + " /to " + DATE.format(from.plusDays(7));
+        } else if (kind < 97) {
+            return "stats";
+        } else if (kind < 99) {
+            return "explain +" + TAGS[random.nextInt(TAGS.length)] + " !high sort:by";
+        } else {
+            return "help";
+        }
+    }
+
+    /**
+     * Generates a valid write: 40% adds, 25% marks, 10% unmarks and 25% deletes.
+     */
+    private String nextWrite(int kind) {
+        if (kind < 40 || listSize == 0) {
+            listSize++;
+            return nextAdd();
+        } else if (kind < 65) {
+            return "mark " + (1 + random.nextInt(listSize));
+        } else if (kind < 75) {
+            return "unmark " + (1 + random.nextInt(listSize));
+        } else {
+            listSize--;
+            return "delete " + (1 + random.nextInt(listSize + 1));
+        }
+    }
+
+    private String nextAdd() {
+        int kind = random.nextInt(100);
+        // Tags and the priority are part of the description, so they come before any date
+        StringBuilder command = new StringBuilder(kind < 50 ? "todo " : kind < 85 ? "deadline " : "event ")
+                .append(nextDescription());
+        for (int tags = nextTagCount(); tags > 0; tags--) {
+            command.append(" +").append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        Priority priority = nextPriority();
+        if (priority != Priority.NONE) {
+            command.append(" !").append(priority.getPriorityString());
+        }
+        LocalDateTime time = nextTime();
+        if (kind >= 50 && kind < 85) {
+            command.append(" /by ").append(DATE_TIME.format(time));
+        } else if (kind >= 85) {
+            command.append(" /from ").append(DATE_TIME.format(time))
+                    .append(" /to ").append(DATE_TIME.format(time.plusMinutes(nextDuration())));
+        }
+        if (kind >= 50 && random.nextInt(100) < 10) {
+            command.append(" /every ").append(nextFrequency().name().toLowerCase(Locale.ROOT))
+                    .append(" /count ").append(5 + random.nextInt(50));
+        }
+        return command.toString();
+    }
+
+    private String nextError() {
+        switch (random.nextInt(8)) {
+        case 0:
+            return "mark " + (listSize + 1 + random.nextInt(100));
+        case 1:
+            return "delete " + (listSize + 1 + random.nextInt(100));
+        case 2:
+            return "unmark " + VERBS[random.nextInt(VERBS.length)];
+        case 3:
+            return "todo";
+        case 4:
+            return "deadline " + nextDescription();
+        case 5:
+            return "deadline " + nextDescription() + " /by " + OBJECTS[random.nextInt(OBJECTS.length)];
+        case 6:
+            return "event " + nextDescription() + " /from " + DATE.format(now) + " /to 2025-13-01";
+        default:
+            return UNKNOWN_COMMANDS[random.nextInt(UNKNOWN_COMMANDS.length)];
+        }
+    }
+
+    private String nextDescription() {
+        return VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)] + " " + ++serial;
+    }
+
+    /**
+     * Returns a time around the reference time, on the half hour in working
+     * hours, or at midnight for the three in ten dates given without a time.
+     */
+    private LocalDateTime nextTime() {
+        LocalDateTime day = now.toLocalDate().atStartOfDay().plusDays(Math.round(random.nextGaussian() * 14));
+        if (random.nextInt(10) < 3) {
+            return day;
+        }
+        return day.plusHours(8 + random.nextInt(10)).plusMinutes(30 * random.nextInt(2));
+    }
+
+    /** Returns an event length from 30 minutes to 3 hours, in minutes */
+    private int nextDuration() {
+        return 30 * (1 + random.nextInt(6));
+    }
+
+    private Recurrence.Frequency nextFrequency() {
+        int kind = random.nextInt(10);
+        return kind < 3 ? Recurrence.Frequency.DAILY : kind < 8 ? Recurrence.Frequency.WEEKLY
+                : Recurrence.Frequency.MONTHLY;
+    }
+
+    private int nextTagCount() {
+        int kind = random.nextInt(10);
+        return kind < 5 ? 0 : kind < 8 ? 1 : 2;
+    }
+
+    private Priority nextPriority() {
+        int kind = random.nextInt(100);
+        return kind < 67 ? Priority.NONE : kind < 80 ? Priority.LOW : kind < 92 ? Priority.MEDIUM : Priority.HIGH;
+    }
+}
@@ -0,0 +1,56 @@
+package kip.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import kip.KipService;
+import kip.response.Response;
+import kip.storage.Storage;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class WorkloadGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 9, 0);
+
+    @Test
+    public void testSameSeedGivesSameWorkload() throws Exception {
+        File first = File.createTempFile("kip-workload", ".csv");
+        File second = File.createTempFile("kip-workload", ".csv");
+        try {
+            WorkloadGenerator generator = new WorkloadGenerator(7, NOW);
+            generator.writeTaskFile(first, 500);
+            List<String> commands = generator.nextCommands(1_000, 70, 10);
+            WorkloadGenerator again = new WorkloadGenerator(7, NOW);
+            again.writeTaskFile(second, 500);
+
+            assertEquals(Files.readAllLines(first.toPath()), Files.readAllLines(second.toPath()));
+            assertEquals(commands, again.nextCommands(1_000, 70, 10));
+        } finally {
+            first.delete();
+            second.delete();
+        }
+    }
+
+    @Test
+    public void testValidCommandsReplayWithoutErrors() throws Exception {
+        File file = File.createTempFile("kip-workload", ".csv");
+        try {
+            WorkloadGenerator generator = new WorkloadGenerator(11, NOW);
+            generator.writeTaskFile(file, 200);
+            List<String> commands = generator.nextCommands(2_000, 20, 0);
+            KipService service = new KipService(new Storage(file.getPath()));
+
+            assertEquals(200, service.getTasks().size());
+            for (String command : commands) {
+                Response response = service.execute(command);
+                assertFalse(response.isError(), command + ": " + response.getText());
+            }
+            service.close();
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package kip.command;
+
+import kip.response.ErrorCode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ValidatorTest {
+
+    private static ValidationResult validate(String input, int listSize) throws Exception {
+        Instruction instruction = Parser.parseUserInput(input);
+        return Validator.validate(Command.fromString(instruction.getCommand()), instruction, listSize);
+    }
+
+    @Test
+    public void testValidInstructions() throws Exception {
+        assertSame(ValidationResult.VALID, validate("mark 3", 3));
+        assertSame(ValidationResult.VALID, validate("todo read book", 0));
+        assertSame(ValidationResult.VALID, validate("deadline report /by 2025-11-03 1800", 0));
+        assertSame(ValidationResult.VALID, validate("event trip /from 2025-11-03 /to 2025-11-05", 0));
+        assertSame(ValidationResult.VALID, validate("list", 0));
+    }
+
+    @Test
+    public void testInvalidTaskNumbers() throws Exception {
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, validate("mark abc", 3).getErrorCode());
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, validate("unmark 0", 3).getErrorCode());
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, validate("delete 4", 3).getErrorCode());
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, validate("delete 99999999999", 3).getErrorCode());
+        assertEquals("Invalid task number!", validate("mark", 3).getMessage());
+    }
+
+    @Test
+    public void testIncompleteInstructions() throws Exception {
+        ValidationResult result = validate("todo", 0);
+        assertEquals(ErrorCode.INCOMPLETE_INSTRUCTION, result.getErrorCode());
+        assertEquals("Incomplete instruction for command 'todo': missing task description", result.getMessage());
+        assertEquals("Incomplete instruction for command 'event': missing date and time",
+                validate("event trip /from 2025-11-03", 0).getMessage());
+    }
+
+    @Test
+    public void testUnknownCommand() throws Exception {
+        ValidationResult result = validate("frobnicate now", 0);
+        assertEquals(ErrorCode.UNKNOWN_COMMAND, result.getErrorCode());
+        assertEquals("frobnicate is not a valid command.", result.getMessage());
+    }
+
+    @Test
+    public void testDatesCheckedWithoutParsing() throws Exception {
+        assertEquals(ErrorCode.INVALID_DATE, validate("deadline report /by tomorrow", 0).getErrorCode());
+        assertEquals(ErrorCode.INVALID_DATE, validate("deadline report /by 2025-13-01", 0).getErrorCode());
+        assertEquals(ErrorCode.INVALID_DATE, validate("event trip /from 2025-11-03 /to 2025-11-03 2360", 0)
+                .getErrorCode());
+        // A day past the end of the month is moved back, as the parser does
+        assertNull(Parser.checkDateTime("by 2025-02-30", "by"));
+        assertNull(Parser.checkDateTime("by 2025-11-03 2400", "by"));
+        assertEquals("Invalid by format. Please use yyyy-MM-dd (e.g., 2019-10-15) "
+                + "or yyyy-MM-dd HHmm (e.g., 2019-10-15 1800)", Parser.checkDateTime("by 0000-01-01", "by"));
+    }
+}
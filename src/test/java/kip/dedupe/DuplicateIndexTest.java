@@ -0,0 +1,75 @@
+package kip.dedupe;
+
+import java.time.LocalDateTime;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.task.Deadline;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DuplicateIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+    private final DuplicateIndex index = new DuplicateIndex();
+    private int nextId = 1;
+
+    private Task add(Task task) {
+        task.setId(nextId);
+        index.onTaskAdded(new TaskAdded(nextId, task, nextId - 1));
+        nextId++;
+        return task;
+    }
+
+    @Test
+    public void testKeyIgnoresCaseWhitespaceAndLabels() {
+        Task tagged = new ToDo("Read  the Book");
+        tagged.addTag("school");
+        tagged.markAsDone();
+        assertEquals(TaskKey.of(new ToDo("read the book")), TaskKey.of(tagged));
+        assertEquals(TaskKey.of(new ToDo("read the book")).hashCode(), TaskKey.of(tagged).hashCode());
+    }
+
+    @Test
+    public void testKeyDistinguishesTypeAndDates() {
+        assertNotEquals(TaskKey.of(new ToDo("report")), TaskKey.of(new Deadline("report", DAY)));
+        assertNotEquals(TaskKey.of(new Deadline("report", DAY)), TaskKey.of(new Deadline("report", DAY.plusDays(1))));
+        Recurrence weekly = new Recurrence(Recurrence.Frequency.WEEKLY, null, 0);
+        Recurrence daily = new Recurrence(Recurrence.Frequency.DAILY, null, 0);
+        assertNotEquals(TaskKey.of(new RecurringTask("standup", DAY, weekly)),
+                TaskKey.of(new RecurringTask("standup", DAY, daily)));
+        assertEquals(TaskKey.of(new RecurringTask("standup", DAY, weekly)),
+                TaskKey.of(new RecurringTask("Standup", DAY, weekly)));
+    }
+
+    @Test
+    public void testFindsEarliestDuplicateUntilRemoved() {
+        Task first = add(new Deadline("return book", DAY));
+        Task second = add(new Deadline("Return book", DAY));
+        add(new ToDo("return book"));
+
+        assertSame(first, index.findDuplicate(new Deadline("return  book", DAY)));
+        assertNull(index.findDuplicate(new Deadline("return book", DAY.plusHours(1))));
+        assertEquals(2, index.getKeyCount());
+
+        index.onTaskRemoved(new TaskRemoved(4, first, 0));
+        assertSame(second, index.findDuplicate(new Deadline("return book", DAY)));
+        index.onTaskRemoved(new TaskRemoved(5, second, 0));
+        assertNull(index.findDuplicate(new Deadline("return book", DAY)));
+        assertEquals(1, index.getKeyCount());
+    }
+
+    @Test
+    public void testPolicyFromString() {
+        assertEquals(DuplicatePolicy.REJECT, DuplicatePolicy.fromString("Reject"));
+        assertEquals(DuplicatePolicy.MERGE, DuplicatePolicy.fromString("merge"));
+        assertNull(DuplicatePolicy.fromString("ignore"));
+    }
+}
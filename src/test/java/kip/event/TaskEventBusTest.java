@@ -0,0 +1,83 @@
+package kip.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskEventBusTest {
+
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new TaskEventBus(5).getCapacity());
+        assertEquals(16, new TaskEventBus(16).getCapacity());
+    }
+
+    @Test
+    public void testPublishNotifiesListeners() {
+        TaskEventBus bus = new TaskEventBus(4);
+        List<String> received = new ArrayList<>();
+        bus.addListener(new TaskListener() {
+            @Override
+            public void onTaskAdded(TaskAdded event) {
+                received.add("added " + event.getTaskId());
+            }
+
+            @Override
+            public void onTaskStatusChanged(TaskStatusChanged event) {
+                received.add("done " + event.isDone() + " v" + event.getTaskVersion());
+            }
+        });
+
+        Task task = new ToDo("read book");
+        task.setId(7);
+        bus.publish(new TaskAdded(bus.nextSequence(), task, 0));
+        task.markAsDone();
+        bus.publish(new TaskStatusChanged(bus.nextSequence(), task, 0));
+
+        assertEquals(List.of("added 7", "done true v1"), received);
+        assertEquals(2, bus.getLastSequence());
+    }
+
+    @Test
+    public void testDrainToReplaysMissedEvents() {
+        TaskEventBus bus = new TaskEventBus(4);
+        Task task = new ToDo("read book");
+        task.setId(1);
+        bus.publish(new TaskAdded(bus.nextSequence(), task, 0));
+        bus.publish(new TaskRemoved(bus.nextSequence(), task, 0));
+
+        List<Long> sequences = new ArrayList<>();
+        long last = bus.drainTo(0, new TaskListener() {
+            @Override
+            public void onTaskAdded(TaskAdded event) {
+                sequences.add(event.getSequence());
+            }
+
+            @Override
+            public void onTaskRemoved(TaskRemoved event) {
+                sequences.add(event.getSequence());
+            }
+        });
+
+        assertEquals(2, last);
+        assertEquals(List.of(1L, 2L), sequences);
+    }
+
+    @Test
+    public void testDrainToDetectsOverwrittenEvents() {
+        TaskEventBus bus = new TaskEventBus(2);
+        Task task = new ToDo("read book");
+        task.setId(1);
+        for (int i = 0; i < 3; i++) {
+            bus.publish(new TaskAdded(bus.nextSequence(), task, 0));
+        }
+
+        assertThrows(IllegalStateException.class, () -> bus.drainTo(0, new TaskListener() { }));
+        assertTrue(bus.drainTo(1, new TaskListener() { }) == 3);
+    }
+}
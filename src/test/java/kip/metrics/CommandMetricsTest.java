@@ -0,0 +1,80 @@
+package kip.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import kip.command.Command;
+import kip.response.ErrorCode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandMetricsTest {
+
+    @Test
+    public void testPhasesNotReachedAreLeftOut() {
+        CommandMetrics metrics = new CommandMetrics(1);
+        metrics.recordLatencies(Command.LIST, 1_000, 2_000, 30_000, -1);
+        metrics.recordLatencies(null, 500, -1, -1, -1);
+
+        assertEquals(1, metrics.getLatencies(Command.LIST, Phase.EXECUTE).getCount());
+        assertEquals(0, metrics.getLatencies(Command.LIST, Phase.PERSIST).getCount());
+        assertEquals(33_000, metrics.getLatencies(Command.LIST, null).getMax());
+        assertEquals(0, metrics.getLatencies(null, Phase.DISPATCH).getCount());
+        assertNull(metrics.getLatencies(Command.TODO, null));
+        assertEquals(33.0, metrics.getLatencyMicros("list", "total", 50));
+        assertEquals(0.5, metrics.getLatencyMicros("unknown", "parse", 50));
+    }
+
+    @Test
+    public void testSamplesAboutOneCommandInTheInterval() {
+        CommandMetrics metrics = new CommandMetrics(64);
+        int sampled = 0;
+        for (int i = 0; i < 640_000; i++) {
+            sampled += metrics.isSampled() ? 1 : 0;
+        }
+
+        assertTrue(sampled > 9_500 && sampled < 10_500, "sampled " + sampled);
+        CommandMetrics everyCommand = new CommandMetrics(1);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(everyCommand.isSampled());
+        }
+    }
+
+    @Test
+    public void testCountersAndReset() {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.record(Command.TODO, null, 120);
+        metrics.record(Command.TODO, ErrorCode.DUPLICATE_TASK, 0);
+        metrics.record(null, ErrorCode.UNKNOWN_COMMAND, 0);
+
+        assertEquals(Map.of("todo", 2L, "unknown", 1L), metrics.getCommandCounts());
+        assertEquals(Map.of("todo", 1L, "unknown", 1L), metrics.getErrorCounts());
+        assertEquals(Map.of("duplicate-task", 1L, "unknown-command", 1L), metrics.getErrorCodeCounts());
+        assertEquals(120, metrics.getBytesWritten());
+
+        metrics.reset();
+        assertEquals(0, metrics.getCommandCount());
+        assertTrue(metrics.getCommandCounts().isEmpty());
+    }
+
+    @Test
+    public void testReadableOverJmx() throws Exception {
+        CommandMetrics metrics = new CommandMetrics(1);
+        metrics.record(Command.LIST, null, 0);
+        metrics.recordLatencies(Command.LIST, 1_000, 1_000, 1_000, -1);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("kip:type=Metrics,list=" + ObjectName.quote("test, list"));
+
+        assertTrue(metrics.register("test, list"));
+        assertFalse(new CommandMetrics().register("test, list"));
+        assertEquals(1L, server.getAttribute(name, "CommandCount"));
+        assertEquals(3.0, server.invoke(name, "getLatencyMicros", new Object[] {"list", "total", 99.0},
+                new String[] {String.class.getName(), String.class.getName(), double.class.getName()}));
+        metrics.unregister();
+        assertFalse(server.isRegistered(name));
+    }
+}
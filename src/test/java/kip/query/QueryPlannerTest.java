@@ -0,0 +1,163 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kip.command.Parser;
+import kip.event.TaskAdded;
+import kip.exception.InvalidQueryException;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QueryPlannerTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final TaskIndex index = new TaskIndex();
+    private final SortedViews views = new SortedViews(tasks);
+    private final QueryPlanner planner = new QueryPlanner(tasks, index, views);
+
+    private void add(Task task) {
+        task.setId(tasks.size() + 1);
+        tasks.add(task);
+        TaskAdded event = new TaskAdded(task.getId(), task, tasks.size() - 1);
+        index.onTaskAdded(event);
+        views.onTaskAdded(event);
+    }
+
+    private static Task tagged(Task task, String... tags) {
+        for (String tag : tags) {
+            task.addTag(tag);
+        }
+        return task;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        add(tagged(new ToDo("chore 0"), "work"));
+        Task doneChore = tagged(new ToDo("chore 1"), "work", "urgent");
+        doneChore.markAsDone();
+        add(doneChore);
+        add(tagged(new ToDo("chore 2"), "urgent"));
+        for (int i = 3; i < 20; i++) {
+            add(new ToDo("chore " + i));
+        }
+        Task quarterly = tagged(new Deadline("quarterly report", DAY), "work", "urgent");
+        quarterly.setPriority(Priority.HIGH);
+        add(quarterly);
+        add(new Deadline("annual report", DAY.plusMonths(2)));
+        add(new Event("report review", DAY.plusDays(1), DAY.plusDays(1).plusHours(1)));
+        add(new RecurringTask("standup", DAY, new Recurrence(Recurrence.Frequency.DAILY, null, 0)));
+    }
+
+    private List<Integer> positions(String query) throws Exception {
+        List<Integer> result = new ArrayList<>();
+        for (QueryMatch match : planner.plan(Parser.parseQuery(query)).executeToList()) {
+            result.add(match.getPosition());
+        }
+        return result;
+    }
+
+    @Test
+    public void testChoosesKeywordIndexForRareWord() throws Exception {
+        QueryPlan plan = planner.plan(Parser.parseQuery("text:report type:D"));
+        assertEquals(QueryPlan.AccessPath.KEYWORD, plan.getAccessPath());
+        assertEquals(3, plan.getEstimatedCandidates());
+        assertEquals(List.of(21, 22), positions("text:report type:D"));
+    }
+
+    @Test
+    public void testChoosesDateRangeForNarrowWindow() throws Exception {
+        QueryPlan plan = planner.plan(Parser.parseQuery("after:2025-11-03 before:2025-11-05"));
+        assertEquals(QueryPlan.AccessPath.DATE_RANGE, plan.getAccessPath());
+        assertEquals(List.of(21, 23, 24, 24), positions("after:2025-11-03 before:2025-11-05"));
+    }
+
+    @Test
+    public void testFallsBackToFullScan() throws Exception {
+        QueryPlan plan = planner.plan(Parser.parseQuery("type:T"));
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, plan.getAccessPath());
+        assertEquals(20, positions("type:T").size());
+    }
+
+    @Test
+    public void testChoosesTagIndexForLabels() throws Exception {
+        QueryPlan plan = planner.plan(Parser.parseQuery("+work +urgent -done"));
+        assertEquals(QueryPlan.AccessPath.TAG_INDEX, plan.getAccessPath());
+        assertEquals(1, plan.getEstimatedCandidates());
+        assertEquals(List.of(21), positions("+work +urgent -done"));
+
+        assertEquals(List.of(1, 2, 21), positions("+work"));
+        assertEquals(List.of(2), positions("+urgent +done"));
+        assertEquals(List.of(21), positions("!high"));
+        assertEquals(18, positions("type:T -urgent").size());
+        assertEquals(23, positions("done:0").size());
+        assertEquals(List.of(), positions("+missing"));
+    }
+
+    @Test
+    public void testLimitStopsEarly() throws Exception {
+        assertEquals(List.of(1, 2, 3), positions("type:T limit:3"));
+        assertEquals(List.of(24, 24), positions("after:2026-02-01 before:2026-03-01 limit:2"));
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        assertEquals(List.of(21, 22, 23), positions("text:report sort:by"));
+        assertEquals(List.of(22, 21, 23), positions("text:report sort:description"));
+    }
+
+    @Test
+    public void testSortedQueriesReadSortedViewUnlessFewCandidates() throws Exception {
+        QueryPlan plan = planner.plan(Parser.parseQuery("sort:by limit:2"));
+        assertEquals(QueryPlan.AccessPath.SORTED_VIEW, plan.getAccessPath());
+        assertEquals(List.of(21, 24), positions("sort:by limit:2"));
+
+        plan = planner.plan(Parser.parseQuery("text:quarterly sort:by"));
+        assertEquals(QueryPlan.AccessPath.KEYWORD, plan.getAccessPath());
+        assertEquals(List.of(21), positions("text:quarterly sort:by"));
+    }
+
+    @Test
+    public void testResultDoesNotDependOnAccessPath() throws Exception {
+        // Earlier than every other dated task but last in the list
+        add(new Deadline("early filing", DAY.minusDays(1)));
+        String[] queries = {
+            "after:2025-11-01 before:2025-11-05", "after:2025-11-01 before:2025-11-05 limit:1",
+            "after:2025-11-01 before:2026-02-01 limit:3", "text:report limit:2", "+work limit:2",
+            "after:2025-11-01 before:2025-11-05 sort:description",
+        };
+        for (String text : queries) {
+            Query query = Parser.parseQuery(text);
+            QueryPlan fullScan = new QueryPlan(query, QueryPlan.AccessPath.FULL_SCAN, null, tasks.size(),
+                    tasks.size(), tasks::iterator, false, task -> tasks.indexOf(task) + 1);
+            List<Integer> expected = new ArrayList<>();
+            for (QueryMatch match : fullScan.executeToList()) {
+                expected.add(match.getPosition());
+            }
+            assertEquals(expected, positions(text), text);
+        }
+        assertEquals(QueryPlan.AccessPath.DATE_RANGE,
+                planner.plan(Parser.parseQuery("after:2025-11-01 before:2025-11-05 limit:1")).getAccessPath());
+        assertEquals(List.of(21), positions("after:2025-11-01 before:2025-11-05 limit:1"));
+    }
+
+    @Test
+    public void testInvalidQueries() {
+        assertThrows(InvalidQueryException.class, () -> Parser.parseQuery("type:X"));
+        assertThrows(InvalidQueryException.class, () -> Parser.parseQuery("limit:0"));
+        assertThrows(InvalidQueryException.class, () -> Parser.parseQuery("colour:red"));
+        assertThrows(InvalidQueryException.class, () -> Parser.parseQuery("+bad.tag"));
+        assertThrows(InvalidQueryException.class, () -> Parser.parseQuery("!urgent"));
+    }
+}
@@ -0,0 +1,102 @@
+package kip.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoaringBitmapTest {
+
+    private static List<Integer> values(RoaringBitmap bitmap) {
+        List<Integer> result = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = bitmap.iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.nextInt());
+        }
+        return result;
+    }
+
+    @Test
+    public void testAddRemoveContains() {
+        RoaringBitmap bitmap = RoaringBitmap.of(5, 70000, 3, 5);
+        assertEquals(3, bitmap.getCardinality());
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(4));
+        assertEquals(List.of(3, 5, 70000), values(bitmap));
+
+        bitmap.remove(70000);
+        bitmap.remove(42);
+        assertEquals(List.of(3, 5), values(bitmap));
+        bitmap.remove(3);
+        bitmap.remove(5);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void testDenseChunkSwitchesContainerBothWays() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int count = RoaringBitmap.ARRAY_MAX * 3;
+        for (int i = 0; i < count; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(count, bitmap.getCardinality());
+        assertTrue(bitmap.contains(2 * (count - 1)));
+        assertFalse(bitmap.contains(1));
+
+        for (int i = 0; i < count - 10; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(10, bitmap.getCardinality());
+        assertEquals(2 * (count - 10), (int) values(bitmap).get(0));
+    }
+
+    @Test
+    public void testAndAndNotMatchSetOperations() {
+        Random random = new Random(7);
+        TreeSet<Integer> expectedA = new TreeSet<>();
+        TreeSet<Integer> expectedB = new TreeSet<>();
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        // A is dense in the first chunk, B is sparse; both spread over three chunks
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(1 << 16);
+            a.add(value);
+            expectedA.add(value);
+        }
+        for (int i = 0; i < 3000; i++) {
+            int value = random.nextInt(3 << 16);
+            b.add(value);
+            expectedB.add(value);
+            int other = (2 << 16) + random.nextInt(1 << 16);
+            a.add(other);
+            expectedA.add(other);
+        }
+
+        TreeSet<Integer> intersection = new TreeSet<>(expectedA);
+        intersection.retainAll(expectedB);
+        TreeSet<Integer> difference = new TreeSet<>(expectedA);
+        difference.removeAll(expectedB);
+        assertEquals(new ArrayList<>(intersection), values(a.and(b)));
+        assertEquals(new ArrayList<>(intersection), values(b.and(a)));
+        assertEquals(new ArrayList<>(difference), values(a.andNot(b)));
+
+        // The operands are left untouched
+        assertEquals(expectedA.size(), a.getCardinality());
+        assertEquals(expectedB.size(), b.getCardinality());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        RoaringBitmap bitmap = RoaringBitmap.of(1, 2, 3);
+        RoaringBitmap copy = bitmap.copy();
+        bitmap.add(4);
+        copy.remove(1);
+        assertEquals(List.of(1, 2, 3, 4), values(bitmap));
+        assertEquals(List.of(2, 3), values(copy));
+    }
+}
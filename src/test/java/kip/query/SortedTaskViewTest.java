@@ -0,0 +1,104 @@
+package kip.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortedTaskViewTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+    private static Task withId(Task task, int id) {
+        task.setId(id);
+        return task;
+    }
+
+    private static List<Integer> ids(SortedTaskView view) {
+        List<Integer> result = new ArrayList<>();
+        view.iterator().forEachRemaining(task -> result.add(task.getId()));
+        return result;
+    }
+
+    @Test
+    public void testInitialBuildOrdersByKeyThenId() {
+        List<Task> tasks = List.of(
+                withId(new ToDo("read"), 1),
+                withId(new Deadline("essay", DAY.plusDays(2)), 2),
+                withId(new Deadline("quiz", DAY), 3),
+                withId(new Deadline("lab", DAY), 4));
+        assertEquals(List.of(3, 4, 2, 1), ids(new SortedTaskView(SortKey.BY, tasks)));
+        assertEquals(List.of(2, 4, 3, 1), ids(new SortedTaskView(SortKey.DESCRIPTION, tasks)));
+    }
+
+    @Test
+    public void testIncrementalInsertAndRemove() {
+        SortedTaskView view = new SortedTaskView(SortKey.BY, List.of());
+        for (int i = 1; i <= 40; i++) {
+            Task task = withId(new Deadline("d" + i, DAY.minusHours(i)), i);
+            view.onTaskAdded(new TaskAdded(i, task, i - 1));
+        }
+        assertEquals(40, view.size());
+        assertEquals(List.of(40, 39), ids(view).subList(0, 2));
+        assertEquals(List.of(2, 1), ids(view).subList(38, 40));
+
+        Task removed = withId(new Deadline("d20", DAY.minusHours(20)), 20);
+        view.onTaskRemoved(new TaskRemoved(41, removed, 19));
+        assertEquals(39, view.size());
+        assertFalse(ids(view).contains(20));
+        assertEquals(List.of(21, 19), ids(view).subList(19, 21));
+    }
+
+    @Test
+    public void testStatusChangeMovesTaskOnlyForDoneKey() {
+        Task first = withId(new ToDo("a"), 1);
+        Task second = withId(new ToDo("b"), 2);
+        SortedTaskView byDone = new SortedTaskView(SortKey.DONE, List.of(first, second));
+        SortedTaskView byDescription = new SortedTaskView(SortKey.DESCRIPTION, List.of(first, second));
+
+        first.markAsDone();
+        TaskStatusChanged event = new TaskStatusChanged(3, first, 0);
+        byDone.onTaskStatusChanged(event);
+        byDescription.onTaskStatusChanged(event);
+        assertEquals(List.of(2, 1), ids(byDone));
+        assertEquals(List.of(1, 2), ids(byDescription));
+
+        first.unmarkAsDone();
+        byDone.onTaskStatusChanged(new TaskStatusChanged(4, first, 0));
+        assertEquals(List.of(1, 2), ids(byDone));
+    }
+
+    @Test
+    public void testParallelBuildMatchesIncrementalInserts() {
+        int count = SortedTaskView.PARALLEL_SORT_THRESHOLD + 100;
+        List<Task> tasks = new ArrayList<>(count);
+        SortedTaskView incremental = new SortedTaskView(SortKey.DESCRIPTION, List.of());
+        for (int i = 1; i <= count; i++) {
+            Task task = withId(new ToDo("task " + (i * 7919L % 1000)), i);
+            tasks.add(task);
+            incremental.onTaskAdded(new TaskAdded(i, task, i - 1));
+        }
+        assertEquals(ids(incremental), ids(new SortedTaskView(SortKey.DESCRIPTION, tasks)));
+    }
+
+    @Test
+    public void testIteratorFailsAfterModification() {
+        SortedTaskView view = new SortedTaskView(SortKey.DESCRIPTION, List.of(withId(new ToDo("a"), 1)));
+        Iterator<Task> iterator = view.iterator();
+        view.onTaskAdded(new TaskAdded(2, withId(new ToDo("b"), 2), 1));
+        assertTrue(iterator.hasNext());
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
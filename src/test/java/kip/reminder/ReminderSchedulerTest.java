@@ -0,0 +1,103 @@
+package kip.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ReminderSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 8, 20, 12, 0);
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final ReminderScheduler scheduler = new ReminderScheduler(clock, Duration.ofMinutes(30));
+    private final List<Reminder> raised = new ArrayList<>();
+
+    private Task add(Task task, int id) {
+        task.setId(id);
+        scheduler.onTaskAdded(new TaskAdded(id, task, id - 1));
+        return task;
+    }
+
+    @Test
+    public void testRaisesReminderBeforeDeadline() {
+        scheduler.addReminderListener(raised::add);
+        Task deadline = add(new Deadline("report", NOW.plusHours(2)), 1);
+        add(new ToDo("read book"), 2);
+        assertEquals(1, scheduler.getPendingCount());
+
+        clock.time = NOW.plusMinutes(89);
+        scheduler.advance();
+        assertEquals(0, raised.size());
+
+        clock.time = NOW.plusMinutes(90);
+        scheduler.advance();
+        assertEquals(1, raised.size());
+        assertSame(deadline, raised.get(0).getTask());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testDoneAndDeletedTasksAreCancelled() {
+        scheduler.addReminderListener(raised::add);
+        Task deadline = add(new Deadline("report", NOW.plusHours(2)), 1);
+        Task meeting = add(new Event("meeting", NOW.plusHours(3), NOW.plusHours(4)), 2);
+
+        deadline.markAsDone();
+        scheduler.onTaskStatusChanged(new TaskStatusChanged(3, deadline, 0));
+        scheduler.onTaskRemoved(new TaskRemoved(4, meeting, 1));
+        assertEquals(0, scheduler.getPendingCount());
+
+        deadline.unmarkAsDone();
+        scheduler.onTaskStatusChanged(new TaskStatusChanged(5, deadline, 0));
+        assertEquals(1, scheduler.getPendingCount());
+
+        clock.time = NOW.plusDays(1);
+        scheduler.advance();
+        assertEquals(1, raised.size());
+    }
+
+    @Test
+    public void testPastTasksAreNotScheduled() {
+        add(new Deadline("old report", NOW.minusDays(1)), 1);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    /** Clock whose time can be changed by the test */
+    private static class MutableClock extends Clock {
+        private LocalDateTime time;
+
+        MutableClock(LocalDateTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return time.toInstant(ZoneOffset.UTC);
+        }
+    }
+}
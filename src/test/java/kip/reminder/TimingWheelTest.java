@@ -0,0 +1,114 @@
+package kip.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testExpiresInOrderAtTheRightTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule(25, "b");
+        wheel.schedule(5, "a");
+        wheel.schedule(70_000, "c");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(20, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(69_999, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+
+        wheel.advance(70_000, expired::add);
+        assertEquals(List.of("a", "b", "c"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule(100, "a");
+        wheel.schedule(100, "b");
+        timeout.cancel();
+        assertFalse(timeout.isPending());
+        assertEquals(1, wheel.size());
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_000, expired::add);
+        assertEquals(List.of("b"), expired);
+    }
+
+    @Test
+    public void testPastExpiryFiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 50_000);
+        wheel.schedule(1_000, "late");
+        List<String> expired = new ArrayList<>();
+        wheel.advance(51_000, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    public void testCascadedTimeoutFiresOnItsOwnTick() {
+        for (long expiry : new long[] {64, 4_096, 64 + 4_096}) {
+            TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+            wheel.schedule(expiry, expiry);
+            List<Long> expired = new ArrayList<>();
+
+            wheel.advance(expiry - 1, expired::add);
+            assertEquals(List.of(), expired, "Fired early at " + expiry);
+            wheel.advance(expiry, expired::add);
+            assertEquals(List.of(expiry), expired, "Did not fire at " + expiry);
+        }
+    }
+
+    @Test
+    public void testCascadedTimeoutFiresOnItsOwnTickWhenSteppedOneTickAtATime() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        long[] expiries = {63, 64, 65, 4_095, 4_096, 4_097, 64 + 4_096};
+        for (long expiry : expiries) {
+            wheel.schedule(expiry, expiry);
+        }
+        List<Long> expired = new ArrayList<>();
+        int next = 0;
+        for (long now = 1; now <= 64 + 4_096; now++) {
+            wheel.advance(now, expired::add);
+            if (next < expiries.length && expiries[next] == now) {
+                next++;
+            }
+            assertEquals(next, expired.size(), "Wrong timeouts fired by " + now);
+        }
+    }
+
+    @Test
+    public void testManyRandomTimeouts() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        Random random = new Random(42);
+        List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            long expiry = (long) (random.nextDouble() * 1_000_000_000L);
+            timeouts.add(wheel.schedule(expiry, expiry));
+        }
+        for (int i = 0; i < timeouts.size(); i += 2) {
+            timeouts.get(i).cancel();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long now = 0;
+        while (wheel.size() > 0) {
+            long previous = now;
+            now += 1 + random.nextInt(50_000_000);
+            int before = expired.size();
+            wheel.advance(now, expired::add);
+            for (int i = before; i < expired.size(); i++) {
+                assertTrue(expired.get(i) <= now, "Timeout must not fire early");
+                assertTrue(expired.get(i) > previous, "Timeout must not fire late");
+            }
+        }
+        assertEquals(50_000, expired.size());
+    }
+}
@@ -0,0 +1,200 @@
+package kip.replication;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import kip.Kip;
+import kip.KipService;
+import kip.PipeMode;
+import kip.dedupe.DuplicatePolicy;
+import kip.response.ErrorCode;
+import kip.response.Response;
+import kip.response.ResponseKind;
+import kip.storage.Storage;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicationTest {
+
+    private File newDirectory() throws Exception {
+        File directory = Files.createTempDirectory("kip-replication").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    private KipService newService(File directory, String name) {
+        return new KipService(new Storage(new File(directory, name).getPath()));
+    }
+
+    private List<String> descriptions(KipService service) {
+        List<String> descriptions = new ArrayList<>();
+        service.getTasks().forEach(task -> descriptions.add(task.getDescription() + (task.isDone() ? " [X]" : "")));
+        return descriptions;
+    }
+
+    @Test
+    public void testFollowerMirrorsSnapshotAndChanges() throws Exception {
+        File directory = newDirectory();
+        KipService primary = newService(directory, "primary.csv");
+        primary.execute("todo read book");
+        ChangeLog log = ChangeLog.start(new File(directory, "shared"), primary);
+        KipService replica = newService(directory, "replica.csv");
+        Follower follower = Follower.start(new File(directory, "shared"), replica);
+        follower.stop();
+
+        primary.execute("todo write essay");
+        primary.execute("deadline return book /by 2019-12-02");
+        primary.execute("mark 1");
+        primary.execute("delete 2");
+        primary.setDuplicatePolicy(DuplicatePolicy.ALLOW);
+        primary.execute("todo return book");
+        primary.execute("todo return book");
+        primary.execute("dedupe");
+        follower.catchUp();
+
+        assertEquals(descriptions(primary), descriptions(replica));
+        assertEquals(List.of("read book [X]", "return book", "return book"), descriptions(replica));
+        // The replica saves what it applies
+        assertEquals(3, new Storage(new File(directory, "replica.csv").getPath()).load().size());
+        log.close();
+    }
+
+    @Test
+    public void testPartialLineIsLeftForNextPoll() throws Exception {
+        File directory = newDirectory();
+        KipService primary = newService(directory, "primary.csv");
+        ChangeLog log = ChangeLog.start(directory, primary);
+        KipService replica = newService(directory, "replica.csv");
+        Follower follower = Follower.start(directory, replica);
+        follower.stop();
+        primary.execute("todo read book");
+        log.close();
+
+        File changes = ChangeLog.changesFile(directory, ChangeLog.readEpoch(directory));
+        String complete = Files.readString(changes.toPath());
+        Files.writeString(changes.toPath(), complete.substring(0, complete.length() - 3));
+        follower.catchUp();
+        assertEquals(0, replica.getTasks().size());
+
+        Files.writeString(changes.toPath(), complete);
+        follower.catchUp();
+        assertEquals(List.of("read book"), descriptions(replica));
+    }
+
+    @Test
+    public void testReplicaRejectsWritesUntilPromoted() throws Exception {
+        File directory = newDirectory();
+        KipService primary = newService(directory, "primary.csv");
+        ChangeLog log = ChangeLog.start(directory, primary);
+        primary.execute("todo read book");
+        KipService replica = newService(directory, "replica.csv");
+        Follower follower = Follower.start(directory, replica);
+
+        assertTrue(replica.isReadOnly());
+        Response rejected = replica.execute("todo write essay");
+        assertTrue(rejected.isError());
+        assertEquals(ErrorCode.READ_ONLY, rejected.getErrorCode());
+        assertFalse(replica.execute("list").isError());
+        assertEquals(ErrorCode.INVALID_INPUT, primary.execute("promote").getErrorCode());
+
+        // The old primary's last change is applied before the replica takes over
+        primary.execute("todo buy milk");
+        log.close();
+        Response promoted = replica.execute("promote");
+        assertEquals(ResponseKind.PROMOTED, promoted.getKind());
+        assertFalse(replica.isReadOnly());
+        assertEquals(List.of("read book", "buy milk"), descriptions(replica));
+        assertEquals(2, ChangeLog.readEpoch(directory));
+
+        // A second replica follows the new primary from its snapshot
+        replica.execute("todo write essay");
+        KipService standby = newService(directory, "standby.csv");
+        Follower second = Follower.start(directory, standby);
+        second.stop();
+        replica.execute("mark 3");
+        second.catchUp();
+        assertEquals(List.of("read book", "buy milk", "write essay [X]"), descriptions(standby));
+        follower.getPromotedLog().close();
+    }
+
+    @Test
+    public void testFollowerInAnotherProcessCatchesUpWithinASecond() throws Exception {
+        File directory = newDirectory();
+        File shared = new File(directory, "shared");
+        Process primary = startKip(PipeMode.FLAG, Kip.FILE_FLAG, new File(directory, "primary.csv").getPath(),
+                Kip.PRIMARY_FLAG, shared.getPath());
+        Process replica = startKip(PipeMode.FLAG, Kip.FILE_FLAG, new File(directory, "replica.csv").getPath(),
+                Kip.FOLLOW_FLAG, shared.getPath());
+        try {
+            Pipe toPrimary = new Pipe(primary);
+            Pipe toReplica = new Pipe(replica);
+            assertTrue(toPrimary.send("todo read book").get(0).startsWith("Got it."));
+
+            List<String> listed = toReplica.send("list");
+            long deadline = System.nanoTime() + 1_000_000_000L;
+            while (!listed.contains("1. [T][ ] read book") && System.nanoTime() < deadline) {
+                Thread.sleep(Follower.POLL_MILLIS / 2);
+                listed = toReplica.send("list");
+            }
+            assertTrue(listed.contains("1. [T][ ] read book"), listed.toString());
+
+            assertTrue(toReplica.sendOne("todo write essay").startsWith("ERROR!!!"));
+            assertEquals("This list is now the primary.", toReplica.sendOne("promote"));
+            assertTrue(toReplica.send("todo write essay").get(0).startsWith("Got it."));
+            assertEquals(2, ChangeLog.readEpoch(shared));
+        } finally {
+            primary.destroy();
+            replica.destroy();
+        }
+    }
+
+    private Process startKip(String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-cp", System.getProperty("java.class.path"), Kip.class.getName()));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+    }
+
+    /**
+     * Drives a pipe mode process, asking for the responses with a blank line after each command.
+     */
+    private static class Pipe {
+        private final Writer in;
+        private final BufferedReader out;
+
+        Pipe(Process process) {
+            this.in = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+            this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        /** Sends a command whose response ends with the list size */
+        List<String> send(String command) throws Exception {
+            in.write(command + "\n\n");
+            in.flush();
+            List<String> lines = new ArrayList<>();
+            String line;
+            do {
+                line = out.readLine();
+                assertTrue(line != null, "Kip exited after " + lines);
+                lines.add(line);
+            } while (!line.startsWith("Now you have"));
+            return lines;
+        }
+
+        /** Sends a command whose response is one line */
+        String sendOne(String command) throws Exception {
+            in.write(command + "\n\n");
+            in.flush();
+            return out.readLine();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package kip.response;
+
+import java.util.List;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseTest {
+
+    @Test
+    public void testTextRenderedOnlyWhenRequested() {
+        Task task = new ToDo("read book");
+        task.setId(7);
+        int[] renders = {0};
+        Response response = new Response(ResponseKind.TASK_ADDED, List.of(task), 1, () -> {
+            renders[0]++;
+            return "Got it. I've added this task:\n" + task;
+        });
+
+        assertEquals(ResponseKind.TASK_ADDED, response.getKind());
+        assertEquals(7, response.getTaskIds()[0]);
+        assertEquals(1, response.getListSize());
+        assertEquals(0, renders[0]);
+
+        assertEquals("Got it. I've added this task:\n[T][ ] read book", response.getText());
+        assertEquals(response.getText(), response.toString());
+        assertEquals(1, renders[0]);
+    }
+
+    @Test
+    public void testErrorResponse() {
+        Response response = Response.error(ErrorCode.INVALID_TASK_NUMBER, "Invalid task number!", 3);
+
+        assertTrue(response.isError());
+        assertFalse(response.isExit());
+        assertEquals(ResponseKind.ERROR, response.getKind());
+        assertEquals(ErrorCode.INVALID_TASK_NUMBER, response.getErrorCode());
+        assertEquals("ERROR!!! Invalid task number!", response.getText());
+        assertEquals(0, response.getTasks().size());
+    }
+
+    @Test
+    public void testGoodbyeIsExit() {
+        Response response = Response.of(ResponseKind.GOODBYE, 0, "Bye. Hope to see you again soon!");
+
+        assertTrue(response.isExit());
+        assertFalse(response.isError());
+        assertNull(response.getErrorCode());
+    }
+
+    @Test
+    public void testFromString() {
+        assertEquals(ResponseKind.MATCHES, ResponseKind.fromString("Matches"));
+        assertEquals(ErrorCode.INVALID_DATE, ErrorCode.fromString("invalid-date"));
+        assertNull(ErrorCode.fromString("nonsense"));
+    }
+}
@@ -0,0 +1,147 @@
+package kip.server;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import kip.KipService;
+import kip.tenant.TenantRegistry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KipServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private HttpResponse<String> post(KipServer server, String command) throws Exception {
+        return post(uriOf(server), command);
+    }
+
+    private HttpResponse<String> post(URI uri, String command) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofString(command))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uriOf(KipServer server) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + KipServer.COMMAND_PATH);
+    }
+
+    @Test
+    public void testCommandIsAnsweredWithResponse() throws Exception {
+        KipService service = new KipService();
+        service.confineTransfers(null);
+        KipServer server = new KipServer(service, 0);
+        server.start();
+        try {
+            HttpResponse<String> response = post(server, "stats");
+
+            assertEquals(200, response.statusCode());
+            assertEquals(service.execute("stats").getText(), response.body());
+            assertEquals("stats", response.headers().firstValue(KipServer.KIND_HEADER).orElse(null));
+            assertEquals(Integer.toString(service.getTasks().size()),
+                    response.headers().firstValue(KipServer.LIST_SIZE_HEADER).orElse(null));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testRejectedCommandReportsErrorCode() throws Exception {
+        KipService service = new KipService();
+        service.confineTransfers(null);
+        KipServer server = new KipServer(service, 0);
+        server.start();
+        try {
+            HttpResponse<String> response = post(server, "frobnicate");
+            assertEquals(400, response.statusCode());
+            assertEquals("unknown-command", response.headers().firstValue(KipServer.ERROR_HEADER).orElse(null));
+            assertTrue(response.body().startsWith("ERROR!!! "));
+
+            HttpResponse<String> get = client.send(HttpRequest.newBuilder(uriOf(server)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, get.statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testImportAndExportCannotNameFilesOutsideTheTransferDirectory() throws Exception {
+        File outside = new File(System.getProperty("java.io.tmpdir"), "kip-server-export.jsonl");
+        outside.delete();
+        KipService unconfined = new KipService();
+        assertThrows(IllegalArgumentException.class, () -> new KipServer(unconfined, 0));
+
+        File transfers = Files.createTempDirectory("kip-transfers").toFile();
+        transfers.deleteOnExit();
+        KipService service = new KipService();
+        service.confineTransfers(transfers);
+        KipServer server = new KipServer(service, 0);
+        server.start();
+        try {
+            HttpResponse<String> export = post(server, "export " + outside.getAbsolutePath());
+            assertEquals(400, export.statusCode());
+            assertEquals("invalid-input", export.headers().firstValue(KipServer.ERROR_HEADER).orElse(null));
+            assertEquals(400, post(server, "import " + outside.getAbsolutePath()).statusCode());
+            assertFalse(outside.exists());
+
+            assertEquals(200, post(server, "export tasks.jsonl").statusCode());
+            File exported = new File(transfers, "tasks.jsonl");
+            assertTrue(exported.exists());
+            exported.deleteOnExit();
+        } finally {
+            server.stop();
+        }
+
+        File directory = Files.createTempDirectory("kip-tenants").toFile();
+        directory.deleteOnExit();
+        TenantRegistry tenants = new TenantRegistry(directory, 10, 1_000);
+        server = new KipServer(tenants, 0);
+        server.start();
+        try {
+            URI alice = URI.create("http://127.0.0.1:" + server.getPort() + KipServer.TENANTS_PATH + "alice"
+                    + KipServer.COMMAND_PATH);
+            assertEquals(400, post(alice, "export " + outside.getAbsolutePath()).statusCode());
+            assertEquals(400, post(alice, "export ../bob/tasks.jsonl").statusCode());
+            assertFalse(outside.exists());
+
+            assertEquals(200, post(alice, "todo read book").statusCode());
+            assertEquals(200, post(alice, "export tasks.jsonl").statusCode());
+            File exported = new File(new File(directory, "alice"), "tasks.jsonl");
+            assertTrue(exported.exists());
+            exported.getParentFile().deleteOnExit();
+            exported.deleteOnExit();
+            assertEquals(200, post(alice, "import tasks.jsonl").statusCode());
+        } finally {
+            server.stop();
+            tenants.close();
+        }
+    }
+
+    @Test
+    public void testTenantsHaveTheirOwnLists() throws Exception {
+        File directory = Files.createTempDirectory("kip-tenants").toFile();
+        directory.deleteOnExit();
+        TenantRegistry tenants = new TenantRegistry(directory, 10, 1_000);
+        KipServer server = new KipServer(tenants, 0);
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getPort() + KipServer.TENANTS_PATH;
+            assertEquals(200, post(URI.create(base + "alice" + KipServer.COMMAND_PATH), "todo read book").statusCode());
+
+            HttpResponse<String> bob = post(URI.create(base + "bob" + KipServer.COMMAND_PATH), "stats");
+            assertEquals("0", bob.headers().firstValue(KipServer.LIST_SIZE_HEADER).orElse(null));
+            assertEquals(404, post(URI.create(base + "a.b" + KipServer.COMMAND_PATH), "list").statusCode());
+        } finally {
+            server.stop();
+            tenants.close();
+        }
+    }
+}
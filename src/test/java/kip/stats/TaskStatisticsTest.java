@@ -0,0 +1,101 @@
+package kip.stats;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskStatisticsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 8, 20, 12, 0);
+
+    private static Clock clockAt(LocalDateTime time) {
+        return Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    @Test
+    public void testCountsPerTypeAndStatus() {
+        TaskStatistics stats = new TaskStatistics(clockAt(NOW));
+        Task todo = new ToDo("read book");
+        Task deadline = new Deadline("return book", NOW.plusDays(3));
+        stats.onTaskAdded(new TaskAdded(1, todo, 0));
+        stats.onTaskAdded(new TaskAdded(2, deadline, 1));
+        todo.markAsDone();
+        stats.onTaskStatusChanged(new TaskStatusChanged(3, todo, 0));
+
+        assertEquals(2, stats.getTotalCount());
+        assertEquals(1, stats.getDoneCount());
+        assertEquals(1, stats.getCount('T'));
+        assertEquals(0, stats.getOpenCount('T'));
+        assertEquals(1, stats.getOpenCount('D'));
+        assertEquals(0, stats.getCount('E'));
+    }
+
+    @Test
+    public void testOverdueAndDueToday() {
+        TaskStatistics stats = new TaskStatistics(clockAt(NOW));
+        Task late = new Deadline("late report", NOW.minusDays(1));
+        Task today = new Deadline("today report", NOW.plusHours(2));
+        Task meeting = new Event("meeting", NOW.plusHours(1), NOW.plusHours(2));
+        stats.onTaskAdded(new TaskAdded(1, late, 0));
+        stats.onTaskAdded(new TaskAdded(2, today, 1));
+        stats.onTaskAdded(new TaskAdded(3, meeting, 2));
+
+        assertEquals(1, stats.getOverdueCount());
+        assertEquals(2, stats.getDueTodayCount());
+
+        late.markAsDone();
+        stats.onTaskStatusChanged(new TaskStatusChanged(4, late, 0));
+        assertEquals(0, stats.getOverdueCount());
+
+        stats.onTaskRemoved(new TaskRemoved(5, meeting, 2));
+        assertEquals(1, stats.getDueTodayCount());
+    }
+
+    @Test
+    public void testOverdueFollowsClock() {
+        MutableClock clock = new MutableClock(NOW);
+        TaskStatistics stats = new TaskStatistics(clock);
+        stats.onTaskAdded(new TaskAdded(1, new Deadline("report", NOW.plusHours(1)), 0));
+        assertEquals(0, stats.getOverdueCount());
+
+        clock.time = NOW.plusHours(2);
+        assertEquals(1, stats.getOverdueCount());
+
+        clock.time = NOW;
+        assertEquals(0, stats.getOverdueCount());
+    }
+
+    /** Clock whose time can be changed by the test */
+    private static class MutableClock extends Clock {
+        private LocalDateTime time;
+
+        MutableClock(LocalDateTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return time.toInstant(ZoneOffset.UTC);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import java.io.File;
 import java.util.ArrayList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -59,6 +60,23 @@ public class StorageTest {
         assertTrue(file.length() > 0, "CSV file should not be empty after saving");
     }
     
+    @Test
+    public void testInstanceUsesItsOwnFile() throws Exception {
+        File file = File.createTempFile("kip-storage", ".csv");
+        file.delete();
+        file.deleteOnExit();
+        Storage storage = new Storage(file.getPath());
+        
+        assertTrue(storage.load().isEmpty(), "A new file should hold no tasks");
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("Stored elsewhere"));
+        storage.save(tasks);
+        
+        ArrayList<Task> loaded = new Storage(file.getPath()).load();
+        assertEquals(1, loaded.size());
+        assertEquals("Stored elsewhere", loaded.get(0).getDescription());
+    }
+    
     @Test
     public void testFileLocation() {
         // Test that the file path is correct
@@ -0,0 +1,75 @@
+package kip.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import kip.command.Parser;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecurringTaskTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 9, 0);
+
+    private static List<LocalDateTime> collect(Iterator<LocalDateTime> occurrences) {
+        List<LocalDateTime> result = new ArrayList<>();
+        occurrences.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testWeeklyOccurrencesInsideWindow() {
+        RecurringTask task = new RecurringTask("standup", START, START.plusMinutes(15),
+                new Recurrence(Recurrence.Frequency.WEEKLY, null, 0));
+        List<LocalDateTime> occurrences = collect(task.occurrencesBetween(
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 20, 0, 0)));
+        assertEquals(List.of(START.plusWeeks(5), START.plusWeeks(6)), occurrences);
+    }
+
+    @Test
+    public void testEventOverlappingWindowStartIsIncluded() {
+        RecurringTask task = new RecurringTask("standup", START, START.plusHours(2),
+                new Recurrence(Recurrence.Frequency.DAILY, null, 0));
+        List<LocalDateTime> occurrences = collect(task.occurrencesBetween(
+                START.plusDays(3).plusHours(1), START.plusDays(3).plusHours(3)));
+        assertEquals(List.of(START.plusDays(3)), occurrences);
+    }
+
+    @Test
+    public void testCountAndUntilEndTheRecurrence() {
+        RecurringTask counted = new RecurringTask("pay rent", START,
+                new Recurrence(Recurrence.Frequency.MONTHLY, null, 3));
+        assertEquals(List.of(START, LocalDateTime.of(2025, 2, 28, 9, 0), LocalDateTime.of(2025, 3, 31, 9, 0)),
+                collect(counted.occurrencesBetween(START, START.plusYears(5))));
+
+        RecurringTask bounded = new RecurringTask("gym", START,
+                new Recurrence(Recurrence.Frequency.DAILY, START.plusDays(2), 0));
+        assertEquals(3, collect(bounded.occurrencesBetween(START.minusDays(1), START.plusYears(1))).size());
+        assertNull(bounded.nextOccurrenceAfter(START.plusDays(2)));
+    }
+
+    @Test
+    public void testNextOccurrenceAfter() {
+        RecurringTask task = new RecurringTask("standup", START,
+                new Recurrence(Recurrence.Frequency.DAILY, null, 0));
+        assertEquals(START, task.nextOccurrenceAfter(START.minusDays(10)));
+        assertEquals(START.plusDays(1), task.nextOccurrenceAfter(START));
+        assertEquals(START.plusDays(400), task.nextOccurrenceAfter(START.plusDays(399).plusHours(1)));
+    }
+
+    @Test
+    public void testRuleRoundTripThroughCsv() throws Exception {
+        RecurringTask task = new RecurringTask("standup", START, START.plusMinutes(15),
+                new Recurrence(Recurrence.Frequency.WEEKLY, START.plusMonths(6), 10));
+        String line = "R,0,standup,2025-01-31 0900,2025-01-31 0915," + task.getRecurrence().toRule();
+        Task parsed = Parser.parseTaskLine(line);
+
+        assertTrue(parsed instanceof RecurringTask);
+        assertEquals(task.toString(), parsed.toString());
+        assertEquals("[R][ ] standup (from: Jan 31 2025 09:00 to: Jan 31 2025 09:15, weekly, 10 times, "
+                + "until Jul 31 2025 09:00)", parsed.toString());
+    }
+}
@@ -1,8 +1,11 @@
 package kip.task;
 
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -56,4 +59,35 @@ public class TaskTest {
             new ToDo("   ");
         });
     }
+    
+    @Test
+    public void testTagsAndPriority() {
+        Task task = new ToDo("Test task");
+        task.addTag("Work");
+        task.addTag("follow-up");
+        task.addTag("work");
+        task.setPriority(Priority.HIGH);
+        assertEquals("[T][ ] Test task +work +follow-up !high", task.toString());
+        
+        // Tags are limited to letters, digits, - and _, and done is reserved
+        assertThrows(IllegalArgumentException.class, () -> task.addTag("a.b"));
+        assertThrows(IllegalArgumentException.class, () -> task.addTag("done"));
+    }
+    
+    @Test
+    public void testDisplayLineCachedUntilChanged() {
+        Task task = new Deadline("Return book", LocalDateTime.of(2025, 10, 15, 18, 0));
+        String line = task.toString();
+        assertSame(line, task.toString());
+        
+        task.markAsDone();
+        String doneLine = task.toString();
+        assertNotSame(line, doneLine);
+        assertEquals("[D][X] Return book (by: Oct 15 2025 18:00)", doneLine);
+        
+        task.addTag("library");
+        assertEquals("[D][X] Return book +library (by: Oct 15 2025 18:00)", task.toString());
+        task.unmarkAsDone();
+        assertEquals("[D][ ] Return book +library (by: Oct 15 2025 18:00)", task.toString());
+    }
 }
@@ -0,0 +1,84 @@
+package kip.tenant;
+
+import java.io.File;
+import java.nio.file.Files;
+import kip.KipService;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TenantRegistryTest {
+
+    private File newDirectory() throws Exception {
+        File directory = Files.createTempDirectory("kip-tenants").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    @Test
+    public void testListsAreKeptApart() throws Exception {
+        TenantRegistry registry = new TenantRegistry(newDirectory(), 10, 1_000);
+
+        registry.get("alice").execute("todo read book");
+        registry.get("alice").execute("todo write essay");
+        registry.get("bob").execute("todo buy milk");
+
+        assertEquals(2, registry.get("alice").getTasks().size());
+        assertEquals(1, registry.get("bob").getTasks().size());
+        assertSame(registry.get("alice"), registry.get("alice"));
+        assertEquals(2, registry.getLoadCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedListIsEvictedAndReloaded() throws Exception {
+        TenantRegistry registry = new TenantRegistry(newDirectory(), 2, 1_000);
+        KipService alice = registry.get("alice");
+        alice.execute("todo read book");
+        registry.get("bob");
+        registry.get("alice");
+
+        registry.get("carol");
+
+        assertEquals(2, registry.getLoadedCount());
+        assertEquals(1, registry.getEvictionCount());
+        assertSame(alice, registry.get("alice"));
+        registry.get("bob");
+        registry.get("carol");
+        assertEquals(5, registry.getLoadCount());
+
+        // Alice was the least recently used when carol came back, and her list was saved
+        KipService reloaded = registry.get("alice");
+        assertEquals(6, registry.getLoadCount());
+        assertNotSame(alice, reloaded);
+        assertEquals(1, reloaded.getTasks().size());
+        assertEquals("read book", reloaded.getTasks().get(0).getDescription());
+    }
+
+    @Test
+    public void testTaskBudgetEvictsLists() throws Exception {
+        TenantRegistry registry = new TenantRegistry(newDirectory(), 10, 3);
+        registry.get("alice").execute("todo a");
+        registry.get("alice").execute("todo b");
+        registry.get("bob").execute("todo c");
+        registry.get("bob").execute("todo d");
+
+        registry.get("carol");
+
+        assertEquals(1, registry.getEvictionCount());
+        assertEquals(2, registry.getLoadedCount());
+        registry.close();
+        assertEquals(0, registry.getLoadedCount());
+    }
+
+    @Test
+    public void testInvalidTenantIdIsRejected() throws Exception {
+        TenantRegistry registry = new TenantRegistry(newDirectory(), 10, 1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get("../etc"));
+        assertThrows(IllegalArgumentException.class, () -> registry.get(""));
+        assertTrue(TenantRegistry.isValidTenantId("team-42_x"));
+    }
+}
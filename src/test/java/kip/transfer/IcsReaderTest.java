@@ -0,0 +1,183 @@
+package kip.transfer;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IcsReaderTest {
+
+    private List<Task> readAll(TaskReader reader) throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        Task task;
+        while ((task = reader.read()) != null) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testReadsEventsAndTodosFromAnotherCalendar() throws Exception {
+        String calendar = "BEGIN:VCALENDAR\r\n"
+                + "VERSION:2.0\r\n"
+                + "BEGIN:VTIMEZONE\r\n"
+                + "TZID:Europe/Paris\r\n"
+                + "END:VTIMEZONE\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "UID:1\r\n"
+                + "SUMMARY:Lunch\\, with Bob and a description long enough to be folded across\r\n"
+                + "  two lines\r\n"
+                + "DTSTART;TZID=\"Europe/Paris\":20251001T120000\r\n"
+                + "DTEND;TZID=\"Europe/Paris\":20251001T130000\r\n"
+                + "CATEGORIES:Social,Long Lunch\r\n"
+                + "PRIORITY:2\r\n"
+                + "BEGIN:VALARM\r\n"
+                + "SUMMARY:Ignored alarm\r\n"
+                + "END:VALARM\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:File taxes\r\n"
+                + "DUE;VALUE=DATE:20260415\r\n"
+                + "STATUS:COMPLETED\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:Call mum\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Standup\r\n"
+                + "DTSTART:20251001T090000Z\r\n"
+                + "DTEND:20251001T091500Z\r\n"
+                + "RRULE:FREQ=DAILY;COUNT=5\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n";
+
+        List<Task> tasks = readAll(new IcsReader(new StringReader(calendar)));
+
+        assertEquals(4, tasks.size());
+        Event lunch = (Event) tasks.get(0);
+        assertEquals("Lunch; with Bob and a description long enough to be folded across two lines",
+                lunch.getDescription());
+        assertEquals(LocalDateTime.of(2025, 10, 1, 12, 0), lunch.getFrom());
+        assertEquals(LocalDateTime.of(2025, 10, 1, 13, 0), lunch.getTo());
+        assertEquals(Set.of("social", "long-lunch"), lunch.getTags());
+        assertEquals(Priority.HIGH, lunch.getPriority());
+
+        Deadline taxes = (Deadline) tasks.get(1);
+        assertEquals(LocalDateTime.of(2026, 4, 15, 0, 0), taxes.getBy());
+        assertTrue(taxes.isDone());
+        assertTrue(tasks.get(2) instanceof ToDo);
+
+        RecurringTask standup = (RecurringTask) tasks.get(3);
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 9, 0).atOffset(ZoneOffset.UTC)
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        assertEquals(start, standup.getStart());
+        assertEquals(start.plusMinutes(15), standup.getEnd());
+        assertEquals(Recurrence.Frequency.DAILY, standup.getRecurrence().getFrequency());
+        assertEquals(5, standup.getRecurrence().getCount());
+    }
+
+    @Test
+    public void testUnsupportedEntriesAreSkipped() throws Exception {
+        String calendar = "BEGIN:VCALENDAR\n"
+                + "BEGIN:VEVENT\nSUMMARY:Every other week\nDTSTART:20251001T090000\n"
+                + "RRULE:FREQ=WEEKLY;INTERVAL=2\nEND:VEVENT\n"
+                + "BEGIN:VEVENT\nSUMMARY:No start\nEND:VEVENT\n"
+                + "BEGIN:VEVENT\nDTSTART:20251001T090000\nEND:VEVENT\n"
+                + "BEGIN:VEVENT\nSUMMARY:Kept\nDTSTART:20251001\nEND:VEVENT\n"
+                + "BEGIN:VEVENT\nSUMMARY:Cut off\n";
+        IcsReader reader = new IcsReader(new StringReader(calendar));
+
+        List<Task> tasks = readAll(reader);
+
+        assertEquals(1, tasks.size());
+        assertEquals("Kept", tasks.get(0).getDescription());
+        assertEquals(4, reader.getSkippedCount());
+    }
+
+    @Test
+    public void testRoundTripThroughWriter() throws Exception {
+        Deadline report = new Deadline("report; draft", LocalDateTime.of(2025, 10, 3, 17, 0));
+        report.addTag("work");
+        report.setPriority(Priority.LOW);
+        Event party = new Event("party", LocalDateTime.of(2025, 12, 31, 20, 0), LocalDateTime.of(2026, 1, 1, 1, 0));
+        party.markAsDone();
+        RecurringTask rent = new RecurringTask("pay rent", LocalDateTime.of(2025, 11, 1, 0, 0),
+                new Recurrence(Recurrence.Frequency.MONTHLY, LocalDateTime.of(2026, 12, 31, 0, 0), 0));
+        ToDo longTodo = new ToDo("a very long todo ".repeat(10) + "é");
+        StringWriter out = new StringWriter();
+        try (IcsWriter writer = new IcsWriter(out)) {
+            for (Task task : List.of(report, party, rent, longTodo)) {
+                writer.write(task);
+            }
+        }
+        for (String line : out.toString().split("\r\n")) {
+            assertTrue(line.getBytes("UTF-8").length <= 75, line);
+        }
+
+        List<Task> tasks = readAll(new IcsReader(new StringReader(out.toString())));
+
+        assertEquals(4, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task original = List.of(report, party, rent, longTodo).get(i);
+            assertEquals(original.toString(), tasks.get(i).toString());
+            assertEquals(original.getTags(), tasks.get(i).getTags());
+            assertEquals(original.getPriority(), tasks.get(i).getPriority());
+        }
+    }
+
+    @Test
+    public void testReadsWithoutHoldingTheFile() throws Exception {
+        // A calendar that never ends can only be read one component at a time
+        IcsReader reader = new IcsReader(new EndlessCalendar());
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("event " + i, reader.read().getDescription());
+        }
+    }
+
+    @Test
+    public void testEmptyCalendar() throws Exception {
+        assertNull(new IcsReader(new StringReader("BEGIN:VCALENDAR\nEND:VCALENDAR\n")).read());
+    }
+
+    /**
+     * Generates events forever.
+     */
+    private static class EndlessCalendar extends Reader {
+        private String pending = "BEGIN:VCALENDAR\r\n";
+        private int position;
+        private int count;
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == pending.length()) {
+                pending = "BEGIN:VEVENT\r\nSUMMARY:event " + count++ + "\r\nDTSTART:20251001T090000\r\nEND:VEVENT\r\n";
+                position = 0;
+            }
+            int read = Math.min(length, pending.length() - position);
+            pending.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
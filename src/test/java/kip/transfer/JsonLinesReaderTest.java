@@ -0,0 +1,84 @@
+package kip.transfer;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kip.task.Deadline;
+import kip.task.Event;
+import kip.task.Priority;
+import kip.task.Recurrence;
+import kip.task.RecurringTask;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonLinesReaderTest {
+
+    private List<Task> readAll(TaskReader reader) throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        Task task;
+        while ((task = reader.read()) != null) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testRoundTripThroughWriter() throws Exception {
+        ToDo quoted = new ToDo("read \"War and Peace\" \\ part 1");
+        quoted.markAsDone();
+        Deadline report = new Deadline("report", LocalDateTime.of(2025, 10, 3, 17, 0));
+        report.addTag("work");
+        report.addTag("q4");
+        report.setPriority(Priority.HIGH);
+        Event party = new Event("party", LocalDateTime.of(2025, 12, 31, 20, 0), LocalDateTime.of(2026, 1, 1, 1, 0));
+        RecurringTask standup = new RecurringTask("standup", LocalDateTime.of(2025, 10, 1, 9, 0),
+                LocalDateTime.of(2025, 10, 1, 9, 15), new Recurrence(Recurrence.Frequency.DAILY, null, 30));
+        RecurringTask rent = new RecurringTask("pay rent", LocalDateTime.of(2025, 11, 1, 0, 0),
+                new Recurrence(Recurrence.Frequency.MONTHLY, LocalDateTime.of(2026, 12, 31, 0, 0), 0));
+        List<Task> originals = List.of(quoted, report, party, standup, rent);
+        StringWriter out = new StringWriter();
+        try (JsonLinesWriter writer = new JsonLinesWriter(out)) {
+            for (Task task : originals) {
+                writer.write(task);
+            }
+        }
+
+        List<Task> tasks = readAll(new JsonLinesReader(new StringReader(out.toString())));
+
+        assertEquals(originals.size(), tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(originals.get(i).toString(), tasks.get(i).toString());
+            assertEquals(originals.get(i).getTags(), tasks.get(i).getTags());
+            assertEquals(originals.get(i).getPriority(), tasks.get(i).getPriority());
+        }
+        assertTrue(out.toString().contains("\"repeat\":{\"every\":\"daily\",\"count\":30}"), out.toString());
+    }
+
+    @Test
+    public void testInvalidLinesAreSkipped() throws Exception {
+        String lines = "{\"type\":\"todo\",\"description\":\"first, then\"}\n"
+                + "\n"
+                + "not json\n"
+                + "[1, 2]\n"
+                + "{\"type\":\"meeting\",\"description\":\"unknown type\"}\n"
+                + "{\"type\":\"deadline\",\"description\":\"no date\"}\n"
+                + "{\"type\":\"event\",\"description\":\"all day\",\"from\":\"2025-10-01\",\"to\":\"2025-10-02\","
+                + "\"tags\":[\"a tag\", 3, \"done\"],\"priority\":\"urgent\",\"extra\":{\"x\":[null]}}\n";
+        JsonLinesReader reader = new JsonLinesReader(new StringReader(lines));
+
+        List<Task> tasks = readAll(reader);
+
+        assertEquals(2, tasks.size());
+        assertEquals("first; then", tasks.get(0).getDescription());
+        Event allDay = (Event) tasks.get(1);
+        assertEquals(LocalDateTime.of(2025, 10, 1, 0, 0), allDay.getFrom());
+        assertEquals(List.of("a-tag"), new ArrayList<>(allDay.getTags()));
+        assertEquals(Priority.NONE, allDay.getPriority());
+        assertEquals(4, reader.getSkippedCount());
+    }
+}
@@ -0,0 +1,59 @@
+package kipgui;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class AutocompleterTest {
+
+    private final Autocompleter autocompleter = new Autocompleter(Runnable::run, 0);
+
+    private List<String> suggest(String input) throws Exception {
+        CompletableFuture<List<String>> suggestions = new CompletableFuture<>();
+        autocompleter.suggest(input, suggestions::complete);
+        return suggestions.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCompletesCommandKeywords() throws Exception {
+        assertEquals(List.of("deadline", "dedupe", "delete"), suggest("de"));
+        assertEquals(List.of(), suggest("list"));
+        assertEquals(List.of(), suggest(""));
+    }
+
+    @Test
+    public void testCompletesDescriptionsOfExistingTasks() throws Exception {
+        Task book = new ToDo("read book");
+        autocompleter.onTaskAdded(new TaskAdded(1, book, 0));
+        autocompleter.onTaskAdded(new TaskAdded(2, new ToDo("return library book"), 1));
+
+        assertEquals(List.of("find read book"), suggest("find rea"));
+        assertEquals(List.of("todo  read book", "todo  return library book"), suggest("todo  r"));
+        assertEquals(List.of(), suggest("mark re"));
+
+        autocompleter.onTaskRemoved(new TaskRemoved(3, book, 0));
+        assertEquals(List.of("find return library book"), suggest("find re"));
+        autocompleter.close();
+    }
+
+    @Test
+    public void testNewerRequestCancelsWaitingOne() throws Exception {
+        Autocompleter debounced = new Autocompleter(Runnable::run, 50);
+        CompletableFuture<List<String>> stale = new CompletableFuture<>();
+        CompletableFuture<List<String>> latest = new CompletableFuture<>();
+        debounced.suggest("d", stale::complete);
+        debounced.suggest("de", latest::complete);
+
+        assertEquals(List.of("deadline", "dedupe", "delete"), latest.get(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertFalse(stale.isDone());
+        debounced.close();
+    }
+}
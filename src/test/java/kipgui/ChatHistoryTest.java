@@ -0,0 +1,94 @@
+package kipgui;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChatHistoryTest {
+
+    private File file;
+    private ChatTranscript transcript;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = File.createTempFile("transcript", ".txt");
+        file.delete();
+        transcript = new ChatTranscript(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        transcript.close();
+        file.delete();
+    }
+
+    private static List<String> texts(List<ChatMessage> messages) {
+        List<String> texts = new ArrayList<>();
+        for (ChatMessage message : messages) {
+            texts.add(message.getText());
+        }
+        return texts;
+    }
+
+    @Test
+    public void testTranscriptRoundTrip() throws Exception {
+        transcript.append(ChatMessage.user("list"));
+        transcript.append(ChatMessage.kip("Here are the tasks:\n1. a \\ b"));
+        transcript.close();
+
+        transcript = new ChatTranscript(file);
+        List<ChatMessage> messages = transcript.read(0, 2);
+        assertEquals(2, transcript.size());
+        assertEquals(ChatMessage.Speaker.USER, messages.get(0).getSpeaker());
+        assertEquals("Here are the tasks:\n1. a \\ b", messages.get(1).getText());
+    }
+
+    @Test
+    public void testWindowStaysBoundedAndPagesOlderMessagesIn() {
+        List<ChatMessage> window = new ArrayList<>();
+        ChatHistory history = new ChatHistory(transcript, window, 4, 2);
+        for (int i = 0; i < 10; i++) {
+            history.add(ChatMessage.user("m" + i));
+        }
+        assertEquals(List.of("m6", "m7", "m8", "m9"), texts(window));
+
+        assertEquals(2, history.loadOlder());
+        assertEquals(List.of("m4", "m5", "m6", "m7"), texts(window));
+        assertFalse(history.isShowingLatest());
+
+        history.add(ChatMessage.user("m10"));
+        assertEquals(List.of("m8", "m9", "m10"), texts(window));
+        assertTrue(history.isShowingLatest());
+    }
+
+    @Test
+    public void testMessagesAfterPendingReplyAreWrittenInOrder() throws Exception {
+        List<ChatMessage> window = new ArrayList<>();
+        ChatHistory history = new ChatHistory(transcript, window, 10, 5);
+        history.add(ChatMessage.user("list"));
+        ChatMessage pending = ChatMessage.pending();
+        history.add(pending);
+        history.add(ChatMessage.user("stats"));
+        assertEquals(1, transcript.size());
+
+        history.complete(pending, ChatMessage.kip("1. read book"));
+        assertEquals(List.of("list", "1. read book", "stats"), texts(window));
+        assertEquals(List.of("list", "1. read book", "stats"), texts(transcript.read(0, 3)));
+    }
+
+    @Test
+    public void testReopenedHistoryShowsLatestPage() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            transcript.append(ChatMessage.kip("m" + i));
+        }
+        List<ChatMessage> window = new ArrayList<>();
+        new ChatHistory(transcript, window, 6, 3);
+        assertEquals(List.of("m4", "m5", "m6"), texts(window));
+    }
+}
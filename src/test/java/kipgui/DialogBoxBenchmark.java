@@ -0,0 +1,134 @@
+package kipgui;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiFunction;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Measures the latency of appending a message exchange to the chat on the
+ * JavaFX application thread, building the dialog boxes in code as
+ * {@link DialogBox} does now and by loading FXML as it used to.
+ *
+ * <p>Each append creates a user dialog box and a Kip dialog box and adds them
+ * to a container, as the chat did for every command. The mean and the 99th
+ * percentile over the measured appends are reported for both factories.</p>
+ *
+ * <p>Run with {@code gradlew dialogBoxBenchmark}, optionally passing the number
+ * of measured appends.</p>
+ */
+public class DialogBoxBenchmark {
+    private static final int WARMUP_APPENDS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int appends = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        Image userImage = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/DaUser.png"));
+        Image kipImage = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/DaKip.png"));
+        String text = "Got it. I've added this task:\n[T][ ] read book\nNow you have 3 tasks in the list.";
+
+        runOnFxThread(() -> {
+            report("FXML (before)", measure(appends, text,
+                    (message, isUser) -> LegacyDialogBox.create(message, isUser ? userImage : kipImage, !isUser)));
+            report("programmatic (after)", measure(appends, text,
+                    (message, isUser) -> isUser
+                            ? DialogBox.getUserDialog(message, userImage)
+                            : DialogBox.getKipDialog(message, kipImage)));
+        });
+        Platform.exit();
+    }
+
+    private static long[] measure(int appends, String text, BiFunction<String, Boolean, HBox> factory) {
+        VBox container = new VBox();
+        for (int i = 0; i < WARMUP_APPENDS; i++) {
+            append(container, text, factory);
+        }
+        container.getChildren().clear();
+        long[] latencies = new long[appends];
+        for (int i = 0; i < appends; i++) {
+            long start = System.nanoTime();
+            append(container, text, factory);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static void append(VBox container, String text, BiFunction<String, Boolean, HBox> factory) {
+        container.getChildren().addAll(factory.apply("list", true), factory.apply(text, false));
+    }
+
+    private static void report(String name, long[] latencies) {
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-22s mean %8.1f us, p99 %8.1f us per append (%d appends)%n", name,
+                total / 1000.0 / latencies.length, latencies[latencies.length * 99 / 100] / 1000.0,
+                latencies.length);
+    }
+
+    private static void runOnFxThread(Runnable task) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                task.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+
+    /**
+     * The dialog box as it was before it was built in code, loading its layout
+     * from FXML every time.
+     */
+    public static class LegacyDialogBox extends HBox {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+
+        private LegacyDialogBox(String text, Image img) {
+            try {
+                FXMLLoader fxmlLoader = new FXMLLoader(
+                        DialogBoxBenchmark.class.getResource("/view/LegacyDialogBox.fxml"));
+                fxmlLoader.setController(this);
+                fxmlLoader.setRoot(this);
+                fxmlLoader.load();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            dialog.setText(text);
+            displayPicture.setImage(img);
+        }
+
+        static LegacyDialogBox create(String text, Image img, boolean isFlipped) {
+            LegacyDialogBox box = new LegacyDialogBox(text, img);
+            if (isFlipped) {
+                ObservableList<Node> tmp = FXCollections.observableArrayList(box.getChildren());
+                Collections.reverse(tmp);
+                box.getChildren().setAll(tmp);
+                box.setAlignment(Pos.TOP_LEFT);
+            }
+            return box;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package kipgui;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefixTrieTest {
+
+    @Test
+    public void testCompleteListsWordsWithPrefixInOrder() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("delete");
+        trie.add("deadline");
+        trie.add("dedupe");
+        trie.add("list");
+
+        assertEquals(List.of("deadline", "dedupe", "delete"), trie.complete("de", 10));
+        assertEquals(List.of("deadline", "dedupe"), trie.complete("de", 2));
+        assertEquals(List.of("list"), trie.complete("l", 10));
+        assertEquals(List.of(), trie.complete("x", 10));
+        assertEquals(4, trie.complete("", 10).size());
+    }
+
+    @Test
+    public void testCompleteIgnoresCaseAndKeepsFirstCasing() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Read Book");
+        trie.add("read book");
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Read Book"), trie.complete("REA", 10));
+    }
+
+    @Test
+    public void testRemoveCountsDuplicatesAndPrunes() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("read");
+        trie.add("read");
+        trie.add("read book");
+
+        assertTrue(trie.remove("read"));
+        assertEquals(List.of("read", "read book"), trie.complete("re", 10));
+        assertTrue(trie.remove("read"));
+        assertEquals(List.of("read book"), trie.complete("re", 10));
+        assertFalse(trie.remove("read"));
+
+        assertTrue(trie.remove("read book"));
+        assertEquals(0, trie.size());
+        assertEquals(List.of(), trie.complete("", 10));
+        assertFalse(trie.remove("rea"));
+    }
+}
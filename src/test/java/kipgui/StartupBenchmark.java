@@ -0,0 +1,78 @@
+package kipgui;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how long the GUI takes to start, by launching it repeatedly in a
+ * fresh JVM with {@link StartupTiming} enabled.
+ *
+ * <p>Each run sends a <code>list</code> command as soon as the window is
+ * shown and quits once the response is on screen. The milliseconds from JVM
+ * start to the first frame, to the tasks being loaded and to the first
+ * response are collected from the output, and their median and minimum over
+ * the runs are reported.</p>
+ *
+ * <p>Run with {@code gradlew startupBenchmark}, optionally passing the number
+ * of runs.</p>
+ */
+public class StartupBenchmark {
+    private static final String PROBE = "list";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Map<String, List<Long>> times = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, Long> milestone : launch().entrySet()) {
+                times.computeIfAbsent(milestone.getKey(), key -> new ArrayList<>()).add(milestone.getValue());
+            }
+        }
+
+        System.out.println("Startup over " + runs + " runs (ms since JVM start)");
+        for (Map.Entry<String, List<Long>> milestone : times.entrySet()) {
+            List<Long> sorted = milestone.getValue();
+            Collections.sort(sorted);
+            System.out.printf("  %-16s median %6d  min %6d  (%d runs)%n", milestone.getKey(),
+                    sorted.get(sorted.size() / 2), sorted.get(0), sorted.size());
+        }
+    }
+
+    /**
+     * Launches the GUI once and waits for it to quit.
+     *
+     * @return The milliseconds from JVM start to each milestone, in the order they were reached
+     */
+    private static Map<String, Long> launch() throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java,
+                "-D" + StartupTiming.TIMING_PROPERTY + "=true",
+                "-D" + StartupTiming.PROBE_PROPERTY + "=" + PROBE,
+                "-cp", System.getProperty("java.class.path"),
+                Launcher.class.getName());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+
+        Map<String, Long> milestones = new LinkedHashMap<>();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(StartupTiming.OUTPUT_PREFIX)) {
+                    String[] parts = line.substring(StartupTiming.OUTPUT_PREFIX.length()).split(" ");
+                    milestones.put(parts[0], Long.parseLong(parts[1]));
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("GUI exited with code " + exitCode);
+        }
+        return milestones;
+    }
+}
@@ -0,0 +1,80 @@
+package kipgui;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ListChangeListener;
+import kip.event.TaskAdded;
+import kip.event.TaskRemoved;
+import kip.event.TaskStatusChanged;
+import kip.task.Task;
+import kip.task.ToDo;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskTableModelTest {
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final TaskTableModel model = new TaskTableModel(scheduled::add);
+    private long sequence = 1;
+
+    private Task task(int id, String description) {
+        Task task = new ToDo(description);
+        task.setId(id);
+        return task;
+    }
+
+    private void runScheduled() {
+        List<Runnable> batch = new ArrayList<>(scheduled);
+        scheduled.clear();
+        batch.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testInitialLoadIsAppendedInOneChange() {
+        List<Integer> changeSizes = new ArrayList<>();
+        model.getRows().addListener((ListChangeListener<TaskRow>) change -> {
+            while (change.next()) {
+                changeSizes.add(change.getAddedSize());
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            model.onTaskAdded(new TaskAdded(sequence++, task(i + 1, "task " + i), i));
+        }
+        assertEquals(1, scheduled.size());
+
+        runScheduled();
+        assertEquals(100, model.getRows().size());
+        assertEquals(List.of(100), changeSizes);
+    }
+
+    @Test
+    public void testEventsUpdateSingleRows() {
+        Task read = task(1, "read book");
+        Task write = task(2, "write essay");
+        model.onTaskAdded(new TaskAdded(sequence++, read, 0));
+        model.onTaskAdded(new TaskAdded(sequence++, write, 1));
+        runScheduled();
+
+        read.markAsDone();
+        model.onTaskStatusChanged(new TaskStatusChanged(sequence++, read, 0));
+        model.onTaskRemoved(new TaskRemoved(sequence++, write, 1));
+        assertFalse(model.getRows().get(0).isDone());
+
+        runScheduled();
+        assertEquals(1, model.getRows().size());
+        assertTrue(model.getRows().get(0).isDone());
+    }
+
+    @Test
+    public void testRowMatchesEveryFilterWord() {
+        Task task = task(1, "Read book");
+        task.addTag("school");
+
+        TaskRow row = TaskRow.of(task);
+        assertTrue(row.matches(new String[] {"read", "+school"}));
+        assertFalse(row.matches(new String[] {"read", "+work"}));
+        assertEquals('T', row.getType());
+    }
+}